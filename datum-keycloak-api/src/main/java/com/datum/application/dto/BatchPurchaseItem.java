@@ -0,0 +1,20 @@
+package com.datum.application.dto;
+
+/**
+ * Request DTO describing one purchase of a batch upload
+ * The document is the file part at position fileIndex (defaults to the item position)
+ */
+public class BatchPurchaseItem {
+
+    public Long idPType;
+    public Long idPaymentMethod;
+    public Long idCostCenter;
+    public String totalAmount;
+    public String description;
+    public String guestName;
+    public String purchaseDate;  // Format: "2025-10-30"
+    public Integer fileIndex;
+
+    public BatchPurchaseItem() {
+    }
+}
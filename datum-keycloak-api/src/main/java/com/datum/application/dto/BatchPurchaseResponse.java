@@ -0,0 +1,50 @@
+package com.datum.application.dto;
+
+import java.util.List;
+
+/**
+ * Response DTO for batch purchase creation with documents
+ */
+public class BatchPurchaseResponse {
+
+    public Long folderId;
+    public int succeeded;
+    public int failed;
+    public List<ItemResult> items;
+
+    public BatchPurchaseResponse() {
+    }
+
+    public BatchPurchaseResponse(Long folderId, List<ItemResult> items) {
+        this.folderId = folderId;
+        this.items = items;
+        this.succeeded = (int) items.stream().filter(item -> item.error == null).count();
+        this.failed = items.size() - this.succeeded;
+    }
+
+    /**
+     * Outcome of a single item, in request order
+     */
+    public static class ItemResult {
+        public int index;
+        public Long purchaseId;
+        public String fileName;
+        public String openkmPath;
+        public boolean reused;                   // identical content was already stored
+        public List<Long> duplicatePurchaseIds;  // other purchases with the same receipt
+        public String status;  // CREATED, FAILED (nothing created, safe to resend), DOCUMENT_FAILED (purchase kept without document), REJECTED
+        public String error;
+
+        public ItemResult() {
+        }
+
+        public ItemResult(int index, Long purchaseId, String fileName, String openkmPath, String status, String error) {
+            this.index = index;
+            this.purchaseId = purchaseId;
+            this.fileName = fileName;
+            this.openkmPath = openkmPath;
+            this.status = status;
+            this.error = error;
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package com.datum.application.dto;
 
+import java.util.List;
+
 /**
  * Response DTO for document operations
  */
@@ -11,6 +13,9 @@ public class DocumentResponse {
     public Long fileSize;
     public String openkmPath;
     public String uploadDate;
+    public String contentHash;                 // SHA-256 of the content
+    public boolean reused;                     // true if identical content was already stored
+    public List<Long> duplicatePurchaseIds;    // other purchases with the same receipt
     public String message;
 
     public DocumentResponse() {
@@ -29,4 +34,14 @@ public class DocumentResponse {
         response.message = message;
         return response;
     }
+
+    /**
+     * Add deduplication details
+     */
+    public DocumentResponse withContent(String contentHash, boolean reused, List<Long> duplicatePurchaseIds) {
+        this.contentHash = contentHash;
+        this.reused = reused;
+        this.duplicatePurchaseIds = duplicatePurchaseIds;
+        return this;
+    }
 }
@@ -0,0 +1,44 @@
+package com.datum.application.dto;
+
+import com.datum.domain.model.DocumentUpload;
+
+/**
+ * Response DTO for asynchronous document uploads
+ */
+public class DocumentUploadResponse {
+
+    public Long uploadId;
+    public Long purchaseId;
+    public String fileName;
+    public String mimeType;
+    public Long fileSize;
+    public String status;
+    public int attempts;
+    public String nextAttemptAt;
+    public String lastError;
+    public String openkmPath;
+    public String statusUrl;
+    public String message;
+
+    public DocumentUploadResponse() {
+    }
+
+    /**
+     * Factory method to create response from domain model
+     */
+    public static DocumentUploadResponse fromDomain(DocumentUpload upload, String statusUrl) {
+        DocumentUploadResponse response = new DocumentUploadResponse();
+        response.uploadId = upload.getId();
+        response.purchaseId = upload.getPurchaseId();
+        response.fileName = upload.getFileName();
+        response.mimeType = upload.getMimeType();
+        response.fileSize = upload.getFileSize();
+        response.status = upload.getStatus().name();
+        response.attempts = upload.getAttempts();
+        response.nextAttemptAt = upload.getNextAttemptAt() != null ? upload.getNextAttemptAt().toString() : null;
+        response.lastError = upload.getLastError();
+        response.openkmPath = upload.getDocumentPath();
+        response.statusUrl = statusUrl;
+        return response;
+    }
+}
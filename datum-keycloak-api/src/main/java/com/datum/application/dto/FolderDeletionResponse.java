@@ -0,0 +1,35 @@
+package com.datum.application.dto;
+
+import java.util.List;
+
+/**
+ * Response DTO for deleting a folder with its purchases and documents
+ */
+public class FolderDeletionResponse {
+
+    public Long folderId;
+    public int purchasesDeleted;
+    public int documentsDeleted;
+    public int documentsShared;   // still used by purchases in other folders, kept
+    public int documentsFailed;
+    public List<DocumentFailure> failures;
+
+    public FolderDeletionResponse() {
+    }
+
+    /**
+     * A document that could not be deleted from the document store
+     */
+    public static class DocumentFailure {
+        public String path;
+        public String error;
+
+        public DocumentFailure() {
+        }
+
+        public DocumentFailure(String path, String error) {
+            this.path = path;
+            this.error = error;
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package com.datum.application.dto;
 
+import com.datum.domain.model.FolderSummary;
+
 public class FolderResponse {
     public Long id;
     public Long userId;
@@ -15,4 +17,23 @@ public class FolderResponse {
 
     public FolderResponse() {
     }
+
+    /**
+     * Factory method to create response from a listing projection
+     */
+    public static FolderResponse fromSummary(FolderSummary folder) {
+        FolderResponse response = new FolderResponse();
+        response.id = folder.id();
+        response.userId = folder.userId();
+        response.folderName = folder.folderName();
+        response.description = folder.description();
+        response.startDate = folder.startDate() != null ? folder.startDate().toString() : null;
+        response.endDate = folder.endDate() != null ? folder.endDate().toString() : null;
+        response.validationStatus = folder.validationStatus() != null ? folder.validationStatus() : "DRAFT";
+        response.validatedDate = folder.validatedDate() != null ? folder.validatedDate().toString() : null;
+        response.validatedBy = folder.validatedBy();
+        response.validationNotes = folder.validationNotes();
+        response.canEdit = folder.canEdit();
+        return response;
+    }
 }
\ No newline at end of file
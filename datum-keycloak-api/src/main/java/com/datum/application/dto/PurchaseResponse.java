@@ -1,6 +1,7 @@
 package com.datum.application.dto;
 
 import com.datum.domain.model.Purchase;
+import com.datum.domain.model.PurchaseSummary;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -21,6 +22,9 @@ public class PurchaseResponse {
     public String guestName;
     public LocalDateTime purchaseDate;
     public String imgUrl;
+    public Long documentSize;
+    public String documentMimeType;
+    public String documentHash;
     public String validationStatus;
     public LocalDateTime validatedDate;
     public Long validatedBy;
@@ -47,6 +51,9 @@ public class PurchaseResponse {
         response.guestName = purchase.getGuestName();
         response.purchaseDate = purchase.getPurchaseDate();
         response.imgUrl = purchase.getImgUrl();
+        response.documentSize = purchase.getDocumentSize();
+        response.documentMimeType = purchase.getDocumentMimeType();
+        response.documentHash = purchase.getDocumentHash();
         response.validationStatus = purchase.getValidationStatus();
         response.validatedDate = purchase.getValidatedDate();
         response.validatedBy = purchase.getValidatedBy();
@@ -55,4 +62,32 @@ public class PurchaseResponse {
         response.hasDocument = purchase.hasDocument();
         return response;
     }
+
+    /**
+     * Factory method to create response from a listing projection
+     */
+    public static PurchaseResponse fromSummary(PurchaseSummary purchase) {
+        PurchaseResponse response = new PurchaseResponse();
+        response.idPurchase = purchase.idPurchase();
+        response.idUser = purchase.idUser();
+        response.idFolder = purchase.idFolder();
+        response.idPType = purchase.idPType();
+        response.idPaymentMethod = purchase.idPaymentMethod();
+        response.idCostCenter = purchase.idCostCenter();
+        response.totalAmount = purchase.totalAmount();
+        response.description = purchase.description();
+        response.guestName = purchase.guestName();
+        response.purchaseDate = purchase.purchaseDate();
+        response.imgUrl = purchase.imgUrl();
+        response.documentSize = purchase.documentSize();
+        response.documentMimeType = purchase.documentMimeType();
+        response.documentHash = purchase.documentHash();
+        response.validationStatus = purchase.validationStatus();
+        response.validatedDate = purchase.validatedDate();
+        response.validatedBy = purchase.validatedBy();
+        response.validationNotes = purchase.validationNotes();
+        response.createdDate = purchase.createdDate();
+        response.hasDocument = purchase.hasDocument();
+        return response;
+    }
 }
@@ -0,0 +1,11 @@
+package com.datum.application.dto;
+
+public class ResumableUploadRequest {
+    public Long purchaseId;
+    public String fileName;
+    public String mimeType;
+    public Long length;     // Total size in bytes
+
+    public ResumableUploadRequest() {
+    }
+}
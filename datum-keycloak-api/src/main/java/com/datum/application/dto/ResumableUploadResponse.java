@@ -0,0 +1,39 @@
+package com.datum.application.dto;
+
+import com.datum.domain.model.ResumableUpload;
+
+/**
+ * Response DTO for resumable upload sessions
+ */
+public class ResumableUploadResponse {
+
+    public String uploadId;
+    public Long purchaseId;
+    public String fileName;
+    public String mimeType;
+    public long length;
+    public long offset;
+    public String contentHash;
+    public String expiresAt;
+    public String uploadUrl;
+
+    public ResumableUploadResponse() {
+    }
+
+    /**
+     * Factory method to create response from domain model
+     */
+    public static ResumableUploadResponse fromDomain(ResumableUpload upload, String uploadUrl) {
+        ResumableUploadResponse response = new ResumableUploadResponse();
+        response.uploadId = upload.getId();
+        response.purchaseId = upload.getPurchaseId();
+        response.fileName = upload.getFileName();
+        response.mimeType = upload.getMimeType();
+        response.length = upload.getLength();
+        response.offset = upload.getOffset();
+        response.contentHash = upload.getContentHash();
+        response.expiresAt = upload.getExpiresAt() != null ? upload.getExpiresAt().toString() : null;
+        response.uploadUrl = uploadUrl;
+        return response;
+    }
+}
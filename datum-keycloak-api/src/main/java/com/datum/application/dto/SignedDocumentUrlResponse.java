@@ -0,0 +1,21 @@
+package com.datum.application.dto;
+
+/**
+ * Response DTO for a signed document URL
+ * The URL can be used without an Authorization header until it expires.
+ */
+public class SignedDocumentUrlResponse {
+
+    public Long purchaseId;
+    public String url;
+    public String expiresAt;
+
+    public SignedDocumentUrlResponse() {
+    }
+
+    public SignedDocumentUrlResponse(Long purchaseId, String url, String expiresAt) {
+        this.purchaseId = purchaseId;
+        this.url = url;
+        this.expiresAt = expiresAt;
+    }
+}
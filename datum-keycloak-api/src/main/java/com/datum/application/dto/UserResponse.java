@@ -1,6 +1,7 @@
 package com.datum.application.dto;
 
 import com.datum.domain.model.User;
+import com.datum.domain.model.UserSummary;
 
 public class UserResponse {
     
@@ -35,6 +36,18 @@ public class UserResponse {
         );
     }
 
+    // Factory method to create from a listing projection
+    public static UserResponse fromSummary(UserSummary user) {
+        return new UserResponse(
+            user.id(),
+            user.firstName(),
+            user.lastName(),
+            user.nickname(),
+            user.email(),
+            user.keycloakId()
+        );
+    }
+
     // Getters and Setters
     public Long getId() { return id; }
     public void setId(Long id) { this.id = id; }
@@ -0,0 +1,86 @@
+package com.datum.application.service;
+
+import com.datum.application.service.DocumentInspector.Inspection;
+import com.datum.application.service.DocumentInspector.Scan;
+import com.datum.application.service.PurchaseDocumentService.StoredDocument;
+import com.datum.domain.model.Purchase;
+import com.datum.domain.ports.out.DocumentStorePort;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.context.control.ActivateRequestContext;
+import jakarta.inject.Inject;
+
+/**
+ * Application service for documents streamed straight into the document store
+ * The transfer itself happens on the event loop in the inbound adapter; this service
+ * covers the database work before and after it. Both steps run on worker threads
+ * outside of a JAX-RS request, hence the explicitly activated request context.
+ */
+@ApplicationScoped
+public class DirectUploadService {
+
+    @Inject
+    PurchaseService purchaseService;
+
+    @Inject
+    PurchaseDocumentService purchaseDocumentService;
+
+    @Inject
+    DocumentStorePort documentStore;
+
+    /**
+     * Purchase a direct upload goes to, and the file name to stream it under
+     */
+    public record Target(Purchase purchase, String fileName) {
+    }
+
+    /**
+     * Check the purchase accepts a new document and pick the target file name
+     *
+     * @throws IllegalArgumentException if the purchase does not exist
+     * @throws IllegalStateException if the purchase can no longer be modified
+     */
+    @ActivateRequestContext
+    public Target prepare(Long purchaseId, String fileName) {
+        Purchase purchase = purchaseService.getPurchaseById(purchaseId);
+        if (!purchase.canEdit()) {
+            throw new IllegalStateException("Cannot modify document for non-DRAFT purchase");
+        }
+        return new Target(purchase, purchaseDocumentService.reserveFileName(purchase, fileName));
+    }
+
+    /**
+     * Attach a streamed document to its purchase
+     * Content that turns out too short to be a supported type is deleted again.
+     *
+     * @param path Where the document was uploaded
+     * @param scan Inspection that saw every byte of the upload
+     * @throws IllegalStateException if the purchase can no longer be modified
+     */
+    @ActivateRequestContext
+    public StoredDocument complete(Target target, String path, Scan scan) {
+        Inspection inspection;
+        try {
+            inspection = scan.finish(null);
+        } catch (IllegalArgumentException e) {
+            documentStore.deleteDocument(path);
+            throw e;
+        }
+
+        // Reloaded: the purchase may have been submitted, or given another document, while streaming
+        Purchase purchase = purchaseService.getPurchaseById(target.purchase().getIdPurchase());
+        if (!purchase.canEdit()) {
+            throw new IllegalStateException("Cannot modify document for non-DRAFT purchase");
+        }
+        return purchaseDocumentService.adoptUploaded(
+            purchase, path, inspection.mimeType(), inspection.size(), inspection.hash());
+    }
+
+    /**
+     * Remove a streamed document after {@link #complete} failed
+     * Kept if the purchase got attached to it anyway (the failure came later).
+     */
+    @ActivateRequestContext
+    public void discard(Target target, String path) {
+        purchaseDocumentService.releaseDocument(target.purchase().getIdUser(), path);
+    }
+}
@@ -0,0 +1,243 @@
+package com.datum.application.service;
+
+import jakarta.enterprise.context.ApplicationScoped;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.Set;
+
+/**
+ * Application service that validates uploaded documents in a single streaming pass
+ * While the content is read once, it is counted against the size cap (reading stops as
+ * soon as the cap is passed), its real type is detected from the leading magic bytes and
+ * its SHA-256 is computed. The client-supplied Content-Type is not trusted.
+ */
+@ApplicationScoped
+public class DocumentInspector {
+
+    /**
+     * Bytes needed to recognize every supported type (HEIC brand ends at offset 12)
+     */
+    public static final int HEADER_LENGTH = 12;
+
+    private static final byte[] JPEG = {(byte) 0xFF, (byte) 0xD8, (byte) 0xFF};
+    private static final byte[] PNG = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'};
+    private static final byte[] PDF = {'%', 'P', 'D', 'F', '-'};
+    private static final Set<String> HEIC_BRANDS = Set.of("heic", "heix", "hevc", "hevx", "heim", "heis", "mif1", "msf1");
+
+    /**
+     * Result of an inspection
+     *
+     * @param file Local file with the content
+     * @param size Size in bytes
+     * @param mimeType Type detected from the content
+     * @param hash SHA-256 of the content (hex)
+     */
+    public record Inspection(Path file, long size, String mimeType, String hash) {
+    }
+
+    /**
+     * Inspect a file already on disk (multipart uploads)
+     * The size is checked from file metadata before anything is read.
+     *
+     * @throws TooLargeException if the file is larger than maxSize
+     * @throws IllegalArgumentException if the content is not a supported type
+     */
+    public Inspection inspect(Path file, long maxSize) {
+        try {
+            long size = Files.size(file);
+            if (size > maxSize) {
+                throw new TooLargeException(maxSize);
+            }
+            try (InputStream in = Files.newInputStream(file)) {
+                return consume(in, OutputStream.nullOutputStream(), file, maxSize);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read document " + file, e);
+        }
+    }
+
+    /**
+     * Copy a request body to a local file while inspecting it
+     * On rejection nothing more is read from the body and the partial file is deleted.
+     *
+     * @param body Incoming content
+     * @param target File to write (created or truncated)
+     * @throws TooLargeException as soon as more than maxSize bytes arrive
+     * @throws IllegalArgumentException if the content is not a supported type
+     */
+    public Inspection receive(InputStream body, Path target, long maxSize) {
+        try (OutputStream out = Files.newOutputStream(target)) {
+            return consume(body, out, target, maxSize);
+        } catch (IOException e) {
+            deleteQuietly(target);
+            throw new UncheckedIOException("Could not receive document", e);
+        } catch (RuntimeException e) {
+            deleteQuietly(target);
+            throw e;
+        }
+    }
+
+    /**
+     * Detect the type of a stored file from its first bytes
+     *
+     * @return MIME type, or null if not a supported type
+     */
+    public static String detectMimeType(Path file) {
+        try (InputStream in = Files.newInputStream(file)) {
+            byte[] header = in.readNBytes(HEADER_LENGTH);
+            return detectMimeType(header, header.length);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read document " + file, e);
+        }
+    }
+
+    /**
+     * Detect the type from leading bytes: JPEG, PNG, PDF or HEIC
+     *
+     * @return MIME type, or null if not a supported type
+     */
+    public static String detectMimeType(byte[] header, int length) {
+        if (startsWith(header, length, JPEG)) {
+            return "image/jpeg";
+        }
+        if (startsWith(header, length, PNG)) {
+            return "image/png";
+        }
+        if (startsWith(header, length, PDF)) {
+            return "application/pdf";
+        }
+        // ISO BMFF: 4-byte box size, "ftyp", then the major brand
+        if (length >= HEADER_LENGTH
+                && header[4] == 'f' && header[5] == 't' && header[6] == 'y' && header[7] == 'p'
+                && HEIC_BRANDS.contains(new String(header, 8, 4, StandardCharsets.US_ASCII))) {
+            return "image/heic";
+        }
+        return null;
+    }
+
+    /**
+     * Start an incremental inspection, for content that arrives as a sequence of buffers
+     */
+    public Scan scan(long maxSize) {
+        return new Scan(maxSize);
+    }
+
+    private Inspection consume(InputStream in, OutputStream out, Path file, long maxSize) throws IOException {
+        Scan scan = new Scan(maxSize);
+        byte[] buffer = new byte[64 * 1024];
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            scan.update(buffer, 0, read);
+            out.write(buffer, 0, read);
+        }
+        return scan.finish(file);
+    }
+
+    private static String requireSupported(byte[] header, int length) {
+        String mimeType = detectMimeType(header, length);
+        if (mimeType == null) {
+            throw new IllegalArgumentException("Only images (JPG, PNG, HEIC) and PDF files are allowed");
+        }
+        return mimeType;
+    }
+
+    private static boolean startsWith(byte[] header, int length, byte[] magic) {
+        return length >= magic.length && Arrays.equals(header, 0, magic.length, magic, 0, magic.length);
+    }
+
+    private void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            System.err.println("Warning: Could not delete rejected upload " + file + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Inspection in progress: feed every buffer to {@link #update}, then call {@link #finish}
+     * Not thread-safe; buffers must be fed in order.
+     */
+    public static final class Scan {
+        private final long maxSize;
+        private final MessageDigest digest = PurchaseDocumentService.newDigest();
+        private final byte[] header = new byte[HEADER_LENGTH];
+        private int headerLength;
+        private String mimeType;
+        private long size;
+
+        private Scan(long maxSize) {
+            this.maxSize = maxSize;
+        }
+
+        /**
+         * Account for the next buffer of content
+         *
+         * @throws TooLargeException as soon as the cap is passed
+         * @throws IllegalArgumentException as soon as the leading bytes show an unsupported type
+         */
+        public void update(byte[] bytes, int offset, int length) {
+            size += length;
+            if (size > maxSize) {
+                throw new TooLargeException(maxSize);
+            }
+
+            // 1. Sniff the type as soon as enough bytes are in
+            if (mimeType == null) {
+                int copy = Math.min(length, HEADER_LENGTH - headerLength);
+                System.arraycopy(bytes, offset, header, headerLength, copy);
+                headerLength += copy;
+                if (headerLength == HEADER_LENGTH) {
+                    mimeType = requireSupported(header, headerLength);
+                }
+            }
+
+            // 2. Hash
+            digest.update(bytes, offset, length);
+        }
+
+        /**
+         * Bytes seen so far
+         */
+        public long size() {
+            return size;
+        }
+
+        /**
+         * Complete the inspection once all content was fed
+         *
+         * @param file Where the content was written, if anywhere
+         * @throws IllegalArgumentException if the content is too short to be a supported type
+         */
+        public Inspection finish(Path file) {
+            // Very small files never filled the header
+            if (mimeType == null) {
+                mimeType = requireSupported(header, headerLength);
+            }
+            return new Inspection(file, size, mimeType, PurchaseDocumentService.toHex(digest));
+        }
+    }
+
+    /**
+     * The content is larger than the allowed size
+     */
+    public static class TooLargeException extends IllegalArgumentException {
+        private final long limit;
+
+        public TooLargeException(long limit) {
+            super("File size exceeds " + (limit / (1024 * 1024)) + "MB limit");
+            this.limit = limit;
+        }
+
+        public long getLimit() {
+            return limit;
+        }
+    }
+}
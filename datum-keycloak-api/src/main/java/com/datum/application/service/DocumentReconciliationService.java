@@ -0,0 +1,183 @@
+package com.datum.application.service;
+
+import com.datum.domain.model.ReconciliationCheckpoint;
+import com.datum.domain.model.StoredObject;
+import com.datum.domain.ports.out.DocumentStorePort;
+import com.datum.domain.ports.out.PurchaseRepositoryPort;
+import com.datum.domain.ports.out.ReconciliationCheckpointRepositoryPort;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Application service that reconciles the document store with the purchases referencing it
+ * Works through the /{year}/{month} hierarchy one month per run, resuming from a persisted
+ * checkpoint, and starts over at the oldest month once the current one is done.
+ *
+ * For a month, the stored documents (one listing of the store) and the IMG_URL values
+ * under that folder (one query) are sorted the same way and walked together in a single
+ * merge pass; nothing is looked up per document. Drift found:
+ * - orphans: stored but not referenced, left behind by failed or interrupted uploads.
+ *   Reported; deleted only with datum.reconciliation.delete-orphans=true and once older
+ *   than the grace period, so uploads still being attached are never touched.
+ * - missing: referenced but not stored. Reported only, there is nothing to restore from.
+ */
+@ApplicationScoped
+public class DocumentReconciliationService {
+
+    static final String JOB_NAME = "document-reconciliation";
+
+    // Logged per run at most, the counts are always complete
+    private static final int MAX_LOGGED_PATHS = 50;
+
+    @Inject
+    DocumentStorePort documentStore;
+
+    @Inject
+    PurchaseRepositoryPort purchaseRepository;
+
+    @Inject
+    ReconciliationCheckpointRepositoryPort checkpointRepository;
+
+    @ConfigProperty(name = "datum.reconciliation.delete-orphans", defaultValue = "false")
+    boolean deleteOrphans;
+
+    @ConfigProperty(name = "datum.reconciliation.orphan-grace", defaultValue = "24h")
+    Duration orphanGrace;
+
+    /**
+     * Drift found in one month
+     *
+     * @param orphans Stored documents no purchase references
+     * @param missing Referenced documents that are not stored
+     */
+    public record MonthReport(YearMonth month, int storedCount, int referencedCount,
+                              List<String> orphans, int orphansDeleted, List<String> missing) {
+    }
+
+    /**
+     * Reconcile the month after the checkpoint and move the checkpoint to it
+     *
+     * @return The report, or empty if there are no purchases yet
+     */
+    public Optional<MonthReport> reconcileNextMonth() {
+        // 1. Pick the month
+        Optional<ReconciliationCheckpoint> checkpoint = checkpointRepository.findByJobName(JOB_NAME);
+        Optional<YearMonth> month = nextMonth(checkpoint.map(ReconciliationCheckpoint::getLastMonth).orElse(null));
+        if (month.isEmpty()) {
+            return Optional.empty();
+        }
+
+        // 2. Reconcile it
+        MonthReport report = reconcile(month.get());
+
+        // 3. Only a completed month moves the checkpoint
+        ReconciliationCheckpoint next = checkpoint.orElseGet(ReconciliationCheckpoint::new);
+        next.setJobName(JOB_NAME);
+        next.setLastMonth(report.month());
+        next.setLastRunAt(LocalDateTime.now());
+        next.setStoredCount(report.storedCount());
+        next.setReferencedCount(report.referencedCount());
+        next.setOrphanCount(report.orphans().size());
+        next.setOrphansDeleted(report.orphansDeleted());
+        next.setMissingCount(report.missing().size());
+        checkpointRepository.save(next);
+
+        return Optional.of(report);
+    }
+
+    /**
+     * Compare one month of the document store against IMG_URL
+     */
+    public MonthReport reconcile(YearMonth month) {
+        // 1. Both sides, in the same order (sorted here, not by the database, whose collation may differ)
+        List<StoredObject> stored = new ArrayList<>(documentStore.listDocuments(month));
+        stored.sort(Comparator.comparing(StoredObject::path));
+        List<String> referenced = new ArrayList<>(purchaseRepository.findDocumentPathsUnder(documentStore.monthFolder(month)));
+        referenced.sort(Comparator.naturalOrder());
+
+        // 2. Merge
+        List<StoredObject> orphans = new ArrayList<>();
+        List<String> missing = new ArrayList<>();
+        int s = 0;
+        int r = 0;
+        while (s < stored.size() || r < referenced.size()) {
+            int cmp;
+            if (s == stored.size()) {
+                cmp = 1;
+            } else if (r == referenced.size()) {
+                cmp = -1;
+            } else {
+                cmp = stored.get(s).path().compareTo(referenced.get(r));
+            }
+
+            if (cmp == 0) {
+                s++;
+                r++;
+            } else if (cmp < 0) {
+                orphans.add(stored.get(s++));
+            } else {
+                missing.add(referenced.get(r++));
+            }
+        }
+
+        // 3. Clean up orphans past the grace period
+        int orphansDeleted = deleteOrphans ? deleteOrphans(orphans) : 0;
+
+        List<String> orphanPaths = orphans.stream().map(StoredObject::path).toList();
+        report(month, "orphaned document", orphanPaths);
+        report(month, "missing document", missing);
+        System.out.println("Reconciled " + month + ": " + stored.size() + " stored, " + referenced.size() + " referenced, "
+            + orphans.size() + " orphaned (" + orphansDeleted + " deleted), " + missing.size() + " missing");
+
+        return new MonthReport(month, stored.size(), referenced.size(), orphanPaths, orphansDeleted, missing);
+    }
+
+    /**
+     * Month following the last one reconciled, wrapping around to the oldest purchase month
+     */
+    private Optional<YearMonth> nextMonth(YearMonth last) {
+        if (last != null && last.plusMonths(1).compareTo(YearMonth.now()) <= 0) {
+            return Optional.of(last.plusMonths(1));
+        }
+        return purchaseRepository.findEarliestPurchaseDate().map(YearMonth::from);
+    }
+
+    private int deleteOrphans(List<StoredObject> orphans) {
+        LocalDateTime cutoff = LocalDateTime.now().minus(orphanGrace);
+        int deleted = 0;
+        for (StoredObject orphan : orphans) {
+            if (orphan.createdDate() == null || orphan.createdDate().isAfter(cutoff)) {
+                continue;
+            }
+            // The listing is a snapshot: skip documents attached since
+            if (purchaseRepository.countByDocumentPath(orphan.path()) > 0) {
+                continue;
+            }
+            try {
+                documentStore.deleteDocument(orphan.path());
+                deleted++;
+            } catch (RuntimeException e) {
+                System.err.println("Could not delete orphaned document " + orphan.path() + ": " + e.getMessage());
+            }
+        }
+        return deleted;
+    }
+
+    private void report(YearMonth month, String kind, List<String> paths) {
+        for (int i = 0; i < Math.min(paths.size(), MAX_LOGGED_PATHS); i++) {
+            System.out.println("Reconciliation " + month + ": " + kind + " " + paths.get(i));
+        }
+        if (paths.size() > MAX_LOGGED_PATHS) {
+            System.out.println("Reconciliation " + month + ": " + (paths.size() - MAX_LOGGED_PATHS) + " more " + kind + "(s) not logged");
+        }
+    }
+}
@@ -0,0 +1,261 @@
+package com.datum.application.service;
+
+import com.datum.domain.model.DocumentMetadata;
+import com.datum.domain.model.DocumentUpload;
+import com.datum.domain.model.Purchase;
+import com.datum.domain.ports.out.DocumentUploadRepositoryPort;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.transaction.Transactional;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Stream;
+
+/**
+ * Application service for asynchronous document uploads (outbox)
+ * Persists the purchase together with a pending upload row; the transfer to
+ * OpenKM is done later by DocumentUploadOutboxWorker.
+ */
+@ApplicationScoped
+public class DocumentUploadService {
+
+    @Inject
+    DocumentUploadRepositoryPort documentUploadRepository;
+
+    @Inject
+    PurchaseService purchaseService;
+
+    @ConfigProperty(name = "datum.upload.staging-directory", defaultValue = "datum-upload-staging")
+    String stagingDirectory;
+
+    @ConfigProperty(name = "datum.upload.outbox.max-attempts", defaultValue = "8")
+    int maxAttempts;
+
+    @ConfigProperty(name = "datum.upload.outbox.base-delay-seconds", defaultValue = "5")
+    long baseDelaySeconds;
+
+    @ConfigProperty(name = "datum.upload.outbox.max-delay-seconds", defaultValue = "900")
+    long maxDelaySeconds;
+
+    @ConfigProperty(name = "datum.upload.outbox.lock-timeout-minutes", defaultValue = "15")
+    long lockTimeoutMinutes;
+
+    private Path stagingDir;
+
+    @PostConstruct
+    void init() {
+        Path configured = Paths.get(stagingDirectory);
+        stagingDir = configured.isAbsolute()
+            ? configured
+            : Paths.get(System.getProperty("java.io.tmpdir")).resolve(configured);
+        try {
+            Files.createDirectories(stagingDir);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot create upload staging directory " + stagingDir, e);
+        }
+    }
+
+    /**
+     * Create a purchase and queue its document for upload, in one transaction
+     *
+     * @param purchase Purchase to create
+     * @param fileName Name of the document
+     * @param mimeType MIME type of the document
+     * @param content Uploaded file (copied to the staging directory)
+     * @return The pending upload
+     */
+    @Transactional
+    public DocumentUpload enqueue(Purchase purchase, String fileName, String mimeType, Path content) {
+        Path staged = stage(content);
+        try {
+            Purchase savedPurchase = purchaseService.createPurchase(purchase);
+
+            DocumentUpload upload = new DocumentUpload();
+            upload.setPurchaseId(savedPurchase.getIdPurchase());
+            upload.setFileName(fileName);
+            upload.setMimeType(mimeType);
+            upload.setFileSize(Files.size(staged));
+            upload.setStagedFile(staged.toString());
+            upload.setNextAttemptAt(LocalDateTime.now());
+            upload.setCreatedDate(LocalDateTime.now());
+
+            return documentUploadRepository.save(upload);
+        } catch (IOException e) {
+            deleteStaged(staged.toString());
+            throw new UncheckedIOException("Could not stage document " + fileName, e);
+        } catch (RuntimeException e) {
+            deleteStaged(staged.toString());
+            throw e;
+        }
+    }
+
+    /**
+     * Get upload by ID
+     */
+    public DocumentUpload getUpload(Long uploadId) {
+        return documentUploadRepository.findById(uploadId)
+            .orElseThrow(() -> new IllegalArgumentException("Upload not found with ID: " + uploadId));
+    }
+
+    /**
+     * Claim up to {@code limit} due uploads for this worker
+     * Uploads stuck IN_PROGRESS longer than the lock timeout are released first.
+     *
+     * @return IDs of the uploads now owned by the caller
+     */
+    @Transactional
+    public List<Long> claimDue(int limit) {
+        LocalDateTime now = LocalDateTime.now();
+        documentUploadRepository.releaseStale(now.minusMinutes(lockTimeoutMinutes));
+
+        List<Long> claimed = new ArrayList<>();
+        for (Long id : documentUploadRepository.findDueIds(now, limit)) {
+            if (documentUploadRepository.claim(id, now)) {
+                claimed.add(id);
+            }
+        }
+        return claimed;
+    }
+
+    /**
+     * Record where an upload's content was stored, before it is attached
+     */
+    @Transactional
+    public DocumentUpload recordStored(Long uploadId, String documentPath) {
+        DocumentUpload upload = getUpload(uploadId);
+
+        upload.recordStored(documentPath);
+        return documentUploadRepository.save(upload);
+    }
+
+    /**
+     * Check that a queued document may still be attached to its purchase
+     * The purchase was created without a document, so one that is not ours was attached
+     * by the user while the upload was queued, and wins over it.
+     *
+     * @param path Where the queued document was stored, null if not stored yet
+     * @throws IllegalStateException if the purchase is no longer DRAFT or has a newer document
+     */
+    public void checkAttachable(Purchase purchase, String path) {
+        if (!purchase.canEdit()) {
+            throw new IllegalStateException("Cannot modify document for non-DRAFT purchase");
+        }
+        if (purchase.hasDocument() && !purchase.getImgUrl().equals(path)) {
+            throw new IllegalStateException("Purchase " + purchase.getIdPurchase() + " already has a newer document");
+        }
+    }
+
+    /**
+     * Attach the transferred document to its purchase and close the upload
+     *
+     * @throws IllegalStateException if the document may no longer be attached (see checkAttachable)
+     */
+    @Transactional
+    public DocumentUpload complete(Long uploadId, DocumentMetadata document) {
+        DocumentUpload upload = getUpload(uploadId);
+
+        // Reloaded: the purchase may have changed since the transfer started
+        Purchase purchase = purchaseService.getPurchaseById(upload.getPurchaseId());
+        checkAttachable(purchase, document.path());
+        purchaseService.attachDocument(purchase.getIdPurchase(), document);
+
+        upload.complete(document.path());
+        return documentUploadRepository.save(upload);
+    }
+
+    /**
+     * Record a failed attempt and schedule the retry with exponential backoff
+     *
+     * @param permanent true when retrying cannot succeed (e.g. purchase no longer editable)
+     */
+    @Transactional
+    public DocumentUpload recordFailure(Long uploadId, String error, boolean permanent) {
+        DocumentUpload upload = getUpload(uploadId);
+
+        upload.recordFailure(error, retryDelaySeconds(upload.getAttempts()), permanent ? 0 : maxAttempts);
+        return documentUploadRepository.save(upload);
+    }
+
+    /**
+     * Remove the staged copy once it is no longer needed
+     */
+    public void deleteStaged(String stagedFile) {
+        try {
+            Files.deleteIfExists(Paths.get(stagedFile));
+        } catch (IOException e) {
+            System.err.println("Warning: Could not delete staged upload " + stagedFile + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Delete staged files no upload row points at anymore
+     * Rows are removed together with their purchase (ON DELETE CASCADE), which leaves the
+     * staged copy behind. Files younger than the lock timeout are kept: their row may not
+     * be committed yet.
+     *
+     * @return Number of files deleted
+     */
+    public int deleteOrphanedStaged() {
+        Instant cutoff = Instant.now().minus(Duration.ofMinutes(lockTimeoutMinutes));
+
+        List<String> candidates;
+        try (Stream<Path> files = Files.list(stagingDir)) {
+            candidates = files
+                .filter(file -> modifiedBefore(file, cutoff))
+                .map(Path::toString)
+                .toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot list upload staging directory " + stagingDir, e);
+        }
+
+        Set<String> referenced = new HashSet<>(documentUploadRepository.findReferencedStagedFiles(candidates));
+        int deleted = 0;
+        for (String candidate : candidates) {
+            if (!referenced.contains(candidate)) {
+                deleteStaged(candidate);
+                deleted++;
+            }
+        }
+        return deleted;
+    }
+
+    private boolean modifiedBefore(Path file, Instant cutoff) {
+        try {
+            return Files.getLastModifiedTime(file).toInstant().isBefore(cutoff);
+        } catch (IOException e) {
+            return false; // Deleted meanwhile
+        }
+    }
+
+    // base * 2^attempts, capped, with up to 20% jitter so retries from a burst spread out
+    private long retryDelaySeconds(int attempts) {
+        long delay = baseDelaySeconds << Math.min(attempts, 20);
+        delay = Math.min(delay, maxDelaySeconds);
+        return delay + ThreadLocalRandom.current().nextLong(delay / 5 + 1);
+    }
+
+    private Path stage(Path content) {
+        try {
+            Path staged = stagingDir.resolve(UUID.randomUUID().toString());
+            Files.copy(content, staged);
+            return staged;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not stage uploaded document", e);
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package com.datum.application.service;
+
+import com.datum.domain.model.Purchase;
+import com.datum.domain.model.PurchaseDocumentSummary;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Base64;
+import java.util.Optional;
+
+/**
+ * Application service that issues and checks short-lived signed document URLs
+ * The token carries everything needed to serve the document (store path, type, size,
+ * hash, expiry) and an HMAC-SHA256 over it, so a signed URL is served without a token
+ * check against Keycloak and without reading the purchase from the database.
+ *
+ * All instances must share datum.document-url.signing-key; without it a random key is
+ * generated at startup and URLs only work on the instance that issued them.
+ */
+@ApplicationScoped
+public class DocumentUrlSigner {
+
+    public static final String URL_PREFIX = "/documents/signed/";
+
+    private static final String VERSION = "1";
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    @ConfigProperty(name = "datum.document-url.signing-key")
+    Optional<String> signingKey;
+
+    @ConfigProperty(name = "datum.document-url.ttl", defaultValue = "10m")
+    Duration ttl;
+
+    private SecretKeySpec key;
+
+    /**
+     * What a signed URL grants access to
+     *
+     * @param path Store path of the document (IMG_URL)
+     * @param mimeType Type to serve it as, null if unknown
+     * @param size Size in bytes, null if unknown
+     * @param hash SHA-256 of the content, null if unknown
+     * @param expiresAt After this instant the URL is refused
+     */
+    public record Grant(String path, String mimeType, Long size, String hash, Instant expiresAt) {
+    }
+
+    @PostConstruct
+    void init() {
+        byte[] keyBytes;
+        if (signingKey.isPresent() && !signingKey.get().isBlank()) {
+            keyBytes = signingKey.get().getBytes(StandardCharsets.UTF_8);
+            if (keyBytes.length < 32) {
+                throw new IllegalStateException("datum.document-url.signing-key must be at least 32 bytes");
+            }
+        } else {
+            keyBytes = new byte[32];
+            new SecureRandom().nextBytes(keyBytes);
+            System.out.println("Warning: datum.document-url.signing-key not set, signed document URLs only work on this instance until restart");
+        }
+        key = new SecretKeySpec(keyBytes, "HmacSHA256");
+    }
+
+    /**
+     * Access to the document of a purchase, valid for the configured TTL from now
+     *
+     * @throws IllegalArgumentException if the purchase has no document
+     */
+    public Grant grant(Purchase purchase) {
+        if (!purchase.hasDocument()) {
+            throw new IllegalArgumentException("No document attached to this purchase");
+        }
+        return new Grant(
+            purchase.getImgUrl(),
+            purchase.getDocumentMimeType(),
+            purchase.getDocumentSize(),
+            purchase.getDocumentHash(),
+            Instant.now().plus(ttl).truncatedTo(ChronoUnit.SECONDS));
+    }
+
+    /**
+     * Same as {@link #grant(Purchase)} for a document read as a projection
+     */
+    public Grant grant(PurchaseDocumentSummary document) {
+        return new Grant(
+            document.imgUrl(),
+            document.documentMimeType(),
+            document.documentSize(),
+            document.documentHash(),
+            Instant.now().plus(ttl).truncatedTo(ChronoUnit.SECONDS));
+    }
+
+    /**
+     * Build the token for a grant: base64url(payload) "." base64url(HMAC(payload))
+     * The URL to hand out is URL_PREFIX followed by the token.
+     */
+    public String sign(Grant grant) {
+        // The path goes last: it is the only field that could contain the separator
+        String payload = String.join("\n",
+            VERSION,
+            String.valueOf(grant.expiresAt().getEpochSecond()),
+            grant.size() != null ? grant.size().toString() : "",
+            grant.mimeType() != null ? grant.mimeType() : "",
+            grant.hash() != null ? grant.hash() : "",
+            grant.path());
+        byte[] payloadBytes = payload.getBytes(StandardCharsets.UTF_8);
+        return ENCODER.encodeToString(payloadBytes) + "." + ENCODER.encodeToString(mac(payloadBytes));
+    }
+
+    /**
+     * Check a token and return what it grants
+     *
+     * @throws IllegalArgumentException if the token is malformed or the signature does not match
+     * @throws IllegalStateException if the URL has expired
+     */
+    public Grant verify(String token) {
+        // 1. Signature first, nothing in the payload is trusted before
+        int dot = token.indexOf('.');
+        if (dot <= 0) {
+            throw new IllegalArgumentException("Invalid document URL");
+        }
+        byte[] payloadBytes;
+        byte[] signature;
+        try {
+            payloadBytes = DECODER.decode(token.substring(0, dot));
+            signature = DECODER.decode(token.substring(dot + 1));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid document URL");
+        }
+        if (!MessageDigest.isEqual(mac(payloadBytes), signature)) {
+            throw new IllegalArgumentException("Invalid document URL");
+        }
+
+        // 2. Parse
+        String[] fields = new String(payloadBytes, StandardCharsets.UTF_8).split("\n", 6);
+        if (fields.length != 6 || !VERSION.equals(fields[0])) {
+            throw new IllegalArgumentException("Invalid document URL");
+        }
+        Grant grant = new Grant(
+            fields[5],
+            fields[3].isEmpty() ? null : fields[3],
+            fields[2].isEmpty() ? null : Long.valueOf(fields[2]),
+            fields[4].isEmpty() ? null : fields[4],
+            Instant.ofEpochSecond(Long.parseLong(fields[1])));
+
+        // 3. Expiry
+        if (Instant.now().isAfter(grant.expiresAt())) {
+            throw new IllegalStateException("Document URL has expired");
+        }
+        return grant;
+    }
+
+    private byte[] mac(byte[] payload) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(key);
+            return mac.doFinal(payload);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 not available", e);
+        }
+    }
+}
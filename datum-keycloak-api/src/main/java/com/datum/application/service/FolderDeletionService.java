@@ -0,0 +1,92 @@
+package com.datum.application.service;
+
+import com.datum.application.service.FolderService.DeletedFolder;
+import com.datum.domain.ports.out.DocumentStorePort;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Application service for deleting a folder with everything in it
+ * The folder and its purchases are removed in one transaction (purchases in a single
+ * bulk statement), then the documents nobody references anymore are deleted from the
+ * document store in parallel (virtual threads, bounded concurrency). A document that
+ * fails to delete is reported, the database delete is not rolled back for it.
+ */
+@ApplicationScoped
+public class FolderDeletionService {
+
+    @Inject
+    FolderService folderService;
+
+    @Inject
+    DocumentStorePort documentStore;
+
+    @ConfigProperty(name = "datum.folder.delete.max-concurrency", defaultValue = "8")
+    int maxConcurrency;
+
+    /**
+     * Outcome of a folder deletion
+     *
+     * @param failures Document path → error, for documents left in the store
+     */
+    public record FolderDeletionResult(DeletedFolder folder, int documentsDeleted, Map<String, String> failures) {
+    }
+
+    /**
+     * Delete a DRAFT folder, its purchases and their documents
+     *
+     * @throws IllegalArgumentException if the folder does not exist
+     * @throws IllegalStateException if the folder is not DRAFT
+     */
+    public FolderDeletionResult deleteFolder(Long folderId) {
+        // 1. Database first: once committed, the documents are unreachable either way
+        DeletedFolder deleted = folderService.deleteFolderWithPurchases(folderId);
+        List<String> paths = deleted.orphanedPaths();
+
+        // 2. Delete documents in parallel, at most maxConcurrency at a time against the store
+        Semaphore permits = new Semaphore(maxConcurrency);
+        List<Future<?>> deletions = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (String path : paths) {
+                deletions.add(executor.submit(() -> {
+                    permits.acquire();
+                    try {
+                        documentStore.deleteDocument(path);
+                        return null;
+                    } finally {
+                        permits.release();
+                    }
+                }));
+            }
+        } // close() waits for all deletions
+
+        // 3. Aggregate
+        int documentsDeleted = 0;
+        Map<String, String> failures = new LinkedHashMap<>();
+        for (int i = 0; i < paths.size(); i++) {
+            try {
+                deletions.get(i).get();
+                documentsDeleted++;
+            } catch (ExecutionException | InterruptedException e) {
+                Throwable cause = e.getCause() != null ? e.getCause() : e;
+                System.err.println("Folder " + folderId + ": could not delete document " + paths.get(i) + ": " + cause.getMessage());
+                failures.put(paths.get(i), cause.getMessage());
+            }
+        }
+
+        System.out.println("Folder " + folderId + " deleted: " + deleted.purchasesDeleted() + " purchase(s), "
+            + documentsDeleted + " document(s) deleted, " + deleted.sharedPaths().size() + " shared, " + failures.size() + " failed");
+        return new FolderDeletionResult(deleted, documentsDeleted, failures);
+    }
+}
@@ -0,0 +1,234 @@
+package com.datum.application.service;
+
+import com.datum.application.dto.PurchaseResponse;
+import com.datum.domain.model.PurchaseSummary;
+import com.datum.domain.ports.out.DocumentStorePort;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Application service that exports all documents of a folder as a ZIP archive
+ * The archive is written straight to the response: each document is copied from
+ * its document store stream into the ZIP as it arrives, so neither the archive nor a whole
+ * document is ever held in memory. The next few documents are opened in parallel
+ * while the current one is written, hiding document store latency.
+ */
+@ApplicationScoped
+public class FolderDocumentExportService {
+
+    private static final String MANIFEST_NAME = "manifest.csv";
+
+    private static final String[] MANIFEST_COLUMNS = {
+        "idPurchase", "idUser", "idFolder", "idPType", "idPaymentMethod", "idCostCenter",
+        "totalAmount", "description", "guestName", "purchaseDate", "imgUrl", "documentSize",
+        "documentMimeType", "documentHash", "validationStatus", "validatedDate", "validatedBy",
+        "validationNotes", "createdDate", "hasDocument", "zipEntry", "exportError"
+    };
+
+    @Inject
+    DocumentStorePort documentStore;
+
+    @ConfigProperty(name = "datum.export.zip.prefetch", defaultValue = "4")
+    int prefetch;
+
+    /**
+     * One purchase in the archive, with where its document ended up
+     */
+    private static final class ExportItem {
+        final PurchaseSummary purchase;
+        String zipEntry;
+        String error;
+
+        ExportItem(PurchaseSummary purchase) {
+            this.purchase = purchase;
+        }
+    }
+
+    /**
+     * Write the ZIP archive for a folder
+     * A document that cannot be read is skipped and its error is recorded in the manifest.
+     *
+     * @param purchases Purchases of the folder, loaded before the response starts streaming
+     * @param output Response stream; not closed
+     */
+    public void writeZip(List<PurchaseSummary> purchases, OutputStream output) throws IOException {
+        List<ExportItem> items = purchases.stream().map(ExportItem::new).toList();
+        List<ExportItem> withDocument = items.stream().filter(item -> item.purchase.hasDocument()).toList();
+
+        ZipOutputStream zip = new ZipOutputStream(output, StandardCharsets.UTF_8);
+        Deque<CompletableFuture<InputStream>> window = new ArrayDeque<>();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Iterator<ExportItem> pending = withDocument.iterator();
+            try {
+                // 1. Open the first documents
+                for (int i = 0; i < Math.max(1, prefetch) && pending.hasNext(); i++) {
+                    window.add(open(pending.next(), executor));
+                }
+
+                // 2. Receipts are already compressed (JPEG, PNG, PDF), don't spend CPU deflating them again
+                zip.setLevel(Deflater.NO_COMPRESSION);
+                for (ExportItem item : withDocument) {
+                    CompletableFuture<InputStream> next = window.poll();
+                    if (pending.hasNext()) {
+                        window.add(open(pending.next(), executor));
+                    }
+                    writeDocument(zip, item, next);
+                }
+            } finally {
+                // Client went away or writing failed: release streams that were opened ahead
+                for (CompletableFuture<InputStream> opened : window) {
+                    opened.thenAccept(this::closeQuietly);
+                }
+            }
+        }
+
+        // 3. Manifest last, so it can say which documents made it into the archive
+        zip.setLevel(Deflater.DEFAULT_COMPRESSION);
+        zip.putNextEntry(new ZipEntry(MANIFEST_NAME));
+        Writer writer = new OutputStreamWriter(zip, StandardCharsets.UTF_8);
+        writeManifest(writer, items);
+        writer.flush();
+        zip.closeEntry();
+
+        zip.finish();
+        zip.flush();
+    }
+
+    private CompletableFuture<InputStream> open(ExportItem item, ExecutorService executor) {
+        return CompletableFuture.supplyAsync(() -> documentStore.downloadDocument(item.purchase.imgUrl()), executor);
+    }
+
+    private void writeDocument(ZipOutputStream zip, ExportItem item, CompletableFuture<InputStream> content) throws IOException {
+        InputStream in;
+        try {
+            in = content.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            item.error = cause.getMessage();
+            System.err.println("Export: could not read document of purchase " + item.purchase.idPurchase() + ": " + item.error);
+            return;
+        }
+
+        String entryName = item.purchase.idPurchase() + "-" + fileName(item.purchase.imgUrl());
+        try {
+            zip.putNextEntry(new ZipEntry(entryName));
+
+            // Read failures end this entry and go to the manifest; write failures (client gone) end the export
+            byte[] buffer = new byte[64 * 1024];
+            long copied = 0;
+            while (true) {
+                int read;
+                try {
+                    read = in.read(buffer);
+                } catch (IOException | UncheckedIOException e) {
+                    item.error = "Read failed after " + copied + " bytes, " + entryName + " is incomplete: " + e.getMessage();
+                    System.err.println("Export: " + item.error);
+                    break;
+                }
+                if (read == -1) {
+                    break;
+                }
+                zip.write(buffer, 0, read);
+                copied += read;
+            }
+
+            zip.closeEntry();
+            if (item.error == null) {
+                item.zipEntry = entryName;
+            }
+        } finally {
+            closeQuietly(in);
+        }
+    }
+
+    private void writeManifest(Writer writer, List<ExportItem> items) throws IOException {
+        writer.write(String.join(",", MANIFEST_COLUMNS));
+        writer.write("\r\n");
+
+        for (ExportItem item : items) {
+            PurchaseResponse p = PurchaseResponse.fromSummary(item.purchase);
+            List<Object> values = new ArrayList<>();
+            values.add(p.idPurchase);
+            values.add(p.idUser);
+            values.add(p.idFolder);
+            values.add(p.idPType);
+            values.add(p.idPaymentMethod);
+            values.add(p.idCostCenter);
+            values.add(p.totalAmount);
+            values.add(p.description);
+            values.add(p.guestName);
+            values.add(p.purchaseDate);
+            values.add(p.imgUrl);
+            values.add(p.documentSize);
+            values.add(p.documentMimeType);
+            values.add(p.documentHash);
+            values.add(p.validationStatus);
+            values.add(p.validatedDate);
+            values.add(p.validatedBy);
+            values.add(p.validationNotes);
+            values.add(p.createdDate);
+            values.add(p.hasDocument);
+            values.add(item.zipEntry);
+            values.add(item.error);
+
+            for (int i = 0; i < values.size(); i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                writer.write(csv(values.get(i)));
+            }
+            writer.write("\r\n");
+        }
+    }
+
+    // RFC 4180 quoting; user-entered text starting like a formula is prefixed with ' so
+    // spreadsheets show it instead of evaluating it
+    private String csv(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (value instanceof CharSequence && !text.isEmpty() && "=+-@\t\r".indexOf(text.charAt(0)) >= 0) {
+            text = "'" + text;
+        }
+        if (text.contains(",") || text.contains("\"") || text.contains("\n") || text.contains("\r")) {
+            return "\"" + text.replace("\"", "\"\"") + "\"";
+        }
+        return text;
+    }
+
+    private String fileName(String path) {
+        int lastSlash = path.lastIndexOf('/');
+        return lastSlash >= 0 ? path.substring(lastSlash + 1) : path;
+    }
+
+    private void closeQuietly(InputStream in) {
+        try {
+            in.close();
+        } catch (IOException e) {
+            // Nothing left to do with it
+        }
+    }
+}
@@ -1,15 +1,23 @@
 package com.datum.application.service;
 
 import com.datum.domain.model.Folder;
-import com.datum.domain.model.Purchase;
+import com.datum.domain.model.FolderStatus;
+import com.datum.domain.model.FolderSummary;
+import com.datum.domain.model.Page;
+import com.datum.domain.model.PageRequest;
 import com.datum.domain.ports.in.FolderUseCasePort;
+import com.datum.domain.ports.out.DocumentUploadRepositoryPort;
 import com.datum.domain.ports.out.FolderRepositoryPort;
 import com.datum.domain.ports.out.PurchaseRepositoryPort;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import jakarta.transaction.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @ApplicationScoped
 @Transactional
@@ -21,6 +29,9 @@ public class FolderService implements FolderUseCasePort {
     @Inject
     PurchaseRepositoryPort purchaseRepository;
 
+    @Inject
+    DocumentUploadRepositoryPort documentUploadRepository;
+
     @Override
     public Folder createFolder(Folder folder) {
         // Business validations
@@ -40,23 +51,23 @@ public class FolderService implements FolderUseCasePort {
     }
 
     @Override
-    public List<Folder> getAllFolders() {
-        return folderRepository.findAll();
+    public Page<FolderSummary> getAllFolders(PageRequest page) {
+        return folderRepository.findAll(page);
     }
 
     @Override
-    public List<Folder> getFoldersByUserId(Long userId) {
-        return folderRepository.findByUserId(userId);
+    public Page<FolderSummary> getFoldersByUserId(Long userId, PageRequest page) {
+        return folderRepository.findByUserId(userId, page);
     }
 
     @Override
-    public List<Folder> getFoldersUnderReview() {
-        return folderRepository.findByStatus(com.datum.domain.model.FolderStatus.UNDER_REVIEW);
+    public Page<FolderSummary> getFoldersUnderReview(PageRequest page) {
+        return folderRepository.findByStatus(FolderStatus.UNDER_REVIEW, page);
     }
 
     @Override
-    public List<Folder> getFoldersUnderReviewByUserId(Long userId) {
-        return folderRepository.findByUserIdAndStatus(userId, com.datum.domain.model.FolderStatus.UNDER_REVIEW);
+    public Page<FolderSummary> getFoldersUnderReviewByUserId(Long userId, PageRequest page) {
+        return folderRepository.findByUserIdAndStatus(userId, FolderStatus.UNDER_REVIEW, page);
     }
 
     @Override
@@ -91,6 +102,91 @@ public class FolderService implements FolderUseCasePort {
         folderRepository.deleteById(id);
     }
 
+    /**
+     * Outcome of deleting a folder with its purchases
+     *
+     * @param purchasesDeleted Number of purchase rows removed
+     * @param orphanedPaths Stored documents no purchase references anymore (to delete)
+     * @param sharedPaths Stored documents still referenced by purchases in other folders
+     */
+    public record DeletedFolder(Long folderId, int purchasesDeleted, List<String> orphanedPaths, List<String> sharedPaths) {
+    }
+
+    /**
+     * Delete a DRAFT folder together with all its purchases, in one transaction
+     * Purchases go in a single bulk statement. Stored documents are not touched here;
+     * the caller deletes the orphaned ones once this transaction has committed.
+     * Pending outbox uploads of the folder are cancelled (their staged files are swept later);
+     * while one is being transferred the folder is not deleted, its document would be orphaned.
+     *
+     * @throws IllegalStateException if the folder is not DRAFT or an upload is in progress
+     */
+    public DeletedFolder deleteFolderWithPurchases(Long id) {
+        Folder folder = getFolderById(id);
+
+        // Business rule: Can only delete DRAFT folders
+        if (!folder.canEdit()) {
+            throw new IllegalStateException("Cannot delete folder in " + folder.getValidationStatus() + " status");
+        }
+
+        // 1. Outbox: pending uploads can no longer be claimed, running ones block the delete
+        int cancelled = documentUploadRepository.cancelPendingByFolderId(id, "Folder deleted");
+        if (documentUploadRepository.countInProgressByFolderId(id) > 0) {
+            throw new IllegalStateException("Documents of this folder are being uploaded, try again later");
+        }
+        if (cancelled > 0) {
+            System.out.println("Folder " + id + ": cancelled " + cancelled + " pending document upload(s)");
+        }
+
+        // 2. Documents of the folder, before their references go away. Under the user's document
+        //    lock until commit (as PurchaseDocumentService): a concurrent upload can't start
+        //    reusing a document found orphaned below
+        purchaseRepository.lockDocumentReferences(folder.getUserId());
+        List<String> paths = purchaseRepository.findDocumentPathsByFolderId(id);
+
+        // 3. Purchases in one statement (outbox rows cascade), then the folder
+        int purchasesDeleted = purchaseRepository.deleteByFolderId(id);
+        folderRepository.deleteById(id);
+
+        // 4. Deduplicated documents may still be used by purchases elsewhere
+        List<String> shared = purchaseRepository.findReferencedDocumentPaths(paths);
+        Set<String> sharedSet = new HashSet<>(shared);
+        List<String> orphaned = paths.stream().filter(path -> !sharedSet.contains(path)).toList();
+
+        return new DeletedFolder(id, purchasesDeleted, orphaned, shared);
+    }
+
+    /**
+     * Submit a DRAFT folder and all its DRAFT purchases for review, in one transaction
+     * Two statements whatever the folder size: a conditional update of the folder status
+     * (which also stops concurrent submissions) and one bulk update of its purchases.
+     *
+     * @return Number of purchases submitted
+     * @throws IllegalArgumentException if the folder does not exist or has no purchases
+     * @throws IllegalStateException if the folder or all of its purchases are past DRAFT
+     */
+    @Override
+    public int submitFolderForReview(Long folderId) {
+        // 1. Folder DRAFT -> UNDER_REVIEW, only if it still is DRAFT
+        if (!folderRepository.updateStatus(folderId, FolderStatus.DRAFT, FolderStatus.UNDER_REVIEW)) {
+            Folder folder = getFolderById(folderId);
+            throw new IllegalStateException("Cannot submit folder with status: " + folder.getValidationStatus());
+        }
+
+        // 2. Its DRAFT purchases in one statement
+        int submittedCount = purchaseRepository.updateStatusByFolderId(folderId, "DRAFT", "UNDER_REVIEW");
+
+        // Nothing submitted: throwing rolls the folder status back too
+        if (submittedCount == 0) {
+            if (purchaseRepository.countByFolderId(folderId) == 0) {
+                throw new IllegalArgumentException("No purchases found in folder: " + folderId);
+            }
+            throw new IllegalStateException("No DRAFT purchases found to submit in folder");
+        }
+
+        return submittedCount;
+    }
+
     // Method to update folder status without edit validation
     public Folder updateFolderStatus(Folder folder) {
         return folderRepository.save(folder);
@@ -103,23 +199,13 @@ public class FolderService implements FolderUseCasePort {
      * @param validatorId ID of the user who validated the last purchase
      */
     public void checkAndUpdateFolderStatus(Long folderId, Long validatorId) {
-        // Get all purchases in the folder
-        List<Purchase> purchases = purchaseRepository.findByFolderId(folderId);
-
-        if (purchases.isEmpty()) {
-            return; // Nothing to validate
-        }
-
-        // Check if ALL purchases are VALIDATED (approved)
-        boolean allApproved = purchases.stream()
-            .allMatch(p -> "VALIDATED".equals(p.getValidationStatus()));
-
-        if (allApproved) {
+        // Check if ALL purchases are VALIDATED (approved), from one GROUP BY over the folder
+        if (allInStatus(folderId, "VALIDATED")) {
             // Update folder to VALIDATED
             Folder folder = getFolderById(folderId);
-            folder.setValidationStatus(com.datum.domain.model.FolderStatus.VALIDATED);
+            folder.setValidationStatus(FolderStatus.VALIDATED);
             folder.setValidatedBy(validatorId);
-            folder.setValidatedDate(java.time.LocalDateTime.now());
+            folder.setValidatedDate(LocalDateTime.now());
 
             folderRepository.save(folder);
         }
@@ -132,28 +218,27 @@ public class FolderService implements FolderUseCasePort {
      * @param validatorId ID of the user who rejected the last purchase
      */
     public void checkAndRejectFolderIfAllRejected(Long folderId, Long validatorId) {
-        // Get all purchases in the folder
-        List<Purchase> purchases = purchaseRepository.findByFolderId(folderId);
-
-        if (purchases.isEmpty()) {
-            return; // Nothing to validate
-        }
-
-        // Check if ALL purchases are REJECTED
-        boolean allRejected = purchases.stream()
-            .allMatch(p -> "REJECTED".equals(p.getValidationStatus()));
-
-        if (allRejected) {
+        // Check if ALL purchases are REJECTED, from one GROUP BY over the folder
+        if (allInStatus(folderId, "REJECTED")) {
             // Update folder to REJECTED
             Folder folder = getFolderById(folderId);
-            folder.setValidationStatus(com.datum.domain.model.FolderStatus.REJECTED);
+            folder.setValidationStatus(FolderStatus.REJECTED);
             folder.setValidatedBy(validatorId);
-            folder.setValidatedDate(java.time.LocalDateTime.now());
+            folder.setValidatedDate(LocalDateTime.now());
 
             folderRepository.save(folder);
         }
     }
 
+    /**
+     * Whether a folder has purchases and all of them are in the given status
+     * Costs one aggregate query (index-only on ID_FOLDER, VALIDATION_STATUS), whatever the folder size.
+     */
+    private boolean allInStatus(Long folderId, String status) {
+        Map<String, Long> counts = purchaseRepository.countByStatusInFolder(folderId);
+        return counts.size() == 1 && counts.containsKey(status);
+    }
+
     /**
      * Manually reject a folder
      * Can be used by finance/admin to reject a folder even if not all purchases are rejected
@@ -166,14 +251,14 @@ public class FolderService implements FolderUseCasePort {
         Folder folder = getFolderById(folderId);
 
         // Validate: can only reject UNDER_REVIEW folders
-        if (folder.getValidationStatus() != com.datum.domain.model.FolderStatus.UNDER_REVIEW) {
+        if (folder.getValidationStatus() != FolderStatus.UNDER_REVIEW) {
             throw new IllegalStateException("Can only reject folders with UNDER_REVIEW status. Current status: " + folder.getValidationStatus());
         }
 
         // Update folder to REJECTED
-        folder.setValidationStatus(com.datum.domain.model.FolderStatus.REJECTED);
+        folder.setValidationStatus(FolderStatus.REJECTED);
         folder.setValidatedBy(validatorId);
-        folder.setValidatedDate(java.time.LocalDateTime.now());
+        folder.setValidatedDate(LocalDateTime.now());
         folder.setValidationNotes(notes);
 
         return folderRepository.save(folder);
@@ -0,0 +1,154 @@
+package com.datum.application.service;
+
+import com.datum.application.service.PurchaseDocumentService.StoredDocument;
+import com.datum.domain.model.DocumentMetadata;
+import com.datum.domain.model.Purchase;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Application service for creating several purchases with their documents at once
+ * Inserts all purchases in one transaction, then uploads the documents to OpenKM
+ * in parallel (virtual threads, bounded concurrency) and attaches them in one transaction.
+ * Purchases whose document could not be stored or attached are deleted again, so the
+ * client can resend those items without creating duplicates.
+ */
+@ApplicationScoped
+public class PurchaseBatchService {
+
+    @Inject
+    PurchaseService purchaseService;
+
+    @Inject
+    PurchaseDocumentService purchaseDocumentService;
+
+    @ConfigProperty(name = "datum.upload.batch.max-concurrency", defaultValue = "4")
+    int maxConcurrency;
+
+    /**
+     * One validated item of a batch; hash is the SHA-256 computed while validating
+     */
+    public record BatchDocument(int index, Purchase purchase, String fileName, String mimeType, Path content, String hash) {
+    }
+
+    /**
+     * Outcome of one item; stored is null when the item failed
+     * purchaseId is null when the purchase of a failed item was removed again.
+     */
+    public record BatchDocumentResult(int index, Long purchaseId, String fileName, StoredDocument stored, String error) {
+    }
+
+    /**
+     * Create the purchases and upload their documents
+     *
+     * @param documents Validated items
+     * @return One result per item, in the same order
+     */
+    public List<BatchDocumentResult> createWithDocuments(List<BatchDocument> documents) {
+        if (documents.isEmpty()) {
+            return List.of();
+        }
+
+        // 1. Insert every purchase in a single transaction
+        List<Purchase> saved = purchaseService.createPurchases(
+            documents.stream().map(BatchDocument::purchase).toList());
+
+        // 2. Upload documents in parallel, at most maxConcurrency at a time against OpenKM
+        Semaphore permits = new Semaphore(maxConcurrency);
+        List<Future<StoredDocument>> uploads = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < documents.size(); i++) {
+                BatchDocument document = documents.get(i);
+                Purchase purchase = saved.get(i);
+                uploads.add(executor.submit(() -> {
+                    permits.acquire();
+                    try {
+                        // Reuses identical content already stored
+                        return purchaseDocumentService.store(
+                            purchase, document.fileName(), document.mimeType(), document.content(), document.hash());
+                    } finally {
+                        permits.release();
+                    }
+                }));
+            }
+        } // close() waits for all uploads
+
+        // 3. Collect the upload outcomes
+        StoredDocument[] stored = new StoredDocument[documents.size()];
+        String[] errors = new String[documents.size()];
+        Map<Long, DocumentMetadata> attachments = new HashMap<>();
+        for (int i = 0; i < documents.size(); i++) {
+            Long purchaseId = saved.get(i).getIdPurchase();
+            try {
+                stored[i] = uploads.get(i).get();
+                attachments.put(purchaseId, stored[i].metadata());
+            } catch (Exception e) {
+                Throwable cause = e.getCause() != null ? e.getCause() : e;
+                System.err.println("Batch upload failed for purchase " + purchaseId + ": " + cause.getMessage());
+                errors[i] = cause.getMessage();
+            }
+        }
+
+        // 4. Attach in one transaction; if that fails, item by item so one bad item only fails itself
+        try {
+            purchaseService.attachDocuments(attachments);
+        } catch (Exception e) {
+            System.err.println("Batch attach failed, attaching documents one by one: " + e.getMessage());
+            for (int i = 0; i < documents.size(); i++) {
+                if (stored[i] == null) {
+                    continue;
+                }
+                try {
+                    purchaseService.attachDocument(saved.get(i).getIdPurchase(), stored[i].metadata());
+                } catch (Exception attachError) {
+                    errors[i] = attachError.getMessage();
+                }
+            }
+        }
+
+        // 5. Remove failed items again so a retry does not duplicate their purchases
+        List<BatchDocumentResult> results = new ArrayList<>();
+        for (int i = 0; i < documents.size(); i++) {
+            BatchDocument document = documents.get(i);
+            Long purchaseId = saved.get(i).getIdPurchase();
+            if (errors[i] == null) {
+                results.add(new BatchDocumentResult(document.index(), purchaseId, document.fileName(), stored[i], null));
+            } else {
+                results.add(discard(document, saved.get(i), stored[i], errors[i]));
+            }
+        }
+
+        return results;
+    }
+
+    /**
+     * Delete the purchase of a failed item and release its stored document
+     * If the purchase cannot be deleted it is reported, so the client knows it exists.
+     */
+    private BatchDocumentResult discard(BatchDocument document, Purchase purchase, StoredDocument stored, String error) {
+        Long purchaseId = purchase.getIdPurchase();
+        try {
+            purchaseService.deletePurchase(purchaseId);
+        } catch (Exception e) {
+            System.err.println("Could not remove purchase " + purchaseId + " of a failed batch item: " + e.getMessage());
+            return new BatchDocumentResult(document.index(), purchaseId, document.fileName(), null, error);
+        }
+
+        if (stored != null) {
+            // Only kept if another purchase references the same object
+            purchaseDocumentService.releaseDocument(purchase.getIdUser(), stored.metadata().path());
+        }
+        return new BatchDocumentResult(document.index(), null, document.fileName(), null, error);
+    }
+}
@@ -0,0 +1,290 @@
+package com.datum.application.service;
+
+import com.datum.domain.model.DocumentMetadata;
+import com.datum.domain.model.Purchase;
+import com.datum.domain.ports.out.PurchaseRepositoryPort;
+import com.datum.domain.ports.out.DocumentStorePort;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.transaction.Status;
+import jakarta.transaction.Synchronization;
+import jakarta.transaction.TransactionSynchronizationRegistry;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Application service for storing purchase documents with content deduplication
+ * Every document is identified by the SHA-256 of its content. When another purchase
+ * of the same user already references identical content, the new purchase points at
+ * the same stored object instead of uploading another copy; stored objects are only
+ * deleted once no purchase references them anymore.
+ *
+ * Reusing and releasing a stored object happen under a per-user row lock, and a reused
+ * object is attached before the lock is let go, so a release never deletes an object
+ * another purchase is about to point at. Nothing is deleted before the replacing
+ * reference is committed, and the remote delete runs after the lock is let go: once
+ * no purchase references an object, nothing can find it to reuse it.
+ */
+@ApplicationScoped
+public class PurchaseDocumentService {
+
+    @Inject
+    PurchaseRepositoryPort purchaseRepository;
+
+    @Inject
+    PurchaseService purchaseService;
+
+    @Inject
+    DocumentStorePort documentStore;
+
+    @Inject
+    TransactionSynchronizationRegistry transactionRegistry;
+
+    /**
+     * Result of storing a document
+     *
+     * @param metadata Metadata to attach to the purchase
+     * @param reused true if an existing stored object was reused instead of uploading
+     * @param duplicatePurchaseIds Other purchases of the same user with the same content (duplicate receipt signal)
+     */
+    public record StoredDocument(DocumentMetadata metadata, boolean reused, List<Long> duplicatePurchaseIds) {
+    }
+
+    /**
+     * New SHA-256 digest, for callers that hash while receiving the content
+     */
+    public static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Hex encoding used for stored hashes
+     */
+    public static String toHex(MessageDigest digest) {
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    /**
+     * Hash a local file in a single streaming pass
+     */
+    public static String sha256(Path content) {
+        MessageDigest digest = newDigest();
+        byte[] buffer = new byte[64 * 1024];
+        try (InputStream in = Files.newInputStream(content)) {
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not hash document " + content, e);
+        }
+        return toHex(digest);
+    }
+
+    /**
+     * Store a purchase document, reusing an existing object with identical content
+     * A reused object is attached right away; a newly uploaded one is not.
+     */
+    public StoredDocument store(Purchase purchase, String fileName, String mimeType, Path content) {
+        return store(purchase, fileName, mimeType, content, sha256(content));
+    }
+
+    /**
+     * Store a purchase document whose hash is already known
+     *
+     * @param purchase Purchase the document belongs to
+     * @param fileName Name of the document
+     * @param mimeType MIME type of the document
+     * @param content Local file with the content
+     * @param hash SHA-256 of the content (hex)
+     * @return Metadata to attach, plus reuse and duplicate information
+     */
+    public StoredDocument store(Purchase purchase, String fileName, String mimeType, Path content, String hash) {
+        long size;
+        try {
+            size = Files.size(content);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read document " + fileName, e);
+        }
+
+        List<Long> duplicates = duplicatesOf(purchase, hash);
+
+        // 1. Identical content already stored for this user: point at it, nothing to upload
+        Optional<DocumentMetadata> reused = attachExisting(purchase, new DocumentMetadata(null, size, mimeType, hash));
+        if (reused.isPresent()) {
+            return new StoredDocument(reused.get(), true, duplicates);
+        }
+
+        // 2. Never overwrite a path that is still referenced (even our own document: it is
+        //    released only after the new one is attached), use a unique name instead
+        String target = documentStore.documentPath(purchase.getIdPurchase(), purchase.getPurchaseDate(), fileName);
+        if (purchaseRepository.countByDocumentPath(target) > 0) {
+            fileName = hash.substring(0, 12) + "-" + fileName;
+        }
+
+        // 3. Upload
+        String path = documentStore.uploadDocument(purchase.getIdPurchase(), purchase.getPurchaseDate(), fileName, content);
+        return new StoredDocument(new DocumentMetadata(path, size, mimeType, hash), false, duplicates);
+    }
+
+    /**
+     * Store a document, attach it to the purchase and release the previous one
+     */
+    public StoredDocument replaceDocument(Purchase purchase, String fileName, String mimeType, Path content) {
+        return replaceDocument(purchase, fileName, mimeType, content, sha256(content));
+    }
+
+    /**
+     * Same as {@link #replaceDocument(Purchase, String, String, Path)} with a precomputed hash
+     */
+    public StoredDocument replaceDocument(Purchase purchase, String fileName, String mimeType, Path content, String hash) {
+        String previousPath = purchase.getImgUrl();
+
+        StoredDocument stored = store(purchase, fileName, mimeType, content, hash);
+        if (!stored.reused()) {
+            purchaseService.attachDocument(purchase.getIdPurchase(), stored.metadata());
+        }
+
+        if (previousPath != null && !previousPath.equals(stored.metadata().path())) {
+            releaseDocument(purchase.getIdUser(), previousPath);
+        }
+        return stored;
+    }
+
+    /**
+     * File name to stream a new document under, when its hash is not known yet
+     * A path that is still referenced (our own document included) gets a unique prefix:
+     * the previous document is only released once the new one is attached, see adoptUploaded.
+     */
+    public String reserveFileName(Purchase purchase, String fileName) {
+        String target = documentStore.documentPath(purchase.getIdPurchase(), purchase.getPurchaseDate(), fileName);
+        if (purchaseRepository.countByDocumentPath(target) == 0) {
+            return fileName;
+        }
+        return UUID.randomUUID().toString().substring(0, 12) + "-" + fileName;
+    }
+
+    /**
+     * Attach a document that was streamed straight into the store
+     * Deduplication happens after the fact: if identical content was already stored,
+     * the fresh copy is deleted and the purchase points at the existing object.
+     * The previous document of the purchase is released.
+     *
+     * @param path Where the document was uploaded
+     */
+    public StoredDocument adoptUploaded(Purchase purchase, String path, String mimeType, long size, String hash) {
+        String previousPath = purchase.getImgUrl();
+
+        List<Long> duplicates = duplicatesOf(purchase, hash);
+
+        DocumentMetadata metadata = new DocumentMetadata(path, size, mimeType, hash);
+        Optional<DocumentMetadata> reused = attachExisting(purchase, metadata);
+        if (reused.isPresent()) {
+            // The fresh copy was never referenced
+            deleteQuietly(path);
+            metadata = reused.get();
+        } else {
+            purchaseService.attachDocument(purchase.getIdPurchase(), metadata);
+        }
+
+        if (previousPath != null && !previousPath.equals(metadata.path())) {
+            releaseDocument(purchase.getIdUser(), previousPath);
+        }
+        return new StoredDocument(metadata, reused.isPresent(), duplicates);
+    }
+
+    /**
+     * Under the user's lock, attach an already stored object with the same content, if any
+     *
+     * @param document Metadata of the new content (its path is ignored)
+     * @return Metadata of the reused object, empty if there is none
+     */
+    private Optional<DocumentMetadata> attachExisting(Purchase purchase, DocumentMetadata document) {
+        return QuarkusTransaction.joiningExisting().call(() -> {
+            purchaseRepository.lockDocumentReferences(purchase.getIdUser());
+
+            Optional<String> existing = purchaseRepository.findDocumentPathByHash(purchase.getIdUser(), document.hash());
+            if (existing.isEmpty() || existing.get().equals(document.path())) {
+                return Optional.<DocumentMetadata>empty();
+            }
+
+            System.out.println("Document for purchase " + purchase.getIdPurchase() + " reuses " + existing.get());
+            DocumentMetadata reused = new DocumentMetadata(existing.get(), document.size(), document.mimeType(), document.hash());
+            purchaseService.attachDocument(purchase.getIdPurchase(), reused);
+            return Optional.of(reused);
+        });
+    }
+
+    // Other purchases of the same user with this content; other users' purchases are never disclosed
+    private List<Long> duplicatesOf(Purchase purchase, String hash) {
+        return purchaseRepository.findIdsByDocumentHash(purchase.getIdUser(), hash).stream()
+            .filter(id -> !id.equals(purchase.getIdPurchase()))
+            .toList();
+    }
+
+    /**
+     * Delete a stored document unless a purchase still references it
+     * Call after the purchase's own reference has been removed (committed). Inside a
+     * transaction the document is deleted once that transaction has committed.
+     *
+     * @param userId Owner of the purchase that referenced it
+     */
+    public void releaseDocument(Long userId, String path) {
+        // 1. Decide under the same lock as reuse: no purchase can start pointing at it meanwhile
+        boolean unreferenced = QuarkusTransaction.joiningExisting().call(() -> {
+            purchaseRepository.lockDocumentReferences(userId);
+
+            long references = purchaseRepository.countByDocumentPath(path);
+            if (references > 0) {
+                System.out.println("Keeping " + path + ", still referenced by " + references + " purchase(s)");
+                return false;
+            }
+            return true;
+        });
+        if (!unreferenced) {
+            return;
+        }
+
+        // 2. Delete without holding the lock (a slow document store would block the user's uploads)
+        if (!QuarkusTransaction.isActive()) {
+            deleteQuietly(path);
+            return;
+        }
+        transactionRegistry.registerInterposedSynchronization(new Synchronization() {
+            @Override
+            public void beforeCompletion() {
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (status == Status.STATUS_COMMITTED) {
+                    deleteQuietly(path);
+                }
+            }
+        });
+    }
+
+    private void deleteQuietly(String path) {
+        try {
+            documentStore.deleteDocument(path);
+        } catch (Exception e) {
+            // Log but continue - document might already be deleted
+            System.err.println("Warning: Could not delete document from the document store: " + e.getMessage());
+        }
+    }
+}
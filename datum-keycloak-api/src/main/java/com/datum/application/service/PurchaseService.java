@@ -1,13 +1,21 @@
 package com.datum.application.service;
 
+import com.datum.domain.model.DocumentMetadata;
+import com.datum.domain.model.Page;
+import com.datum.domain.model.PageRequest;
 import com.datum.domain.model.Purchase;
+import com.datum.domain.model.PurchaseDocumentSummary;
+import com.datum.domain.model.PurchaseSummary;
 import com.datum.domain.ports.in.PurchaseUseCasePort;
 import com.datum.domain.ports.out.PurchaseRepositoryPort;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import jakarta.transaction.Transactional;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Application service implementing Purchase use cases
@@ -40,6 +48,17 @@ public class PurchaseService implements PurchaseUseCasePort {
         return purchaseRepository.save(purchase);
     }
 
+    @Override
+    @Transactional
+    public List<Purchase> createPurchases(List<Purchase> purchases) {
+        // Ids come from the sequence pool, so nothing is sent until the batched insert at commit
+        List<Purchase> saved = new ArrayList<>(purchases.size());
+        for (Purchase purchase : purchases) {
+            saved.add(createPurchase(purchase));
+        }
+        return saved;
+    }
+
     @Override
     public Purchase getPurchaseById(Long id) {
         return purchaseRepository.findById(id)
@@ -47,21 +66,37 @@ public class PurchaseService implements PurchaseUseCasePort {
     }
 
     @Override
-    public List<Purchase> getPurchasesByUserId(Long userId) {
+    public Page<PurchaseSummary> getPurchasesByUserId(Long userId, PageRequest page) {
         if (userId == null) {
             throw new IllegalArgumentException("User ID cannot be null");
         }
-        return purchaseRepository.findByUserId(userId);
+        return purchaseRepository.findByUserId(userId, page);
     }
 
     @Override
-    public List<Purchase> getPurchasesByFolderId(Long folderId) {
+    public List<PurchaseSummary> getPurchasesByFolderId(Long folderId) {
         if (folderId == null) {
             throw new IllegalArgumentException("Folder ID cannot be null");
         }
         return purchaseRepository.findByFolderId(folderId);
     }
 
+    @Override
+    public List<PurchaseDocumentSummary> getDocumentsByFolderId(Long folderId) {
+        if (folderId == null) {
+            throw new IllegalArgumentException("Folder ID cannot be null");
+        }
+        return purchaseRepository.findDocumentsByFolderId(folderId);
+    }
+
+    @Override
+    public Page<PurchaseSummary> getPurchasesByFolderId(Long folderId, PageRequest page) {
+        if (folderId == null) {
+            throw new IllegalArgumentException("Folder ID cannot be null");
+        }
+        return purchaseRepository.findByFolderId(folderId, page);
+    }
+
     @Override
     @Transactional
     public Purchase updatePurchase(Long id, Purchase purchase) {
@@ -102,54 +137,46 @@ public class PurchaseService implements PurchaseUseCasePort {
 
     @Override
     @Transactional
-    public void attachDocument(Long purchaseId, String documentUrl) {
+    public void attachDocument(Long purchaseId, DocumentMetadata document) {
         Purchase purchase = getPurchaseById(purchaseId);
 
-        // Set document URL using business logic
-        purchase.setDocumentUrl(documentUrl);
+        // Set document URL and metadata using business logic
+        purchase.attachDocument(document);
 
         purchaseRepository.save(purchase);
     }
 
     @Override
     @Transactional
-    public void removeDocument(Long purchaseId) {
-        Purchase purchase = getPurchaseById(purchaseId);
-
-        if (!purchase.canEdit()) {
-            throw new IllegalStateException("Cannot remove document from non-DRAFT purchase");
+    public void attachDocuments(Map<Long, DocumentMetadata> documents) {
+        // 1. Load every purchase in one query instead of one lookup per document
+        Map<Long, Purchase> purchases = new HashMap<>();
+        for (Purchase purchase : purchaseRepository.findByIds(documents.keySet())) {
+            purchases.put(purchase.getIdPurchase(), purchase);
         }
 
-        purchase.setImgUrl(null);
-        purchaseRepository.save(purchase);
+        // 2. Updates are flushed together at commit, as one JDBC batch
+        for (Map.Entry<Long, DocumentMetadata> entry : documents.entrySet()) {
+            Purchase purchase = purchases.get(entry.getKey());
+            if (purchase == null) {
+                throw new IllegalArgumentException("Purchase not found with ID: " + entry.getKey());
+            }
+            purchase.attachDocument(entry.getValue());
+            purchaseRepository.save(purchase);
+        }
     }
 
-    /**
-     * Submit all purchases in a folder for review
-     * Changes status from DRAFT to UNDER_REVIEW
-     */
+    @Override
     @Transactional
-    public int submitFolderForReview(Long folderId) {
-        List<Purchase> purchases = purchaseRepository.findByFolderId(folderId);
-
-        if (purchases.isEmpty()) {
-            throw new IllegalArgumentException("No purchases found in folder: " + folderId);
-        }
-
-        int submittedCount = 0;
-        for (Purchase purchase : purchases) {
-            if (purchase.canSubmitForReview()) {
-                purchase.submitForReview();
-                purchaseRepository.save(purchase);
-                submittedCount++;
-            }
-        }
+    public void removeDocument(Long purchaseId) {
+        Purchase purchase = getPurchaseById(purchaseId);
 
-        if (submittedCount == 0) {
-            throw new IllegalStateException("No DRAFT purchases found to submit in folder");
+        if (!purchase.canEdit()) {
+            throw new IllegalStateException("Cannot remove document from non-DRAFT purchase");
         }
 
-        return submittedCount;
+        purchase.clearDocument();
+        purchaseRepository.save(purchase);
     }
 
     /**
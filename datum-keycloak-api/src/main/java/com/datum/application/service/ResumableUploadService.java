@@ -0,0 +1,296 @@
+package com.datum.application.service;
+
+import com.datum.application.service.PurchaseDocumentService.StoredDocument;
+import com.datum.domain.model.Purchase;
+import com.datum.domain.model.ResumableUpload;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Application service for resumable (chunked) document uploads
+ * Chunks are appended to a file in the staging directory; a dropped connection keeps
+ * every byte already written, so the client resumes from the current offset instead
+ * of starting over. The content is hashed as chunks arrive, so finishing the upload
+ * needs no second pass over the file before it is handed to OpenKM. The real type is
+ * checked from the magic bytes as soon as the first chunk covers them.
+ *
+ * Sessions are kept in memory: they do not survive a restart and a client must keep
+ * talking to the same instance.
+ */
+@ApplicationScoped
+public class ResumableUploadService {
+
+    @Inject
+    PurchaseService purchaseService;
+
+    @Inject
+    PurchaseDocumentService purchaseDocumentService;
+
+    @ConfigProperty(name = "datum.upload.resumable.directory", defaultValue = "datum-upload-resumable")
+    String directory;
+
+    @ConfigProperty(name = "datum.upload.resumable.ttl-minutes", defaultValue = "1440")
+    long ttlMinutes;
+
+    private final Map<String, Session> sessions = new ConcurrentHashMap<>();
+    private Path stagingDir;
+
+    /**
+     * Upload state plus the lock that serializes chunks and finalize for it
+     * The digest has seen exactly the bytes up to the upload's offset.
+     */
+    private record Session(ResumableUpload upload, Path file, MessageDigest digest, ReentrantLock lock) {
+    }
+
+    @PostConstruct
+    void init() {
+        Path configured = Paths.get(directory);
+        stagingDir = configured.isAbsolute()
+            ? configured
+            : Paths.get(System.getProperty("java.io.tmpdir")).resolve(configured);
+        try {
+            Files.createDirectories(stagingDir);
+            // Sessions are in memory only, so leftovers from a previous run cannot be resumed
+            try (var files = Files.list(stagingDir)) {
+                files.forEach(this::deleteQuietly);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot create resumable upload directory " + stagingDir, e);
+        }
+    }
+
+    /**
+     * Open a new upload session for a purchase
+     *
+     * @param purchaseId Purchase the document belongs to (must be editable)
+     * @param fileName Name of the document
+     * @param mimeType MIME type of the document
+     * @param length Total size in bytes
+     * @return The new session, at offset 0
+     */
+    public ResumableUpload create(Long purchaseId, String fileName, String mimeType, long length) {
+        Purchase purchase = purchaseService.getPurchaseById(purchaseId);
+        if (!purchase.canEdit()) {
+            throw new IllegalStateException("Cannot modify document for non-DRAFT purchase");
+        }
+
+        ResumableUpload upload = new ResumableUpload();
+        upload.setId(UUID.randomUUID().toString());
+        upload.setPurchaseId(purchaseId);
+        upload.setFileName(fileName);
+        upload.setMimeType(mimeType);
+        upload.setLength(length);
+        upload.setOffset(0);
+        upload.setCreatedDate(LocalDateTime.now());
+        upload.setExpiresAt(LocalDateTime.now().plusMinutes(ttlMinutes));
+
+        Path file = stagingDir.resolve(upload.getId());
+        try {
+            Files.createFile(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not create upload file", e);
+        }
+
+        sessions.put(upload.getId(), new Session(upload, file, PurchaseDocumentService.newDigest(), new ReentrantLock()));
+        System.out.println("Resumable upload " + upload.getId() + " created for purchase " + purchaseId + " (" + length + " bytes)");
+        return upload;
+    }
+
+    /**
+     * Get upload session by ID
+     */
+    public ResumableUpload getUpload(String uploadId) {
+        return session(uploadId).upload();
+    }
+
+    /**
+     * Append a chunk at the given offset
+     * Bytes are committed as they are written: if the stream breaks, the offset
+     * reflects everything received so far.
+     *
+     * @param uploadId Upload session ID
+     * @param offset Offset the client believes the upload is at (must match)
+     * @param chunk Chunk content
+     * @return The upload with its new offset
+     */
+    public ResumableUpload appendChunk(String uploadId, long offset, InputStream chunk) {
+        Session session = session(uploadId);
+        if (!session.lock().tryLock()) {
+            throw new IllegalStateException("Another request is already writing to upload " + uploadId);
+        }
+        try {
+            ResumableUpload upload = session.upload();
+            if (offset != upload.getOffset()) {
+                throw new OffsetMismatchException(upload.getOffset());
+            }
+
+            long startOffset = upload.getOffset();
+            long remaining = upload.getLength() - upload.getOffset();
+            try (FileChannel channel = FileChannel.open(session.file(), StandardOpenOption.WRITE)) {
+                channel.position(upload.getOffset());
+                byte[] buffer = new byte[64 * 1024];
+                int read;
+                while (remaining > 0 && (read = chunk.read(buffer, 0, (int) Math.min(buffer.length, remaining))) != -1) {
+                    ByteBuffer bytes = ByteBuffer.wrap(buffer, 0, read);
+                    while (bytes.hasRemaining()) {
+                        channel.write(bytes);
+                    }
+                    session.digest().update(buffer, 0, read);
+                    remaining -= read;
+                    upload.setOffset(upload.getOffset() + read);
+                }
+            } catch (IOException e) {
+                // Connection dropped: keep what was received, the client resumes from the offset
+                System.err.println("Resumable upload " + uploadId + " interrupted at offset " + upload.getOffset() + ": " + e.getMessage());
+                throw new UncheckedIOException("Chunk interrupted at offset " + upload.getOffset(), e);
+            } finally {
+                upload.setExpiresAt(LocalDateTime.now().plusMinutes(ttlMinutes));
+            }
+
+            // The first bytes are in: check the real type instead of the declared one
+            if (startOffset < DocumentInspector.HEADER_LENGTH
+                    && (upload.getOffset() >= DocumentInspector.HEADER_LENGTH || upload.isComplete())) {
+                String detected = DocumentInspector.detectMimeType(session.file());
+                if (detected == null) {
+                    discard(session);
+                    throw new IllegalArgumentException("Only images (JPG, PNG, HEIC) and PDF files are allowed");
+                }
+                upload.setMimeType(detected);
+            }
+
+            if (upload.isComplete() && upload.getContentHash() == null) {
+                upload.setContentHash(PurchaseDocumentService.toHex(session.digest()));
+            }
+
+            try {
+                if (remaining == 0 && chunk.read() != -1) {
+                    throw new IllegalArgumentException("Chunk exceeds the declared upload length of " + upload.getLength() + " bytes");
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+
+            return upload;
+        } finally {
+            session.lock().unlock();
+        }
+    }
+
+    /**
+     * Upload the completed file to OpenKM and attach it to the purchase
+     * Replaces the purchase's previous document, if any. Identical content
+     * already stored is reused instead of uploaded again.
+     *
+     * @return The stored document
+     */
+    public StoredDocument finalizeUpload(String uploadId) {
+        Session session = session(uploadId);
+        if (!session.lock().tryLock()) {
+            throw new IllegalStateException("Another request is already writing to upload " + uploadId);
+        }
+        try {
+            ResumableUpload upload = session.upload();
+            if (!upload.isComplete()) {
+                throw new OffsetMismatchException(upload.getOffset());
+            }
+
+            Purchase purchase = purchaseService.getPurchaseById(upload.getPurchaseId());
+            if (!purchase.canEdit()) {
+                throw new IllegalStateException("Cannot modify document for non-DRAFT purchase");
+            }
+
+            StoredDocument stored = purchaseDocumentService.replaceDocument(
+                purchase, upload.getFileName(), upload.getMimeType(), session.file(), upload.getContentHash());
+
+            discard(session);
+            System.out.println("Resumable upload " + uploadId + " finalized: " + stored.metadata().path());
+            return stored;
+        } finally {
+            session.lock().unlock();
+        }
+    }
+
+    /**
+     * Abort an upload and delete its staged bytes
+     */
+    public void cancel(String uploadId) {
+        discard(session(uploadId));
+    }
+
+    /**
+     * Drop sessions that have not received data within the TTL
+     *
+     * @return Number of sessions removed
+     */
+    public int expireSessions() {
+        LocalDateTime now = LocalDateTime.now();
+        int expired = 0;
+        for (Session session : sessions.values()) {
+            // Skip sessions with a chunk in flight, they are clearly alive
+            if (session.upload().isExpired(now) && session.lock().tryLock()) {
+                try {
+                    discard(session);
+                    expired++;
+                } finally {
+                    session.lock().unlock();
+                }
+            }
+        }
+        return expired;
+    }
+
+    private Session session(String uploadId) {
+        Session session = sessions.get(uploadId);
+        if (session == null) {
+            throw new IllegalArgumentException("Upload not found with ID: " + uploadId);
+        }
+        return session;
+    }
+
+    private void discard(Session session) {
+        sessions.remove(session.upload().getId());
+        deleteQuietly(session.file());
+    }
+
+    private void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            System.err.println("Warning: Could not delete resumable upload file " + file + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * The client's offset does not match the server's (or the upload is incomplete)
+     */
+    public static class OffsetMismatchException extends RuntimeException {
+        private final long currentOffset;
+
+        public OffsetMismatchException(long currentOffset) {
+            super("Upload is at offset " + currentOffset);
+            this.currentOffset = currentOffset;
+        }
+
+        public long getCurrentOffset() {
+            return currentOffset;
+        }
+    }
+}
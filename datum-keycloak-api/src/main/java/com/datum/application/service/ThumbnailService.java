@@ -0,0 +1,322 @@
+package com.datum.application.service;
+
+import com.datum.domain.model.Purchase;
+import com.datum.domain.ports.out.DocumentStorePort;
+import com.datum.infrastructure.adapter.out.storage.DocumentRenditionCache;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.rendering.ImageType;
+import org.apache.pdfbox.rendering.PDFRenderer;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.ZoneOffset;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Application service for document thumbnails
+ * Renders a downscaled JPEG/PNG of the purchase document (first page for PDFs) once
+ * and serves it from the rendition cache afterwards. Widths are snapped to a few
+ * fixed sizes so each document has a handful of renditions at most.
+ */
+@ApplicationScoped
+public class ThumbnailService {
+
+    // Supported widths, a requested width is rounded up to the next one
+    private static final int[] WIDTHS = { 64, 128, 256, 512, 1024 };
+
+    private static final float JPEG_QUALITY = 0.8f;
+
+    // Bounds for decoding, whatever the page or image proportions: a long receipt scanned as
+    // one page must not turn into a gigapixel bitmap
+    private static final float MAX_PDF_DPI = 300f;
+    private static final long MAX_DECODED_PIXELS = 8_000_000L;
+
+    @Inject
+    DocumentStorePort documentStore;
+
+    @Inject
+    DocumentRenditionCache renditionCache;
+
+    @ConfigProperty(name = "datum.rendition.max-concurrent-renders", defaultValue = "2")
+    int maxConcurrentRenders;
+
+    // Concurrent requests for the same rendition wait for a single render
+    private final Map<String, CompletableFuture<Path>> inFlight = new ConcurrentHashMap<>();
+    private Semaphore renderPermits;
+
+    /**
+     * Rendered thumbnail file and its content type
+     */
+    public record Thumbnail(Path file, String mimeType) {
+    }
+
+    @PostConstruct
+    void init() {
+        // Decoding full-size scans is memory hungry, keep the number of parallel renders small
+        renderPermits = new Semaphore(maxConcurrentRenders);
+    }
+
+    /**
+     * Snap a requested width to a supported rendition width
+     */
+    public int normalizeWidth(int requestedWidth) {
+        for (int width : WIDTHS) {
+            if (requestedWidth <= width) {
+                return width;
+            }
+        }
+        return WIDTHS[WIDTHS.length - 1];
+    }
+
+    /**
+     * Get (rendering it on first use) the thumbnail of a purchase document
+     *
+     * @param purchase Purchase with an attached document
+     * @param requestedWidth Desired width in pixels
+     * @return The cached rendition, or empty if the document type cannot be rendered
+     */
+    public Optional<Thumbnail> getThumbnail(Purchase purchase, int requestedWidth) {
+        if (!purchase.hasDocument()) {
+            throw new IllegalArgumentException("No document attached to purchase " + purchase.getIdPurchase());
+        }
+
+        String docPath = purchase.getImgUrl();
+        String sourceType = sourceMimeType(purchase);
+        // HEIC has no ImageIO decoder, don't bother fetching it
+        if (!"application/pdf".equals(sourceType) && (!sourceType.startsWith("image/") || "image/heic".equals(sourceType))) {
+            return Optional.empty();
+        }
+
+        // PNG keeps transparency and sharp edges of screenshots, everything else becomes JPEG
+        boolean png = "image/png".equals(sourceType);
+        String format = png ? "png" : "jpg";
+        String mimeType = png ? "image/png" : "image/jpeg";
+
+        // The document version is part of the name, so a rendition of replaced content is never served
+        int width = normalizeWidth(requestedWidth);
+        long version = purchase.getDocumentUpdatedDate() != null
+            ? purchase.getDocumentUpdatedDate().toEpochSecond(ZoneOffset.UTC)
+            : 0;
+        String variant = width + "-" + version + "." + format;
+
+        Path cached = renditionCache.get(docPath, variant);
+        if (cached != null) {
+            return Optional.of(new Thumbnail(cached, mimeType));
+        }
+
+        String key = docPath + "|" + variant;
+        CompletableFuture<Path> mine = new CompletableFuture<>();
+        CompletableFuture<Path> existing = inFlight.putIfAbsent(key, mine);
+        if (existing != null) {
+            try {
+                return Optional.ofNullable(existing.join()).map(file -> new Thumbnail(file, mimeType));
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException cause ? cause : e;
+            }
+        }
+
+        try {
+            // null when no decoder could read the content
+            Path rendered = render(docPath, sourceType, variant, width, png);
+            mine.complete(rendered);
+            return Optional.ofNullable(rendered).map(file -> new Thumbnail(file, mimeType));
+        } catch (RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    private Path render(String docPath, String sourceType, String variant, int width, boolean png) {
+        renderPermits.acquireUninterruptibly();
+        Path source = null;
+        Path output = null;
+        try {
+            // 1. Fetch the original (usually from the document cache)
+            source = renditionCache.createTempFile();
+            try (InputStream in = documentStore.downloadDocument(docPath)) {
+                Files.copy(in, source, StandardCopyOption.REPLACE_EXISTING);
+            }
+
+            // 2. Decode at (roughly) the target size
+            BufferedImage image = "application/pdf".equals(sourceType)
+                ? renderPdfFirstPage(source, width)
+                : readImage(source, width);
+            if (image == null) {
+                return null;
+            }
+
+            // 3. Downscale and encode
+            BufferedImage scaled = scale(image, width, png);
+            output = renditionCache.createTempFile();
+            if (png) {
+                ImageIO.write(scaled, "png", output.toFile());
+            } else {
+                writeJpeg(scaled, output);
+            }
+
+            Path published = renditionCache.put(docPath, variant, output);
+            output = null;
+            System.out.println("Rendered thumbnail " + variant + " for " + docPath);
+            return published;
+
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not render thumbnail for " + docPath, e);
+        } finally {
+            renderPermits.release();
+            deleteQuietly(source);
+            deleteQuietly(output);
+        }
+    }
+
+    private BufferedImage renderPdfFirstPage(Path source, int width) throws IOException {
+        try (PDDocument document = Loader.loadPDF(source.toFile())) {
+            if (document.getNumberOfPages() == 0) {
+                return null;
+            }
+            PDRectangle box = document.getPage(0).getCropBox();
+            // Page units are 1/72 inch: cap the resolution of tiny pages and the area of long ones
+            float scale = Math.min(width / box.getWidth(), MAX_PDF_DPI / 72f);
+            double pixels = (double) box.getWidth() * box.getHeight() * scale * scale;
+            if (pixels > MAX_DECODED_PIXELS) {
+                scale *= (float) Math.sqrt(MAX_DECODED_PIXELS / pixels);
+            }
+            return new PDFRenderer(document).renderImage(0, scale, ImageType.RGB);
+        }
+    }
+
+    private BufferedImage readImage(Path source, int width) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(source.toFile())) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                return null; // e.g. HEIC, no ImageIO decoder
+            }
+
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+
+                // Subsample while decoding so a 12 MP photo never sits fully in memory;
+                // keep about twice the target width for a smooth final downscale, and
+                // subsample further if a very tall image would still be too many pixels
+                int sourceWidth = reader.getWidth(0);
+                int sourceHeight = reader.getHeight(0);
+                int factor = Math.max(1, sourceWidth / (width * 2));
+                double pixels = (double) sourceWidth * sourceHeight / ((double) factor * factor);
+                if (pixels > MAX_DECODED_PIXELS) {
+                    factor = (int) Math.ceil(factor * Math.sqrt(pixels / MAX_DECODED_PIXELS));
+                }
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(factor, factor, 0, 0);
+
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private BufferedImage scale(BufferedImage image, int width, boolean keepAlpha) {
+        int type = keepAlpha ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB;
+
+        // Never upscale
+        int targetWidth = Math.min(width, image.getWidth());
+        int targetHeight = Math.max(1, Math.round(image.getHeight() * (targetWidth / (float) image.getWidth())));
+
+        // Halve step by step: a single bilinear pass over a large ratio drops too much detail
+        BufferedImage current = image;
+        while (current.getWidth() / 2 >= targetWidth) {
+            current = draw(current, current.getWidth() / 2, Math.max(1, current.getHeight() / 2), type, keepAlpha);
+        }
+        return draw(current, targetWidth, targetHeight, type, keepAlpha);
+    }
+
+    private BufferedImage draw(BufferedImage source, int width, int height, int type, boolean keepAlpha) {
+        BufferedImage target = new BufferedImage(width, height, type);
+        Graphics2D graphics = target.createGraphics();
+        try {
+            if (!keepAlpha) {
+                // JPEG has no alpha channel, flatten onto white
+                graphics.setColor(Color.WHITE);
+                graphics.fillRect(0, 0, width, height);
+            }
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+        return target;
+    }
+
+    private void writeJpeg(BufferedImage image, Path output) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        try (ImageOutputStream out = ImageIO.createImageOutputStream(output.toFile())) {
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(JPEG_QUALITY);
+            writer.setOutput(out);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+    }
+
+    // Older purchases have no stored MIME type, fall back to the file extension
+    private String sourceMimeType(Purchase purchase) {
+        if (purchase.getDocumentMimeType() != null) {
+            return purchase.getDocumentMimeType().toLowerCase();
+        }
+        String path = purchase.getImgUrl().toLowerCase();
+        if (path.endsWith(".pdf")) {
+            return "application/pdf";
+        }
+        if (path.endsWith(".png")) {
+            return "image/png";
+        }
+        if (path.endsWith(".heic")) {
+            return "image/heic";
+        }
+        return "image/jpeg";
+    }
+
+    private void deleteQuietly(Path file) {
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            System.err.println("Warning: Could not delete temporary rendition file " + file + ": " + e.getMessage());
+        }
+    }
+}
@@ -1,6 +1,9 @@
 package com.datum.application.service;
 
+import com.datum.domain.model.Page;
+import com.datum.domain.model.PageRequest;
 import com.datum.domain.model.User;
+import com.datum.domain.model.UserSummary;
 import com.datum.domain.ports.in.UserUseCasePort;
 import com.datum.domain.ports.out.UserRepositoryPort;
 import com.datum.infrastructure.adapter.out.keycloak.KeycloakService;
@@ -9,7 +12,6 @@ import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import jakarta.transaction.Transactional;
 
-import java.util.List;
 import java.util.Optional;
 
 @ApplicationScoped
@@ -57,8 +59,8 @@ public User createUser(String firstName, String lastName, String nickname, Strin
     }
 
     @Override
-    public List<User> getAllUsers() {
-        return userRepository.findAll();
+    public Page<UserSummary> getAllUsers(PageRequest page) {
+        return userRepository.findAll(page);
     }
 
     @Override
@@ -1,6 +1,8 @@
 package com.datum.auth;
 
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.eclipse.microprofile.rest.client.inject.RestClient;
+import java.time.Duration;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -22,6 +24,7 @@ import java.util.Arrays;
 
 import com.datum.domain.ports.out.UserRepositoryPort;
 import com.datum.domain.model.User;
+import com.datum.infrastructure.config.DownstreamUnavailableMapper;
 
 @Path("/auth")
 public class AuthResource {
@@ -34,6 +37,10 @@ public class AuthResource {
     @RestClient
     KeycloakAdminUserClient keycloakAdminUserClient;
 
+    // Upper bound for blocking waits on Keycloak (the client deadline normally fires first)
+    @ConfigProperty(name = "keycloak.call-timeout", defaultValue = "10s")
+    Duration callTimeout;
+
     @POST
     @Path("/login")
     @Consumes(MediaType.APPLICATION_JSON)
@@ -65,6 +72,12 @@ public class AuthResource {
                     return Response.ok(authResponse).build();
                 })
                 .onFailure().recoverWithItem(throwable -> {
+                    // Keycloak slow or down: not the user's fault, ask to retry
+                    Response unavailable = DownstreamUnavailableMapper.fromCause(throwable);
+                    if (unavailable != null) {
+                        return unavailable;
+                    }
+
                     // Login failed
                     AuthResponse authResponse = new AuthResponse(
                             false,
@@ -147,7 +160,7 @@ public class AuthResource {
                     "password",
                     "admin-cli",
                     "admin",
-                    "admin").await().indefinitely();
+                    "admin").await().atMost(callTimeout);
 
             // Get user details
             Map<String, Object> user = keycloakAdminUserClient.getUser(
@@ -221,6 +234,11 @@ public class AuthResource {
                         }
                     })
                     .onFailure().recoverWithItem(error -> {
+                        Response unavailable = DownstreamUnavailableMapper.fromCause(error);
+                        if (unavailable != null) {
+                            return unavailable;
+                        }
+
                         System.err.println("ERROR: " + error.getMessage());
                         error.printStackTrace();
                         return Response.status(Response.Status.BAD_REQUEST)
@@ -1,5 +1,8 @@
 package com.datum.auth;
 
+import org.eclipse.microprofile.faulttolerance.Bulkhead;
+import org.eclipse.microprofile.faulttolerance.CircuitBreaker;
+import org.eclipse.microprofile.faulttolerance.Timeout;
 import org.eclipse.microprofile.rest.client.inject.RegisterRestClient;
 
 import jakarta.ws.rs.Consumes;
@@ -7,11 +10,20 @@ import jakarta.ws.rs.FormParam;
 import jakarta.ws.rs.POST;
 import jakarta.ws.rs.Path;
 import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.WebApplicationException;
 import jakarta.ws.rs.core.MediaType;
 
 import io.smallrye.mutiny.Uni;
 
+/**
+ * REST Client for the Keycloak token endpoint
+ * Rejected credentials are error responses, so they never open the circuit.
+ */
 @RegisterRestClient(configKey="keycloak-api")
+@Timeout(5000)
+@Bulkhead(16)
+@CircuitBreaker(requestVolumeThreshold = 20, failureRatio = 0.5, delay = 10000, successThreshold = 2,
+                skipOn = WebApplicationException.class)
 @Path("/realms/datum/protocol/openid-connect")
 public interface KeycloakClient {
     
@@ -0,0 +1,12 @@
+package com.datum.domain.model;
+
+/**
+ * Metadata of a stored purchase document, kept next to IMG_URL
+ *
+ * @param path Document path in the document store (IMG_URL)
+ * @param size Content length in bytes
+ * @param mimeType Content type
+ * @param hash SHA-256 of the content (hex), used to detect duplicate receipts
+ */
+public record DocumentMetadata(String path, Long size, String mimeType, String hash) {
+}
@@ -0,0 +1,189 @@
+package com.datum.domain.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * DocumentUpload domain entity
+ * A purchase document accepted by the API and waiting to be transferred to OpenKM (outbox row)
+ */
+public class DocumentUpload {
+
+    private Long id;
+    private Long purchaseId;
+    private String fileName;
+    private String mimeType;
+    private Long fileSize;
+    private String stagedFile;  // Local path of the staged content
+    private DocumentUploadStatus status;
+    private int attempts;
+    private LocalDateTime nextAttemptAt;
+    private LocalDateTime lockedAt;
+    private String lastError;
+    private String documentPath;  // Document path in OpenKM once stored
+    private LocalDateTime createdDate;
+    private LocalDateTime completedDate;
+
+    public DocumentUpload() {
+        this.status = DocumentUploadStatus.PENDING;
+    }
+
+    // Business logic methods
+
+    /**
+     * Check if the upload reached a final state
+     */
+    public boolean isFinished() {
+        return status == DocumentUploadStatus.COMPLETED || status == DocumentUploadStatus.FAILED;
+    }
+
+    /**
+     * Mark the upload as transferred to OpenKM
+     */
+    public void complete(String documentPath) {
+        this.status = DocumentUploadStatus.COMPLETED;
+        this.documentPath = documentPath;
+        this.completedDate = LocalDateTime.now();
+        this.lockedAt = null;
+        this.lastError = null;
+    }
+
+    /**
+     * Remember where the content was stored before attaching it
+     * A retry after a failed completion attaches this path instead of uploading again.
+     */
+    public void recordStored(String documentPath) {
+        this.documentPath = documentPath;
+    }
+
+    /**
+     * Record a failed attempt
+     * Schedules a retry after the given delay, or gives up once maxAttempts is reached
+     */
+    public void recordFailure(String error, long retryDelaySeconds, int maxAttempts) {
+        this.attempts++;
+        this.lockedAt = null;
+        this.lastError = error != null && error.length() > 500 ? error.substring(0, 500) : error;
+
+        if (this.attempts >= maxAttempts) {
+            this.status = DocumentUploadStatus.FAILED;
+            this.completedDate = LocalDateTime.now();
+        } else {
+            this.status = DocumentUploadStatus.PENDING;
+            this.nextAttemptAt = LocalDateTime.now().plusSeconds(retryDelaySeconds);
+        }
+    }
+
+    // Getters and Setters
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getPurchaseId() {
+        return purchaseId;
+    }
+
+    public void setPurchaseId(Long purchaseId) {
+        this.purchaseId = purchaseId;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    public void setFileName(String fileName) {
+        this.fileName = fileName;
+    }
+
+    public String getMimeType() {
+        return mimeType;
+    }
+
+    public void setMimeType(String mimeType) {
+        this.mimeType = mimeType;
+    }
+
+    public Long getFileSize() {
+        return fileSize;
+    }
+
+    public void setFileSize(Long fileSize) {
+        this.fileSize = fileSize;
+    }
+
+    public String getStagedFile() {
+        return stagedFile;
+    }
+
+    public void setStagedFile(String stagedFile) {
+        this.stagedFile = stagedFile;
+    }
+
+    public DocumentUploadStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(DocumentUploadStatus status) {
+        this.status = status;
+    }
+
+    public int getAttempts() {
+        return attempts;
+    }
+
+    public void setAttempts(int attempts) {
+        this.attempts = attempts;
+    }
+
+    public LocalDateTime getNextAttemptAt() {
+        return nextAttemptAt;
+    }
+
+    public void setNextAttemptAt(LocalDateTime nextAttemptAt) {
+        this.nextAttemptAt = nextAttemptAt;
+    }
+
+    public LocalDateTime getLockedAt() {
+        return lockedAt;
+    }
+
+    public void setLockedAt(LocalDateTime lockedAt) {
+        this.lockedAt = lockedAt;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+
+    public void setLastError(String lastError) {
+        this.lastError = lastError;
+    }
+
+    public String getDocumentPath() {
+        return documentPath;
+    }
+
+    public void setDocumentPath(String documentPath) {
+        this.documentPath = documentPath;
+    }
+
+    public LocalDateTime getCreatedDate() {
+        return createdDate;
+    }
+
+    public void setCreatedDate(LocalDateTime createdDate) {
+        this.createdDate = createdDate;
+    }
+
+    public LocalDateTime getCompletedDate() {
+        return completedDate;
+    }
+
+    public void setCompletedDate(LocalDateTime completedDate) {
+        this.completedDate = completedDate;
+    }
+}
@@ -0,0 +1,8 @@
+package com.datum.domain.model;
+
+public enum DocumentUploadStatus {
+    PENDING,
+    IN_PROGRESS,
+    COMPLETED,
+    FAILED
+}
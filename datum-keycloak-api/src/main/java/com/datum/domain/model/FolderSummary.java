@@ -0,0 +1,25 @@
+package com.datum.domain.model;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Read-only view of a folder for listings
+ * Selected straight from the database, see PurchaseSummary.
+ */
+public record FolderSummary(
+        Long id,
+        Long userId,
+        String folderName,
+        String description,
+        LocalDate startDate,
+        LocalDate endDate,
+        String validationStatus,
+        LocalDateTime validatedDate,
+        Long validatedBy,
+        String validationNotes) {
+
+    public boolean canEdit() {
+        return validationStatus == null || FolderStatus.DRAFT.name().equals(validationStatus);
+    }
+}
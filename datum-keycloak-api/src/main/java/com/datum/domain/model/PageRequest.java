@@ -0,0 +1,36 @@
+package com.datum.domain.model;
+
+/**
+ * Request for one page of a keyset-paginated listing
+ *
+ * @param limit Maximum number of items
+ * @param cursor Opaque position after which the page starts (nextCursor of the previous page), null for the first page
+ */
+public record PageRequest(int limit, String cursor) {
+
+    public static final int DEFAULT_LIMIT = 100;
+    public static final int MAX_LIMIT = 500;
+
+    public PageRequest {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_LIMIT);
+        }
+        if (cursor != null && cursor.isBlank()) {
+            cursor = null;
+        }
+    }
+
+    /**
+     * Page request from optional query parameters, with the default limit when none is given
+     */
+    public static PageRequest of(Integer limit, String cursor) {
+        return new PageRequest(limit != null ? limit : DEFAULT_LIMIT, cursor);
+    }
+
+    /**
+     * First page of at most limit items
+     */
+    public static PageRequest first(int limit) {
+        return new PageRequest(limit, null);
+    }
+}
@@ -20,6 +20,10 @@ public class Purchase {
     private String guestName;
     private LocalDateTime purchaseDate;
     private String imgUrl;  // Document path in OpenKM
+    private Long documentSize;
+    private String documentMimeType;
+    private LocalDateTime documentUpdatedDate;
+    private String documentHash;  // SHA-256 of the document content
     private String validationStatus;  // DRAFT, UNDER_REVIEW, VALIDATED, REJECTED
     private LocalDateTime validatedDate;
     private Long validatedBy;
@@ -98,6 +102,28 @@ public class Purchase {
         this.imgUrl = url;
     }
 
+    /**
+     * Attach a stored document with its metadata
+     */
+    public void attachDocument(DocumentMetadata document) {
+        setDocumentUrl(document.path());
+        this.documentSize = document.size();
+        this.documentMimeType = document.mimeType();
+        this.documentHash = document.hash();
+        this.documentUpdatedDate = LocalDateTime.now();
+    }
+
+    /**
+     * Detach the document and its metadata
+     */
+    public void clearDocument() {
+        this.imgUrl = null;
+        this.documentSize = null;
+        this.documentMimeType = null;
+        this.documentHash = null;
+        this.documentUpdatedDate = null;
+    }
+
     /**
      * Check if purchase has a document attached
      */
@@ -195,6 +221,38 @@ public class Purchase {
         this.imgUrl = imgUrl;
     }
 
+    public Long getDocumentSize() {
+        return documentSize;
+    }
+
+    public void setDocumentSize(Long documentSize) {
+        this.documentSize = documentSize;
+    }
+
+    public String getDocumentMimeType() {
+        return documentMimeType;
+    }
+
+    public void setDocumentMimeType(String documentMimeType) {
+        this.documentMimeType = documentMimeType;
+    }
+
+    public LocalDateTime getDocumentUpdatedDate() {
+        return documentUpdatedDate;
+    }
+
+    public void setDocumentUpdatedDate(LocalDateTime documentUpdatedDate) {
+        this.documentUpdatedDate = documentUpdatedDate;
+    }
+
+    public String getDocumentHash() {
+        return documentHash;
+    }
+
+    public void setDocumentHash(String documentHash) {
+        this.documentHash = documentHash;
+    }
+
     public String getValidationStatus() {
         return validationStatus;
     }
@@ -0,0 +1,14 @@
+package com.datum.domain.model;
+
+/**
+ * Read-only view of the document attached to a purchase
+ * Selected straight from the database like PurchaseSummary, for handing out access to
+ * documents without loading the rest of the purchase.
+ */
+public record PurchaseDocumentSummary(
+        Long idPurchase,
+        String imgUrl,
+        String documentMimeType,
+        Long documentSize,
+        String documentHash) {
+}
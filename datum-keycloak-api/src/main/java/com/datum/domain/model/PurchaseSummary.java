@@ -0,0 +1,35 @@
+package com.datum.domain.model;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Read-only view of a purchase for listings
+ * Selected straight from the database (JPQL constructor expression), so listing rows are
+ * never loaded as managed entities nor copied through the Purchase domain object.
+ */
+public record PurchaseSummary(
+        Long idPurchase,
+        Long idUser,
+        Long idFolder,
+        Long idPType,
+        Long idPaymentMethod,
+        Long idCostCenter,
+        BigDecimal totalAmount,
+        String description,
+        String guestName,
+        LocalDateTime purchaseDate,
+        String imgUrl,
+        Long documentSize,
+        String documentMimeType,
+        String documentHash,
+        String validationStatus,
+        LocalDateTime validatedDate,
+        Long validatedBy,
+        String validationNotes,
+        LocalDateTime createdDate) {
+
+    public boolean hasDocument() {
+        return imgUrl != null && !imgUrl.trim().isEmpty();
+    }
+}
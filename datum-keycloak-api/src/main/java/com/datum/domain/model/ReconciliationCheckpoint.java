@@ -0,0 +1,88 @@
+package com.datum.domain.model;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+
+/**
+ * Domain model for the progress of the document reconciliation job
+ * Remembers the last month reconciled plus the figures of that run.
+ */
+public class ReconciliationCheckpoint {
+
+    private String jobName;
+    private YearMonth lastMonth;
+    private LocalDateTime lastRunAt;
+    private int storedCount;       // documents found in the store
+    private int referencedCount;   // distinct IMG_URL values under the month
+    private int orphanCount;       // stored, not referenced
+    private int orphansDeleted;
+    private int missingCount;      // referenced, not stored
+
+    public ReconciliationCheckpoint() {
+    }
+
+    // Getters and Setters
+    public String getJobName() {
+        return jobName;
+    }
+
+    public void setJobName(String jobName) {
+        this.jobName = jobName;
+    }
+
+    public YearMonth getLastMonth() {
+        return lastMonth;
+    }
+
+    public void setLastMonth(YearMonth lastMonth) {
+        this.lastMonth = lastMonth;
+    }
+
+    public LocalDateTime getLastRunAt() {
+        return lastRunAt;
+    }
+
+    public void setLastRunAt(LocalDateTime lastRunAt) {
+        this.lastRunAt = lastRunAt;
+    }
+
+    public int getStoredCount() {
+        return storedCount;
+    }
+
+    public void setStoredCount(int storedCount) {
+        this.storedCount = storedCount;
+    }
+
+    public int getReferencedCount() {
+        return referencedCount;
+    }
+
+    public void setReferencedCount(int referencedCount) {
+        this.referencedCount = referencedCount;
+    }
+
+    public int getOrphanCount() {
+        return orphanCount;
+    }
+
+    public void setOrphanCount(int orphanCount) {
+        this.orphanCount = orphanCount;
+    }
+
+    public int getOrphansDeleted() {
+        return orphansDeleted;
+    }
+
+    public void setOrphansDeleted(int orphansDeleted) {
+        this.orphansDeleted = orphansDeleted;
+    }
+
+    public int getMissingCount() {
+        return missingCount;
+    }
+
+    public void setMissingCount(int missingCount) {
+        this.missingCount = missingCount;
+    }
+}
@@ -0,0 +1,113 @@
+package com.datum.domain.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * Domain model for a resumable (chunked) document upload session
+ * The client sends the document in chunks at increasing offsets; once
+ * offset reaches length the upload can be finalized.
+ */
+public class ResumableUpload {
+
+    private String id;
+    private Long purchaseId;
+    private String fileName;
+    private String mimeType;
+    private long length;
+    private long offset;
+    private String contentHash;  // SHA-256, known once all bytes are received
+    private LocalDateTime createdDate;
+    private LocalDateTime expiresAt;
+
+    public ResumableUpload() {
+    }
+
+    // Business logic methods
+
+    /**
+     * Check if all bytes have been received
+     */
+    public boolean isComplete() {
+        return offset == length;
+    }
+
+    /**
+     * Check if the session has expired
+     */
+    public boolean isExpired(LocalDateTime now) {
+        return expiresAt != null && now.isAfter(expiresAt);
+    }
+
+    // Getters and Setters
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public Long getPurchaseId() {
+        return purchaseId;
+    }
+
+    public void setPurchaseId(Long purchaseId) {
+        this.purchaseId = purchaseId;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    public void setFileName(String fileName) {
+        this.fileName = fileName;
+    }
+
+    public String getMimeType() {
+        return mimeType;
+    }
+
+    public void setMimeType(String mimeType) {
+        this.mimeType = mimeType;
+    }
+
+    public long getLength() {
+        return length;
+    }
+
+    public void setLength(long length) {
+        this.length = length;
+    }
+
+    public long getOffset() {
+        return offset;
+    }
+
+    public void setOffset(long offset) {
+        this.offset = offset;
+    }
+
+    public String getContentHash() {
+        return contentHash;
+    }
+
+    public void setContentHash(String contentHash) {
+        this.contentHash = contentHash;
+    }
+
+    public LocalDateTime getCreatedDate() {
+        return createdDate;
+    }
+
+    public void setCreatedDate(LocalDateTime createdDate) {
+        this.createdDate = createdDate;
+    }
+
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(LocalDateTime expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+}
@@ -0,0 +1,12 @@
+package com.datum.domain.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * A document as listed by the document store
+ *
+ * @param path Store path (what IMG_URL holds)
+ * @param createdDate When the store created it, null if unknown
+ */
+public record StoredObject(String path, LocalDateTime createdDate) {
+}
@@ -0,0 +1,14 @@
+package com.datum.domain.model;
+
+/**
+ * Read-only view of a user for listings
+ * Selected straight from the database, see PurchaseSummary.
+ */
+public record UserSummary(
+        Long id,
+        String firstName,
+        String lastName,
+        String nickname,
+        String email,
+        String keycloakId) {
+}
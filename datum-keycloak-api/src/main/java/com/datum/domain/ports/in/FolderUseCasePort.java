@@ -1,16 +1,19 @@
 package com.datum.domain.ports.in;
 
 import com.datum.domain.model.Folder;
-import java.util.List;
+import com.datum.domain.model.FolderSummary;
+import com.datum.domain.model.Page;
+import com.datum.domain.model.PageRequest;
 
 public interface FolderUseCasePort {
     Folder createFolder(Folder folder);
     Folder getFolderById(Long id);
-    List<Folder> getAllFolders();
-    List<Folder> getFoldersByUserId(Long userId);
-    List<Folder> getFoldersUnderReview();
-    List<Folder> getFoldersUnderReviewByUserId(Long userId);
+    Page<FolderSummary> getAllFolders(PageRequest page);
+    Page<FolderSummary> getFoldersByUserId(Long userId, PageRequest page);
+    Page<FolderSummary> getFoldersUnderReview(PageRequest page);
+    Page<FolderSummary> getFoldersUnderReviewByUserId(Long userId, PageRequest page);
     Folder updateFolder(Long id, Folder folder);
     void deleteFolder(Long id);
     Folder updateFolderStatus(Folder folder);
+    int submitFolderForReview(Long folderId);
 }
\ No newline at end of file
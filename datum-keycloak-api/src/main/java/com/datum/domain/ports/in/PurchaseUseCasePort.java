@@ -1,8 +1,14 @@
 package com.datum.domain.ports.in;
 
+import com.datum.domain.model.DocumentMetadata;
+import com.datum.domain.model.Page;
+import com.datum.domain.model.PageRequest;
 import com.datum.domain.model.Purchase;
+import com.datum.domain.model.PurchaseDocumentSummary;
+import com.datum.domain.model.PurchaseSummary;
 
 import java.util.List;
+import java.util.Map;
 
 /**
  * Port for Purchase use cases (business operations)
@@ -15,20 +21,35 @@ public interface PurchaseUseCasePort {
      */
     Purchase createPurchase(Purchase purchase);
 
+    /**
+     * Create several purchases in a single transaction
+     */
+    List<Purchase> createPurchases(List<Purchase> purchases);
+
     /**
      * Get purchase by ID
      */
     Purchase getPurchaseById(Long id);
 
     /**
-     * Get all purchases by user
+     * Get a page of purchases by user, newest first
+     */
+    Page<PurchaseSummary> getPurchasesByUserId(Long userId, PageRequest page);
+
+    /**
+     * Get all purchases by folder (whole-folder operations such as exports)
      */
-    List<Purchase> getPurchasesByUserId(Long userId);
+    List<PurchaseSummary> getPurchasesByFolderId(Long folderId);
 
     /**
-     * Get all purchases by folder
+     * Get the documents attached to purchases of a folder
      */
-    List<Purchase> getPurchasesByFolderId(Long folderId);
+    List<PurchaseDocumentSummary> getDocumentsByFolderId(Long folderId);
+
+    /**
+     * Get a page of purchases by folder, newest first
+     */
+    Page<PurchaseSummary> getPurchasesByFolderId(Long folderId, PageRequest page);
 
     /**
      * Update purchase
@@ -41,9 +62,14 @@ public interface PurchaseUseCasePort {
     void deletePurchase(Long id);
 
     /**
-     * Attach document to purchase (update img_url)
+     * Attach document to purchase (update img_url and document metadata)
+     */
+    void attachDocument(Long purchaseId, DocumentMetadata document);
+
+    /**
+     * Attach documents to several purchases in a single transaction (purchaseId -> document)
      */
-    void attachDocument(Long purchaseId, String documentUrl);
+    void attachDocuments(Map<Long, DocumentMetadata> documents);
 
     /**
      * Remove document from purchase
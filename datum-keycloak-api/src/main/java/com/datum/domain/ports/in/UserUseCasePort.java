@@ -1,7 +1,9 @@
 package com.datum.domain.ports.in;
 
+import com.datum.domain.model.Page;
+import com.datum.domain.model.PageRequest;
 import com.datum.domain.model.User;
-import java.util.List;
+import com.datum.domain.model.UserSummary;
 import java.util.Optional;
 
 public interface UserUseCasePort {
@@ -13,7 +15,7 @@ public interface UserUseCasePort {
     
     Optional<User> getUserByNickname(String nickname);
     
-    List<User> getAllUsers();
+    Page<UserSummary> getAllUsers(PageRequest page);
     
     User updateUser(Long id, String firstName, String lastName, String nickname, String email);
     
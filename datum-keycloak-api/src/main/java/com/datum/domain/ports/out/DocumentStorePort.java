@@ -0,0 +1,66 @@
+package com.datum.domain.ports.out;
+
+import com.datum.domain.model.StoredObject;
+
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Port for purchase document storage
+ * Documents are addressed by a store-specific path, which is what gets persisted
+ * in the purchase (IMG_URL).
+ */
+public interface DocumentStorePort {
+
+    /**
+     * Path a document of a purchase is stored under
+     */
+    String documentPath(Long purchaseId, LocalDateTime purchaseDate, String fileName);
+
+    /**
+     * Store a local file as a purchase document
+     *
+     * @return Path of the stored document
+     */
+    String uploadDocument(Long purchaseId, LocalDateTime purchaseDate, String fileName, Path content);
+
+    /**
+     * Open a stored document; the caller must close the stream
+     */
+    InputStream downloadDocument(String docPath);
+
+    /**
+     * Open a stored document positioned at {@code offset}; the caller must close the stream
+     *
+     * @param size Total size of the document, lets the store decide whether caching it is worth it
+     */
+    InputStream downloadDocumentRange(String docPath, long offset, long size);
+
+    /**
+     * Delete a stored document
+     */
+    void deleteDocument(String docPath);
+
+    /**
+     * Local file holding the document, when the store keeps documents on this machine
+     * Lets callers send it with sendfile instead of copying through the heap.
+     */
+    default Optional<Path> localFile(String docPath) {
+        return Optional.empty();
+    }
+
+    /**
+     * Folder holding the documents of purchases made in a month
+     * Every document path of that month starts with it followed by "/".
+     */
+    String monthFolder(YearMonth month);
+
+    /**
+     * List every document stored under the folder of a month
+     */
+    List<StoredObject> listDocuments(YearMonth month);
+}
@@ -0,0 +1,59 @@
+package com.datum.domain.ports.out;
+
+import com.datum.domain.model.DocumentUpload;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Port for the document upload outbox
+ * Defines the contract for persisting pending OpenKM uploads
+ */
+public interface DocumentUploadRepositoryPort {
+
+    /**
+     * Save an upload (create or update)
+     */
+    DocumentUpload save(DocumentUpload upload);
+
+    /**
+     * Find upload by ID
+     */
+    Optional<DocumentUpload> findById(Long id);
+
+    /**
+     * Find IDs of PENDING uploads whose next attempt is due, oldest first
+     */
+    List<Long> findDueIds(LocalDateTime now, int limit);
+
+    /**
+     * Atomically move an upload from PENDING to IN_PROGRESS
+     * @return true if this caller won the claim
+     */
+    boolean claim(Long id, LocalDateTime lockedAt);
+
+    /**
+     * Return IN_PROGRESS uploads locked before the given time to PENDING
+     * (worker crashed or instance was stopped mid-transfer)
+     * @return Number of uploads released
+     */
+    int releaseStale(LocalDateTime lockedBefore);
+
+    /**
+     * Of the given staged files, find those an upload row still points at
+     */
+    List<String> findReferencedStagedFiles(List<String> stagedFiles);
+
+    /**
+     * Give up the PENDING uploads of a folder's purchases (the folder is being deleted)
+     * Locks the rows, so a worker can no longer claim them.
+     * @return Number of uploads cancelled
+     */
+    int cancelPendingByFolderId(Long folderId, String reason);
+
+    /**
+     * Count the uploads of a folder's purchases a worker is transferring right now
+     */
+    long countInProgressByFolderId(Long folderId);
+}
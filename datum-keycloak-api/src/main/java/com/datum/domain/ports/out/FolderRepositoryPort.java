@@ -2,16 +2,21 @@ package com.datum.domain.ports.out;
 
 import com.datum.domain.model.Folder;
 import com.datum.domain.model.FolderStatus;
-import java.util.List;
+import com.datum.domain.model.FolderSummary;
+import com.datum.domain.model.Page;
+import com.datum.domain.model.PageRequest;
 import java.util.Optional;
 
 public interface FolderRepositoryPort {
     Folder save(Folder folder);
     Optional<Folder> findById(Long id);
-    List<Folder> findAll();
-    List<Folder> findByUserId(Long userId);
-    List<Folder> findByStatus(FolderStatus status);
-    List<Folder> findByUserIdAndStatus(Long userId, FolderStatus status);
+    // Listings: read-only projections, keyset-paginated, newest folder (highest ID_FOLDER) first
+    Page<FolderSummary> findAll(PageRequest page);
+    Page<FolderSummary> findByUserId(Long userId, PageRequest page);
+    Page<FolderSummary> findByStatus(FolderStatus status, PageRequest page);
+    Page<FolderSummary> findByUserIdAndStatus(Long userId, FolderStatus status, PageRequest page);
+    // Conditional status change in one statement; false if the folder is missing or not in expected status
+    boolean updateStatus(Long id, FolderStatus expected, FolderStatus status);
     void deleteById(Long id);
     boolean existsById(Long id);
-}
\ No newline at end of file
+}
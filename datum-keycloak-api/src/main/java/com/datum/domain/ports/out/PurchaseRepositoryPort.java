@@ -1,8 +1,15 @@
 package com.datum.domain.ports.out;
 
+import com.datum.domain.model.Page;
+import com.datum.domain.model.PageRequest;
 import com.datum.domain.model.Purchase;
+import com.datum.domain.model.PurchaseDocumentSummary;
+import com.datum.domain.model.PurchaseSummary;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -22,19 +29,37 @@ public interface PurchaseRepositoryPort {
     Optional<Purchase> findById(Long id);
 
     /**
-     * Find all purchases by user ID
+     * Find several purchases by ID in as few queries as possible
+     * IDs that do not exist are missing from the result.
      */
-    List<Purchase> findByUserId(Long userId);
+    List<Purchase> findByIds(Collection<Long> ids);
 
     /**
-     * Find all purchases by folder ID
+     * Find a page of purchases by user ID, newest purchase date first
      */
-    List<Purchase> findByFolderId(Long folderId);
+    Page<PurchaseSummary> findByUserId(Long userId, PageRequest page);
 
     /**
-     * Find all purchases by validation status
+     * Find all purchases by folder ID, newest purchase date first
+     * For read-only operations on the whole folder (exports); listings use the paginated variant.
      */
-    List<Purchase> findByStatus(String status);
+    List<PurchaseSummary> findByFolderId(Long folderId);
+
+    /**
+     * Find the documents attached to purchases of a folder, newest purchase date first
+     * Purchases without a document are left out.
+     */
+    List<PurchaseDocumentSummary> findDocumentsByFolderId(Long folderId);
+
+    /**
+     * Find a page of purchases by folder ID, newest purchase date first
+     */
+    Page<PurchaseSummary> findByFolderId(Long folderId, PageRequest page);
+
+    /**
+     * Find a page of purchases by validation status, newest purchase date first
+     */
+    Page<PurchaseSummary> findByStatus(String status, PageRequest page);
 
     /**
      * Delete purchase by ID
@@ -47,7 +72,76 @@ public interface PurchaseRepositoryPort {
     boolean existsById(Long id);
 
     /**
-     * Find all purchases
+     * Find a page of all purchases, newest purchase date first
+     */
+    Page<PurchaseSummary> findAll(PageRequest page);
+
+    /**
+     * Find the stored path of a document of the user with the given content hash
+     */
+    Optional<String> findDocumentPathByHash(Long userId, String hash);
+
+    /**
+     * Find IDs of the user's purchases whose document has the given content hash
+     */
+    List<Long> findIdsByDocumentHash(Long userId, String hash);
+
+    /**
+     * Lock the document references of a user until the transaction ends
+     * Serializes reusing and releasing stored documents, which are shared between a user's purchases.
+     */
+    void lockDocumentReferences(Long userId);
+
+    /**
+     * Count purchases referencing a stored document path
+     */
+    long countByDocumentPath(String path);
+
+    /**
+     * Find the distinct stored document paths of the purchases in a folder
+     */
+    List<String> findDocumentPathsByFolderId(Long folderId);
+
+    /**
+     * Delete all purchases of a folder in one statement
+     *
+     * @return Number of purchases deleted
+     */
+    int deleteByFolderId(Long folderId);
+
+    /**
+     * Of the given document paths, find those still referenced by some purchase
+     */
+    List<String> findReferencedDocumentPaths(List<String> paths);
+
+    /**
+     * Move every purchase of a folder in status fromStatus to toStatus, in one statement
+     *
+     * @return Number of purchases updated
+     */
+    int updateStatusByFolderId(Long folderId, String fromStatus, String toStatus);
+
+    /**
+     * Count the purchases of a folder
+     */
+    long countByFolderId(Long folderId);
+
+    /**
+     * Count the purchases of a folder per validation status, in one aggregate query
+     *
+     * @return Status -> count, only statuses that occur (empty for an empty folder)
+     */
+    Map<String, Long> countByStatusInFolder(Long folderId);
+
+    /**
+     * Find the distinct stored document paths under a folder of the document store
+     *
+     * @param folderPath Folder path without trailing slash
+     */
+    List<String> findDocumentPathsUnder(String folderPath);
+
+    /**
+     * Date of the oldest purchase, empty if there are none
      */
-    List<Purchase> findAll();
+    Optional<LocalDateTime> findEarliestPurchaseDate();
 }
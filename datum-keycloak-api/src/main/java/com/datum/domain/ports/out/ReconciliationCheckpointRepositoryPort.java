@@ -0,0 +1,21 @@
+package com.datum.domain.ports.out;
+
+import com.datum.domain.model.ReconciliationCheckpoint;
+
+import java.util.Optional;
+
+/**
+ * Port for persisting reconciliation job checkpoints
+ */
+public interface ReconciliationCheckpointRepositoryPort {
+
+    /**
+     * Find the checkpoint of a job
+     */
+    Optional<ReconciliationCheckpoint> findByJobName(String jobName);
+
+    /**
+     * Save a checkpoint (create or update)
+     */
+    ReconciliationCheckpoint save(ReconciliationCheckpoint checkpoint);
+}
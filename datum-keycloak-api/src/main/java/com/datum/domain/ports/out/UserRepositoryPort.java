@@ -1,7 +1,9 @@
 package com.datum.domain.ports.out;
 
+import com.datum.domain.model.Page;
+import com.datum.domain.model.PageRequest;
 import com.datum.domain.model.User;
-import java.util.List;
+import com.datum.domain.model.UserSummary;
 import java.util.Optional;
 
 public interface UserRepositoryPort {
@@ -16,7 +18,7 @@ public interface UserRepositoryPort {
 
     Optional<User> findByEmail(String email);
     
-    List<User> findAll();
+    Page<UserSummary> findAll(PageRequest page);  // Keyset-paginated by ID_USER
     
     void deleteById(Long id);
     
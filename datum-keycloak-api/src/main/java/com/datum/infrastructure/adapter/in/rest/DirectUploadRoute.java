@@ -0,0 +1,194 @@
+package com.datum.infrastructure.adapter.in.rest;
+
+import com.datum.application.dto.DocumentResponse;
+import com.datum.application.service.DirectUploadService;
+import com.datum.application.service.DirectUploadService.Target;
+import com.datum.application.service.DocumentInspector;
+import com.datum.application.service.DocumentInspector.Scan;
+import com.datum.application.service.DocumentInspector.TooLargeException;
+import com.datum.application.service.PurchaseDocumentService.StoredDocument;
+import com.datum.infrastructure.adapter.out.openkm.OpenKMService;
+import com.datum.infrastructure.adapter.out.openkm.OpenKMStreamingClient;
+import com.datum.infrastructure.config.DownstreamUnavailableMapper;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.quarkus.arc.properties.IfBuildProperty;
+import io.vertx.core.Vertx;
+import io.vertx.core.http.HttpHeaders;
+import io.vertx.core.http.HttpServerRequest;
+import io.vertx.ext.web.Router;
+import io.vertx.ext.web.RoutingContext;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.core.Response;
+
+/**
+ * Direct upload of a purchase document into OpenKM, without temp files
+ * PUT /api/purchases/{purchaseId}/document/stream?fileName=receipt.pdf
+ *
+ * Registered as a plain Vert.x route because JAX-RS resources only run once the body
+ * has been received: here the request body is piped into the OpenKM request while it
+ * arrives, with size, type and hash checked on the way (see DocumentInspector).
+ * Only available with the OpenKM document store.
+ */
+@ApplicationScoped
+@IfBuildProperty(name = "datum.document-store", stringValue = "openkm", enableIfMissing = true)
+public class DirectUploadRoute {
+
+    @Inject
+    Vertx vertx;
+
+    @Inject
+    DirectUploadService directUploadService;
+
+    @Inject
+    DocumentInspector documentInspector;
+
+    @Inject
+    OpenKMService openKMService;
+
+    @Inject
+    OpenKMStreamingClient streamingClient;
+
+    @Inject
+    ObjectMapper objectMapper;
+
+    void init(@Observes Router router) {
+        router.put("/api/purchases/:purchaseId/document/stream").handler(this::upload);
+    }
+
+    private void upload(RoutingContext ctx) {
+        HttpServerRequest request = ctx.request();
+        request.pause();
+
+        // 1. Validate parameters before touching anything
+        Long purchaseId;
+        try {
+            purchaseId = Long.valueOf(ctx.pathParam("purchaseId"));
+        } catch (NumberFormatException e) {
+            respond(ctx, Response.Status.BAD_REQUEST.getStatusCode(), new ErrorResponse("Invalid purchase ID"));
+            return;
+        }
+
+        String fileName = request.getParam("fileName");
+        if (fileName == null || fileName.isBlank() || !PurchaseDocumentResource.VALID_FILE_NAME.matcher(fileName).matches()) {
+            respond(ctx, Response.Status.BAD_REQUEST.getStatusCode(), new ErrorResponse("fileName query parameter is required"));
+            return;
+        }
+
+        Long contentLength = null;
+        String lengthHeader = request.getHeader(HttpHeaders.CONTENT_LENGTH);
+        if (lengthHeader != null) {
+            try {
+                contentLength = Long.valueOf(lengthHeader);
+            } catch (NumberFormatException e) {
+                respond(ctx, Response.Status.BAD_REQUEST.getStatusCode(), new ErrorResponse("Invalid Content-Length"));
+                return;
+            }
+            if (contentLength > PurchaseDocumentResource.MAX_FILE_SIZE) {
+                respond(ctx, Response.Status.REQUEST_ENTITY_TOO_LARGE.getStatusCode(),
+                    new ErrorResponse(new TooLargeException(PurchaseDocumentResource.MAX_FILE_SIZE).getMessage()));
+                return;
+            }
+        }
+        Long declaredLength = contentLength;
+
+        // 2. Purchase checks and OpenKM folders (blocking), then stream on the event loop
+        vertx.executeBlocking(() -> {
+            Target target = directUploadService.prepare(purchaseId, fileName);
+            String docPath = openKMService.prepareUpload(purchaseId, target.purchase().getPurchaseDate(), target.fileName());
+            return new PreparedUpload(target, docPath);
+        }, false).onFailure(e -> fail(ctx, e)).onSuccess(prepared -> {
+            Scan scan = documentInspector.scan(PurchaseDocumentResource.MAX_FILE_SIZE);
+
+            streamingClient.upload(prepared.docPath(), prepared.target().fileName(), request, declaredLength,
+                    buffer -> scan.update(buffer.getBytes(), 0, buffer.length()))
+                .onFailure(e -> {
+                    if (!(e instanceof IllegalArgumentException)) {
+                        openKMService.uploadFailed(prepared.docPath());
+                    }
+                    fail(ctx, e);
+                })
+                // 3. Attach to the purchase once OpenKM has the document (blocking again)
+                .onSuccess(v -> vertx.executeBlocking(() -> directUploadService.complete(prepared.target(), prepared.docPath(), scan), false)
+                    .onFailure(e -> {
+                        // OpenKM has the bytes but no purchase points at them
+                        discard(prepared);
+                        fail(ctx, e);
+                    })
+                    .onSuccess(stored -> respond(ctx, Response.Status.CREATED.getStatusCode(), toResponse(purchaseId, prepared, stored))));
+        });
+    }
+
+    private void discard(PreparedUpload prepared) {
+        vertx.executeBlocking(() -> {
+            directUploadService.discard(prepared.target(), prepared.docPath());
+            return null;
+        }, false).onFailure(e -> System.err.println("Could not delete orphaned upload " + prepared.docPath() + ": " + e.getMessage()));
+    }
+
+    private record PreparedUpload(Target target, String docPath) {
+    }
+
+    private DocumentResponse toResponse(Long purchaseId, PreparedUpload prepared, StoredDocument stored) {
+        return DocumentResponse.success(
+                purchaseId,
+                prepared.target().fileName(),
+                stored.metadata().mimeType(),
+                stored.metadata().size(),
+                stored.metadata().path(),
+                "Document uploaded successfully")
+                .withContent(stored.metadata().hash(), stored.reused(), stored.duplicatePurchaseIds());
+    }
+
+    // Same status mapping as the JAX-RS upload endpoints
+    private void fail(RoutingContext ctx, Throwable e) {
+        if (e instanceof TooLargeException) {
+            respond(ctx, Response.Status.REQUEST_ENTITY_TOO_LARGE.getStatusCode(), new ErrorResponse(e.getMessage()));
+        } else if (e instanceof IllegalArgumentException && e.getMessage() != null && e.getMessage().startsWith("Purchase not found")) {
+            respond(ctx, Response.Status.NOT_FOUND.getStatusCode(), new ErrorResponse(e.getMessage()));
+        } else if (e instanceof IllegalArgumentException) {
+            respond(ctx, Response.Status.BAD_REQUEST.getStatusCode(), new ErrorResponse(e.getMessage()));
+        } else if (e instanceof IllegalStateException) {
+            respond(ctx, Response.Status.FORBIDDEN.getStatusCode(), new ErrorResponse(e.getMessage()));
+        } else {
+            Response unavailable = DownstreamUnavailableMapper.fromCause(e);
+            if (unavailable != null) {
+                ctx.response().putHeader("Retry-After", unavailable.getHeaderString("Retry-After"));
+                respond(ctx, unavailable.getStatus(), unavailable.getEntity());
+                return;
+            }
+            System.err.println("Direct upload failed: " + e.getMessage());
+            respond(ctx, Response.Status.INTERNAL_SERVER_ERROR.getStatusCode(), new ErrorResponse("Error uploading document: " + e.getMessage()));
+        }
+    }
+
+    private void respond(RoutingContext ctx, int status, Object entity) {
+        if (ctx.response().ended()) {
+            return;
+        }
+        String body;
+        try {
+            body = objectMapper.writeValueAsString(entity);
+        } catch (JsonProcessingException e) {
+            body = "{}";
+        }
+        // The rest of a rejected body is not read, so the connection can't be reused
+        if (status >= 400) {
+            ctx.response().putHeader(HttpHeaders.CONNECTION, "close");
+        }
+        ctx.response()
+            .setStatusCode(status)
+            .putHeader(HttpHeaders.CONTENT_TYPE, "application/json")
+            .end(body);
+    }
+
+    public static class ErrorResponse {
+        public String error;
+
+        public ErrorResponse(String error) {
+            this.error = error;
+        }
+    }
+}
@@ -3,17 +3,30 @@ package com.datum.infrastructure.adapter.in.rest;
 import com.datum.application.dto.FolderResponse;
 import com.datum.application.dto.PurchaseResponse;
 import com.datum.application.dto.RejectFolderRequest;
+import com.datum.application.dto.SignedDocumentUrlResponse;
+import com.datum.application.service.DocumentUrlSigner;
+import com.datum.application.service.FolderDocumentExportService;
 import com.datum.application.service.FolderService;
 import com.datum.application.service.PurchaseService;
 import com.datum.domain.model.Folder;
+import com.datum.domain.model.FolderSummary;
+import com.datum.domain.model.Page;
+import com.datum.domain.model.PageRequest;
+import com.datum.domain.model.PurchaseDocumentSummary;
+import com.datum.domain.model.PurchaseSummary;
 import com.datum.domain.ports.in.FolderUseCasePort;
+import com.datum.infrastructure.config.ReadReplica;
 import io.quarkus.security.identity.SecurityIdentity;
 import jakarta.annotation.security.RolesAllowed;
 import jakarta.inject.Inject;
 import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.Context;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.StreamingOutput;
+import jakarta.ws.rs.core.UriInfo;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -31,6 +44,12 @@ public class FolderReviewResource {
     @Inject
     PurchaseService purchaseService;
 
+    @Inject
+    FolderDocumentExportService folderDocumentExportService;
+
+    @Inject
+    DocumentUrlSigner documentUrlSigner;
+
     @Inject
     SecurityIdentity securityIdentity;
 
@@ -39,44 +58,61 @@ public class FolderReviewResource {
      * GET /api/folders/review
      * Optional query parameter: userId (filter by specific user)
      * Example: GET /api/folders/review?userId=123
+     * Keyset-paginated (?limit=&cursor=), newest first; see PageLinks for the next-page headers.
      */
     @GET
     @Path("/review")
     @RolesAllowed({"administrator", "finance"})
-    public Response getFoldersUnderReview(@QueryParam("userId") Long userId) {
-        List<FolderResponse> folders;
+    @ReadReplica("folder-review")
+    public Response getFoldersUnderReview(
+        @QueryParam("userId") Long userId,
+        @QueryParam("limit") Integer limit,
+        @QueryParam("cursor") String cursor,
+        @Context UriInfo uriInfo
+    ) {
+        try {
+            PageRequest pageRequest = PageRequest.of(limit, cursor);
+            Page<FolderSummary> page = userId != null
+                ? folderService.getFoldersUnderReviewByUserId(userId, pageRequest) // Filter by specific user
+                : folderService.getFoldersUnderReview(pageRequest);               // All folders under review
 
-        if (userId != null) {
-            // Filter by specific user
-            folders = folderService.getFoldersUnderReviewByUserId(userId).stream()
-                .map(this::toResponse)
-                .collect(Collectors.toList());
-        } else {
-            // Get all folders under review
-            folders = folderService.getFoldersUnderReview().stream()
-                .map(this::toResponse)
+            List<FolderResponse> folders = page.items().stream()
+                .map(FolderResponse::fromSummary)
                 .collect(Collectors.toList());
-        }
 
-        return Response.ok(folders).build();
+            return PageLinks.ok(folders, page, uriInfo).build();
+
+        } catch (IllegalArgumentException e) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                .entity(new ErrorResponse(e.getMessage()))
+                .build();
+        }
     }
 
     /**
      * Get all purchases from a specific folder
      * GET /api/folders/{folderId}/purchases
      * Accessible by: employee, finance, administrator
+     * Keyset-paginated (?limit=&cursor=), newest purchase date first; see PageLinks for the next-page headers.
      */
     @GET
     @Path("/{folderId}/purchases")
     @RolesAllowed({"employee", "finance", "administrator"})
-    public Response getPurchasesByFolder(@PathParam("folderId") Long folderId) {
+    @ReadReplica("folder-purchases")
+    public Response getPurchasesByFolder(
+        @PathParam("folderId") Long folderId,
+        @QueryParam("limit") Integer limit,
+        @QueryParam("cursor") String cursor,
+        @Context UriInfo uriInfo
+    ) {
         try {
-            // Get all purchases for the folder
-            List<PurchaseResponse> purchases = purchaseService.getPurchasesByFolderId(folderId).stream()
-                .map(PurchaseResponse::fromDomain)
+            // Get one page of purchases for the folder
+            Page<PurchaseSummary> page = purchaseService.getPurchasesByFolderId(folderId, PageRequest.of(limit, cursor));
+            List<PurchaseResponse> purchases = page.items().stream()
+                .map(PurchaseResponse::fromSummary)
                 .collect(Collectors.toList());
 
-            return Response.ok(purchases).build();
+            return PageLinks.ok(purchases, page, uriInfo).build();
 
         } catch (IllegalArgumentException e) {
             return Response.status(Response.Status.BAD_REQUEST)
@@ -89,6 +125,79 @@ public class FolderReviewResource {
         }
     }
 
+    /**
+     * Issue short-lived signed URLs for every document in a folder
+     * GET /api/folders/{folderId}/document-urls
+     * One authenticated call per gallery; the images themselves are then fetched from the
+     * signed URLs without authentication or database access.
+     * Accessible by: employee, finance, administrator
+     */
+    @GET
+    @Path("/{folderId}/document-urls")
+    @RolesAllowed({"employee", "finance", "administrator"})
+    @ReadReplica("folder-document-urls")
+    public Response getDocumentUrls(@PathParam("folderId") Long folderId) {
+        try {
+            List<SignedDocumentUrlResponse> urls = new ArrayList<>();
+            for (PurchaseDocumentSummary document : purchaseService.getDocumentsByFolderId(folderId)) {
+                DocumentUrlSigner.Grant grant = documentUrlSigner.grant(document);
+                urls.add(new SignedDocumentUrlResponse(
+                    document.idPurchase(),
+                    DocumentUrlSigner.URL_PREFIX + documentUrlSigner.sign(grant),
+                    grant.expiresAt().toString()));
+            }
+
+            return Response.ok(urls).header("Cache-Control", "no-store").build();
+
+        } catch (IllegalArgumentException e) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                .entity(new ErrorResponse(e.getMessage()))
+                .build();
+        } catch (Exception e) {
+            return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
+                .entity(new ErrorResponse("Error signing document URLs: " + e.getMessage()))
+                .build();
+        }
+    }
+
+    /**
+     * Download all documents of a folder as a ZIP archive, with a CSV manifest
+     * GET /api/folders/{folderId}/documents.zip
+     * The archive is streamed while it is built, nothing is buffered on the server.
+     */
+    @GET
+    @Path("/{folderId}/documents.zip")
+    @Produces({ "application/zip", MediaType.APPLICATION_JSON })
+    @RolesAllowed({"employee", "finance", "administrator"})
+    @ReadReplica("folder-documents-zip")
+    public Response downloadFolderDocuments(@PathParam("folderId") Long folderId) {
+        try {
+            // 1. Validate folder and load its purchases before the response is committed
+            Folder folder = folderService.getFolderById(folderId);
+            List<PurchaseSummary> purchases = purchaseService.getPurchasesByFolderId(folderId);
+
+            // 2. Stream the archive
+            StreamingOutput body = output -> folderDocumentExportService.writeZip(purchases, output);
+
+            String fileName = "folder-" + folder.getId() + "-documents.zip";
+            return Response.ok(body)
+                .type("application/zip")
+                .header("Content-Disposition", "attachment; filename=\"" + fileName + "\"")
+                .build();
+
+        } catch (IllegalArgumentException e) {
+            return Response.status(Response.Status.NOT_FOUND)
+                .type(MediaType.APPLICATION_JSON)
+                .entity(new ErrorResponse("Folder not found: " + e.getMessage()))
+                .build();
+        } catch (Exception e) {
+            return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
+                .type(MediaType.APPLICATION_JSON)
+                .entity(new ErrorResponse("Error exporting documents: " + e.getMessage()))
+                .build();
+        }
+    }
+
     // Conversion: Domain → Response
     private FolderResponse toResponse(Folder folder) {
         FolderResponse response = new FolderResponse();
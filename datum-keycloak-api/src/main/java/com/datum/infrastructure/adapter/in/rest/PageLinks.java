@@ -0,0 +1,31 @@
+package com.datum.infrastructure.adapter.in.rest;
+
+import com.datum.domain.model.Page;
+import jakarta.ws.rs.core.Link;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.UriInfo;
+
+/**
+ * Response for one page of a keyset-paginated listing
+ * The body stays a plain JSON array, as before pagination. The cursor of the next page is
+ * sent in X-Next-Cursor and as a Link header (rel="next"); both are absent on the last page.
+ * Clients pass it back as ?cursor=..., with ?limit=... to choose the page size.
+ */
+final class PageLinks {
+
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    private PageLinks() {
+    }
+
+    static Response.ResponseBuilder ok(Object items, Page<?> page, UriInfo uriInfo) {
+        Response.ResponseBuilder builder = Response.ok(items);
+        if (page.hasNext()) {
+            builder.header(NEXT_CURSOR_HEADER, page.nextCursor())
+                .links(Link.fromUriBuilder(uriInfo.getRequestUriBuilder().replaceQueryParam("cursor", page.nextCursor()))
+                    .rel("next")
+                    .build());
+        }
+        return builder;
+    }
+}
@@ -1,26 +1,52 @@
 package com.datum.infrastructure.adapter.in.rest;
 
 import com.datum.application.dto.DocumentResponse;
+import com.datum.application.dto.DocumentUploadResponse;
+import com.datum.application.dto.SignedDocumentUrlResponse;
+import com.datum.application.service.DocumentInspector;
+import com.datum.application.service.DocumentInspector.Inspection;
+import com.datum.application.service.DocumentInspector.TooLargeException;
+import com.datum.application.service.DocumentUploadService;
+import com.datum.application.service.DocumentUrlSigner;
+import com.datum.application.service.PurchaseDocumentService;
+import com.datum.application.service.PurchaseDocumentService.StoredDocument;
 import com.datum.application.service.PurchaseService;
+import com.datum.application.service.ThumbnailService;
+import com.datum.domain.model.DocumentUpload;
 import com.datum.domain.model.Purchase;
-import com.datum.infrastructure.adapter.out.openkm.OpenKMService;
+import com.datum.domain.ports.out.DocumentStorePort;
+import com.datum.infrastructure.config.DownstreamUnavailableMapper;
 
 import jakarta.annotation.security.PermitAll;
 import jakarta.annotation.security.RolesAllowed;
 import jakarta.inject.Inject;
 import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.EntityTag;
 import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Request;
 import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.StreamingOutput;
+import org.jboss.resteasy.reactive.PathPart;
 import org.jboss.resteasy.reactive.RestForm;
 import org.jboss.resteasy.reactive.multipart.FileUpload;
 
-import java.io.File;
-import java.util.Arrays;
-import java.util.List;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.HexFormat;
+import java.util.regex.Pattern;
 
 /**
  * REST Resource for managing documents attached to purchases
- * Handles upload, download, and deletion of purchase documents via OpenKM
+ * Handles upload, download, and deletion of purchase documents via the document store
  */
 @Path("/api/purchases")
 @Produces(MediaType.APPLICATION_JSON)
@@ -31,22 +57,34 @@ public class PurchaseDocumentResource {
     PurchaseService purchaseService;
 
     @Inject
-    OpenKMService openKMService;
+    DocumentStorePort documentStore;
 
-    // Allowed MIME types: images and PDFs
-    private static final List<String> ALLOWED_MIME_TYPES = Arrays.asList(
-            "image/jpeg",
-            "image/jpg",
-            "image/png",
-            "image/heic",
-            "application/pdf");
+    @Inject
+    DocumentUploadService documentUploadService;
+
+    @Inject
+    ThumbnailService thumbnailService;
+
+    @Inject
+    PurchaseDocumentService purchaseDocumentService;
+
+    @Inject
+    DocumentInspector documentInspector;
+
+    @Inject
+    DocumentUrlSigner documentUrlSigner;
+
+    // File names given as a parameter end up in OpenKM paths and Content-Disposition headers
+    static final Pattern VALID_FILE_NAME = Pattern.compile("[^/\\\\\"\\r\\n]+");
 
     // Max file size: 10MB
-    private static final long MAX_FILE_SIZE = 10 * 1024 * 1024;
+    static final long MAX_FILE_SIZE = 10 * 1024 * 1024;
 
     /**
      * Create purchase and upload document in a single request
      * POST /api/purchases/document
+     * With ?async=true the purchase is stored together with a pending upload and
+     * 202 Accepted is returned right away; the OpenKM transfer happens in the background.
      */
     @POST
     @Path("/document")
@@ -64,7 +102,8 @@ public class PurchaseDocumentResource {
             @RestForm("description") String description,
             @RestForm("guestName") String guestName,
             @RestForm("purchaseDate") String purchaseDateStr,
-            @RestForm("file") FileUpload file) {
+            @RestForm("file") FileUpload file,
+            @QueryParam("async") @DefaultValue("false") boolean async) {
         try {
             // 1. Validate required fields
             if (idUser == null || idFolder == null || totalAmountStr == null || purchaseDateStr == null) {
@@ -90,21 +129,20 @@ public class PurchaseDocumentResource {
                         .build();
             }
 
-            // 4. Validate file size
-            File uploadedFile = file.uploadedFile().toFile();
-            if (uploadedFile.length() > MAX_FILE_SIZE) {
-                return Response.status(Response.Status.BAD_REQUEST)
-                        .entity(new ErrorResponse("File size exceeds 10MB limit"))
+            // 4-5. Validate size and real file type (images or PDF only), hashing in the same read
+            Inspection inspection;
+            try {
+                inspection = documentInspector.inspect(file.uploadedFile(), MAX_FILE_SIZE);
+            } catch (TooLargeException e) {
+                return Response.status(Response.Status.REQUEST_ENTITY_TOO_LARGE)
+                        .entity(new ErrorResponse(e.getMessage()))
                         .build();
-            }
-
-            // 5. Validate file type (images or PDF only)
-            String mimeType = file.contentType();
-            if (mimeType == null || !ALLOWED_MIME_TYPES.contains(mimeType.toLowerCase())) {
+            } catch (IllegalArgumentException e) {
                 return Response.status(Response.Status.BAD_REQUEST)
-                        .entity(new ErrorResponse("Only images (JPG, PNG, HEIC) and PDF files are allowed. Got: " + mimeType))
+                        .entity(new ErrorResponse(e.getMessage() + ". Got: " + file.contentType()))
                         .build();
             }
+            String mimeType = inspection.mimeType();
 
             // 6. Parse purchase date (only date, time will be current moment)
             java.time.LocalDateTime purchaseDate;
@@ -139,28 +177,45 @@ public class PurchaseDocumentResource {
                 purchase.setIdCostCenter(null);
             }
 
+            // 7b. Async mode: persist purchase + outbox row, the worker uploads to OpenKM
+            if (async) {
+                DocumentUpload upload = documentUploadService.enqueue(purchase, file.fileName(), mimeType, file.uploadedFile());
+                String statusUrl = "/api/purchases/uploads/" + upload.getId();
+
+                DocumentUploadResponse response = DocumentUploadResponse.fromDomain(upload, statusUrl);
+                response.message = "Purchase created, document queued for upload";
+
+                return Response.status(Response.Status.ACCEPTED)
+                        .location(URI.create(statusUrl))
+                        .entity(response)
+                        .build();
+            }
+
             System.out.println("Creating purchase: " + purchase);
             Purchase savedPurchase = purchaseService.createPurchase(purchase);
             Long generatedId = savedPurchase.getIdPurchase();
             System.out.println("Purchase created with ID: " + generatedId);
 
-            // 8. Upload document to OpenKM
+            // 8. Upload document to OpenKM (or reuse an identical stored one)
             String fileName = file.fileName();
             System.out.println("Uploading document: " + fileName + " to OpenKM...");
-            String openkmPath = openKMService.uploadDocument(generatedId, purchaseDate, fileName, file);
-            System.out.println("Document uploaded to: " + openkmPath);
+            StoredDocument stored = purchaseDocumentService.store(
+                    savedPurchase, fileName, mimeType, file.uploadedFile(), inspection.hash());
+            String openkmPath = stored.metadata().path();
+            System.out.println("Document stored at: " + openkmPath);
 
             // 9. Update purchase with document path
-            purchaseService.attachDocument(generatedId, openkmPath);
+            purchaseService.attachDocument(generatedId, stored.metadata());
 
             // 10. Return success response
             DocumentResponse response = DocumentResponse.success(
                     generatedId,
                     fileName,
                     mimeType,
-                    uploadedFile.length(),
+                    inspection.size(),
                     openkmPath,
-                    "Purchase created and document uploaded successfully");
+                    "Purchase created and document uploaded successfully")
+                    .withContent(stored.metadata().hash(), stored.reused(), stored.duplicatePurchaseIds());
 
             return Response.status(Response.Status.CREATED).entity(response).build();
 
@@ -177,6 +232,25 @@ public class PurchaseDocumentResource {
         }
     }
 
+    /**
+     * Get the status of an asynchronous document upload
+     * GET /api/purchases/uploads/{uploadId}
+     */
+    @GET
+    @Path("/uploads/{uploadId}")
+    @PermitAll
+    //@RolesAllowed({ "employee", "administrator" })
+    public Response getUploadStatus(@PathParam("uploadId") Long uploadId) {
+        try {
+            DocumentUpload upload = documentUploadService.getUpload(uploadId);
+            return Response.ok(DocumentUploadResponse.fromDomain(upload, "/api/purchases/uploads/" + uploadId)).build();
+        } catch (IllegalArgumentException e) {
+            return Response.status(Response.Status.NOT_FOUND)
+                    .entity(new ErrorResponse(e.getMessage()))
+                    .build();
+        }
+    }
+
     /**
      * Upload a document (image or PDF) for an existing purchase
      * POST /api/purchases/{purchaseId}/document
@@ -200,47 +274,41 @@ public class PurchaseDocumentResource {
                         .build();
             }
 
-            // 3. Validate file size
-            File uploadedFile = file.uploadedFile().toFile();
-            if (uploadedFile.length() > MAX_FILE_SIZE) {
-                return Response.status(Response.Status.BAD_REQUEST)
-                        .entity(new ErrorResponse("File size exceeds 10MB limit"))
+            // 3-4. Validate size and real file type (images or PDF only), hashing in the same read
+            Inspection inspection;
+            try {
+                inspection = documentInspector.inspect(file.uploadedFile(), MAX_FILE_SIZE);
+            } catch (TooLargeException e) {
+                return Response.status(Response.Status.REQUEST_ENTITY_TOO_LARGE)
+                        .entity(new ErrorResponse(e.getMessage()))
                         .build();
-            }
-
-            // 4. Validate file type (images or PDF only)
-            String mimeType = file.contentType();
-            if (!ALLOWED_MIME_TYPES.contains(mimeType.toLowerCase())) {
+            } catch (IllegalArgumentException e) {
                 return Response.status(Response.Status.BAD_REQUEST)
-                        .entity(new ErrorResponse("Only images (JPG, PNG, HEIC) and PDF files are allowed"))
+                        .entity(new ErrorResponse(e.getMessage()))
                         .build();
             }
+            String mimeType = inspection.mimeType();
 
-            // 5. Delete old document if exists
-            if (purchase.hasDocument()) {
-                try {
-                    openKMService.deleteDocument(purchase.getImgUrl());
-                } catch (Exception e) {
-                    // Log but continue - old document might already be deleted
-                    System.err.println("Warning: Could not delete old document: " + e.getMessage());
-                }
+            // 5. Check the purchase can still be modified before touching OpenKM
+            if (!purchase.canEdit()) {
+                throw new IllegalStateException("Cannot modify document for non-DRAFT purchase");
             }
 
-            // 6. Upload document to OpenKM
+            // 6. Upload (or reuse identical content), attach, and release the old document
             String fileName = file.fileName();
-            String openkmPath = openKMService.uploadDocument(purchaseId, purchase.getPurchaseDate(), fileName, file);
-
-            // 7. Update purchase with document path
-            purchaseService.attachDocument(purchaseId, openkmPath);
+            StoredDocument stored = purchaseDocumentService.replaceDocument(
+                    purchase, fileName, mimeType, file.uploadedFile(), inspection.hash());
+            String openkmPath = stored.metadata().path();
 
-            // 8. Return success response
+            // 7. Return success response
             DocumentResponse response = DocumentResponse.success(
                     purchaseId,
                     fileName,
                     mimeType,
-                    uploadedFile.length(),
+                    inspection.size(),
                     openkmPath,
-                    "Document uploaded successfully");
+                    "Document uploaded successfully")
+                    .withContent(stored.metadata().hash(), stored.reused(), stored.duplicatePurchaseIds());
 
             return Response.status(Response.Status.CREATED).entity(response).build();
 
@@ -253,22 +321,135 @@ public class PurchaseDocumentResource {
                     .entity(new ErrorResponse(e.getMessage()))
                     .build();
         } catch (Exception e) {
+            Response unavailable = DownstreamUnavailableMapper.fromCause(e);
+            if (unavailable != null) {
+                return unavailable;
+            }
             return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
                     .entity(new ErrorResponse("Error uploading document: " + e.getMessage()))
                     .build();
         }
     }
 
+    /**
+     * Upload a document for an existing purchase as the raw request body
+     * PUT /api/purchases/{purchaseId}/document?fileName=receipt.pdf
+     * The body is size-checked, type-checked and hashed while it is written to disk, in
+     * one pass; an oversized body is cut off as soon as the cap is passed.
+     */
+    @PUT
+    @Path("/{purchaseId}/document")
+    @Consumes(MediaType.APPLICATION_OCTET_STREAM)
+    @PermitAll
+    //@RolesAllowed({ "employee", "administrator" })
+    public Response putDocument(
+            @PathParam("purchaseId") Long purchaseId,
+            @QueryParam("fileName") String fileName,
+            @HeaderParam("Content-Length") Long contentLength,
+            InputStream body) {
+        java.nio.file.Path received = null;
+        try {
+            // 1. Validate purchase exists and can still be modified
+            Purchase purchase;
+            try {
+                purchase = purchaseService.getPurchaseById(purchaseId);
+            } catch (IllegalArgumentException e) {
+                return Response.status(Response.Status.NOT_FOUND)
+                        .entity(new ErrorResponse("Purchase not found: " + e.getMessage()))
+                        .build();
+            }
+            if (!purchase.canEdit()) {
+                throw new IllegalStateException("Cannot modify document for non-DRAFT purchase");
+            }
+
+            if (fileName == null || fileName.isBlank() || !VALID_FILE_NAME.matcher(fileName).matches()) {
+                return Response.status(Response.Status.BAD_REQUEST)
+                        .entity(new ErrorResponse("fileName query parameter is required and cannot contain /, \\, quotes or line breaks"))
+                        .build();
+            }
+
+            // 2. Declared length already over the cap: don't read anything
+            if (contentLength != null && contentLength > MAX_FILE_SIZE) {
+                return Response.status(Response.Status.REQUEST_ENTITY_TOO_LARGE)
+                        .entity(new ErrorResponse(new TooLargeException(MAX_FILE_SIZE).getMessage()))
+                        .build();
+            }
+
+            // 3. Receive, validate and hash in one pass
+            Inspection inspection;
+            try {
+                received = Files.createTempFile("datum-upload-", ".tmp");
+                inspection = documentInspector.receive(body, received, MAX_FILE_SIZE);
+            } catch (TooLargeException e) {
+                return Response.status(Response.Status.REQUEST_ENTITY_TOO_LARGE)
+                        .entity(new ErrorResponse(e.getMessage()))
+                        .build();
+            } catch (IllegalArgumentException e) {
+                return Response.status(Response.Status.BAD_REQUEST)
+                        .entity(new ErrorResponse(e.getMessage()))
+                        .build();
+            }
+
+            // 4. Upload (or reuse identical content), attach, and release the old document
+            StoredDocument stored = purchaseDocumentService.replaceDocument(
+                    purchase, fileName, inspection.mimeType(), received, inspection.hash());
+
+            DocumentResponse response = DocumentResponse.success(
+                    purchaseId,
+                    fileName,
+                    inspection.mimeType(),
+                    inspection.size(),
+                    stored.metadata().path(),
+                    "Document uploaded successfully")
+                    .withContent(stored.metadata().hash(), stored.reused(), stored.duplicatePurchaseIds());
+
+            return Response.status(Response.Status.CREATED).entity(response).build();
+
+        } catch (IllegalArgumentException e) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity(new ErrorResponse(e.getMessage()))
+                    .build();
+        } catch (IllegalStateException e) {
+            return Response.status(Response.Status.FORBIDDEN)
+                    .entity(new ErrorResponse(e.getMessage()))
+                    .build();
+        } catch (Exception e) {
+            Response unavailable = DownstreamUnavailableMapper.fromCause(e);
+            if (unavailable != null) {
+                return unavailable;
+            }
+            return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
+                    .entity(new ErrorResponse("Error uploading document: " + e.getMessage()))
+                    .build();
+        } finally {
+            if (received != null) {
+                try {
+                    Files.deleteIfExists(received);
+                } catch (IOException e) {
+                    System.err.println("Warning: Could not delete received upload " + received + ": " + e.getMessage());
+                }
+            }
+        }
+    }
+
     /**
      * Download the document attached to a purchase
      * GET /api/purchases/{purchaseId}/document
+     *
+     * Supports conditional requests (If-None-Match / If-Modified-Since -> 304) and a
+     * single byte range (Range: bytes=start-end -> 206), based on the document metadata
+     * stored with the purchase.
      */
     @GET
     @Path("/{purchaseId}/document")
     @Produces(MediaType.APPLICATION_OCTET_STREAM)
     @PermitAll
     //@RolesAllowed({ "employee", "administrator", "finance" })
-    public Response downloadDocument(@PathParam("purchaseId") Long purchaseId) {
+    public Response downloadDocument(
+            @PathParam("purchaseId") Long purchaseId,
+            @HeaderParam("Range") String rangeHeader,
+            @HeaderParam("If-Range") String ifRangeHeader,
+            @Context Request request) {
         try {
             // 1. Get purchase
             Purchase purchase = purchaseService.getPurchaseById(purchaseId);
@@ -280,28 +461,207 @@ public class PurchaseDocumentResource {
                         .build();
             }
 
-            // 3. Download from OpenKM
-            byte[] documentBytes = openKMService.downloadDocument(purchase.getImgUrl());
+            // 3. Conditional GET: answer 304 without touching the document store
+            EntityTag etag = documentEtag(purchase);
+            Date lastModified = purchase.getDocumentUpdatedDate() != null
+                    ? Date.from(purchase.getDocumentUpdatedDate().atZone(ZoneId.systemDefault()).toInstant())
+                    : null;
+
+            Response.ResponseBuilder notModified = lastModified != null
+                    ? request.evaluatePreconditions(lastModified, etag)
+                    : request.evaluatePreconditions(etag);
+            if (notModified != null) {
+                return notModified.tag(etag).build();
+            }
 
             // 4. Extract filename from path
             String filename = extractFilename(purchase.getImgUrl());
+            Long size = purchase.getDocumentSize();
 
-            // 5. Return file
-            return Response.ok(documentBytes)
-                    .header("Content-Disposition", "attachment; filename=\"" + filename + "\"")
-                    .build();
+            // Local store: hand the file to Vert.x, which sends it with sendfile (zero-copy)
+            java.nio.file.Path localFile = documentStore.localFile(purchase.getImgUrl()).orElse(null);
+            if (localFile != null && size == null) {
+                size = Files.size(localFile);
+            }
+
+            // 5. Range request (only when the size is known and If-Range still matches)
+            //    Multiple or malformed ranges are ignored and the whole document is sent (RFC 7233)
+            boolean rangeApplies = rangeHeader != null && size != null
+                    && (ifRangeHeader == null || ifRangeHeader.equals(etag.toString()));
+            long[] range = rangeApplies ? parseRange(rangeHeader, size) : null;
+            if (range != null && range.length == 0) {
+                return Response.status(Response.Status.REQUESTED_RANGE_NOT_SATISFIABLE)
+                        .header("Content-Range", "bytes */" + size)
+                        .build();
+            }
+            if (range != null) {
+
+                long start = range[0];
+                long length = range[1] - range[0] + 1;
+
+                if (localFile != null) {
+                    return documentHeaders(Response.status(Response.Status.PARTIAL_CONTENT).entity(new PathPart(localFile, start, length)),
+                                    purchase, filename, etag, lastModified)
+                            .header("Content-Range", "bytes " + range[0] + "-" + range[1] + "/" + size)
+                            .build();
+                }
+
+                InputStream content = documentStore.downloadDocumentRange(purchase.getImgUrl(), start, size);
+
+                StreamingOutput body = output -> {
+                    try (InputStream in = content) {
+                        copyBytes(in, output, length);
+                    }
+                };
+
+                return documentHeaders(Response.status(Response.Status.PARTIAL_CONTENT).entity(body), purchase, filename, etag, lastModified)
+                        .header("Content-Range", "bytes " + range[0] + "-" + range[1] + "/" + size)
+                        .header("Content-Length", length)
+                        .build();
+            }
+
+            if (localFile != null) {
+                return documentHeaders(Response.ok(new PathPart(localFile, 0, size)), purchase, filename, etag, lastModified).build();
+            }
+
+            // 6. Open a stream from the document store (nothing is buffered yet)
+            InputStream content = documentStore.downloadDocument(purchase.getImgUrl());
+
+            // 7. Stream file to the client as it arrives from the document store
+            StreamingOutput body = output -> {
+                try (InputStream in = content) {
+                    in.transferTo(output);
+                }
+            };
+
+            Response.ResponseBuilder ok = documentHeaders(Response.ok(body), purchase, filename, etag, lastModified);
+            if (size != null) {
+                ok.header("Content-Length", size);
+            }
+            return ok.build();
 
         } catch (IllegalArgumentException e) {
             return Response.status(Response.Status.NOT_FOUND)
                     .entity(new ErrorResponse("Purchase not found: " + e.getMessage()))
                     .build();
         } catch (Exception e) {
+            Response unavailable = DownstreamUnavailableMapper.fromCause(e);
+            if (unavailable != null) {
+                return unavailable;
+            }
             return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
                     .entity(new ErrorResponse("Error downloading document: " + e.getMessage()))
                     .build();
         }
     }
 
+    /**
+     * Issue a short-lived signed URL for the document attached to a purchase
+     * GET /api/purchases/{purchaseId}/document/url
+     *
+     * The URL is served by SignedDocumentResource without authentication or database access,
+     * e.g. as the src of an img element in a receipt gallery.
+     */
+    @GET
+    @Path("/{purchaseId}/document/url")
+    @PermitAll
+    //@RolesAllowed({ "employee", "administrator", "finance" })
+    public Response getDocumentUrl(@PathParam("purchaseId") Long purchaseId) {
+        try {
+            Purchase purchase = purchaseService.getPurchaseById(purchaseId);
+            if (!purchase.hasDocument()) {
+                return Response.status(Response.Status.NOT_FOUND)
+                        .entity(new ErrorResponse("No document attached to this purchase"))
+                        .build();
+            }
+
+            DocumentUrlSigner.Grant grant = documentUrlSigner.grant(purchase);
+            return Response.ok(new SignedDocumentUrlResponse(
+                    purchaseId,
+                    DocumentUrlSigner.URL_PREFIX + documentUrlSigner.sign(grant),
+                    grant.expiresAt().toString()))
+                    .header("Cache-Control", "no-store")
+                    .build();
+
+        } catch (IllegalArgumentException e) {
+            return Response.status(Response.Status.NOT_FOUND)
+                    .entity(new ErrorResponse("Purchase not found: " + e.getMessage()))
+                    .build();
+        } catch (Exception e) {
+            return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
+                    .entity(new ErrorResponse("Error signing document URL: " + e.getMessage()))
+                    .build();
+        }
+    }
+
+    /**
+     * Get a downscaled preview of the document attached to a purchase
+     * GET /api/purchases/{purchaseId}/document/thumbnail?w=256
+     *
+     * JPEG (PNG for PNG originals), first page for PDFs. Rendered once and then
+     * served from the local rendition cache.
+     */
+    @GET
+    @Path("/{purchaseId}/document/thumbnail")
+    @Produces({ "image/jpeg", "image/png", MediaType.APPLICATION_JSON })
+    @PermitAll
+    //@RolesAllowed({ "employee", "administrator", "finance" })
+    public Response getThumbnail(
+            @PathParam("purchaseId") Long purchaseId,
+            @QueryParam("w") @DefaultValue("256") int width,
+            @Context Request request) {
+        try {
+            // 1. Get purchase
+            Purchase purchase = purchaseService.getPurchaseById(purchaseId);
+
+            // 2. Check if document exists
+            if (!purchase.hasDocument()) {
+                return Response.status(Response.Status.NOT_FOUND)
+                        .type(MediaType.APPLICATION_JSON)
+                        .entity(new ErrorResponse("No document attached to this purchase"))
+                        .build();
+            }
+
+            // 3. Conditional GET: the thumbnail changes only with the document
+            int renditionWidth = thumbnailService.normalizeWidth(width);
+            EntityTag etag = new EntityTag(documentEtag(purchase).getValue() + "-w" + renditionWidth);
+            Response.ResponseBuilder notModified = request.evaluatePreconditions(etag);
+            if (notModified != null) {
+                return notModified.tag(etag).build();
+            }
+
+            // 4. Render (first time only) and send the cached file
+            ThumbnailService.Thumbnail thumbnail = thumbnailService.getThumbnail(purchase, renditionWidth).orElse(null);
+            if (thumbnail == null) {
+                return Response.status(Response.Status.UNSUPPORTED_MEDIA_TYPE)
+                        .type(MediaType.APPLICATION_JSON)
+                        .entity(new ErrorResponse("Thumbnails are not available for this document type"))
+                        .build();
+            }
+
+            return Response.ok(thumbnail.file().toFile())
+                    .type(thumbnail.mimeType())
+                    .tag(etag)
+                    .header("Cache-Control", "private, max-age=86400")
+                    .build();
+
+        } catch (IllegalArgumentException e) {
+            return Response.status(Response.Status.NOT_FOUND)
+                    .type(MediaType.APPLICATION_JSON)
+                    .entity(new ErrorResponse("Purchase not found: " + e.getMessage()))
+                    .build();
+        } catch (Exception e) {
+            Response unavailable = DownstreamUnavailableMapper.fromCause(e);
+            if (unavailable != null) {
+                return unavailable;
+            }
+            return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
+                    .type(MediaType.APPLICATION_JSON)
+                    .entity(new ErrorResponse("Error generating thumbnail: " + e.getMessage()))
+                    .build();
+        }
+    }
+
     /**
      * Delete the purchase and its attached document
      * DELETE /api/purchases/{purchaseId}/document
@@ -315,19 +675,14 @@ public class PurchaseDocumentResource {
             // 1. Get purchase
             Purchase purchase = purchaseService.getPurchaseById(purchaseId);
 
-            // 2. Delete document from OpenKM if exists
+            // 2. Delete purchase record from database
+            purchaseService.deletePurchase(purchaseId);
+
+            // 3. Delete document from OpenKM unless another purchase shares it
             if (purchase.hasDocument()) {
-                try {
-                    openKMService.deleteDocument(purchase.getImgUrl());
-                } catch (Exception e) {
-                    // Log but continue - document might already be deleted
-                    System.err.println("Warning: Could not delete document from OpenKM: " + e.getMessage());
-                }
+                purchaseDocumentService.releaseDocument(purchase.getIdUser(), purchase.getImgUrl());
             }
 
-            // 3. Delete purchase record from database
-            purchaseService.deletePurchase(purchaseId);
-
             // 4. Return success
             return Response.ok()
                     .entity(new SuccessResponse("Purchase and document deleted successfully"))
@@ -342,12 +697,115 @@ public class PurchaseDocumentResource {
                     .entity(new ErrorResponse(e.getMessage()))
                     .build();
         } catch (Exception e) {
+            Response unavailable = DownstreamUnavailableMapper.fromCause(e);
+            if (unavailable != null) {
+                return unavailable;
+            }
             return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
                     .entity(new ErrorResponse("Error deleting purchase: " + e.getMessage()))
                     .build();
         }
     }
 
+    /**
+     * Common headers for document responses
+     */
+    private Response.ResponseBuilder documentHeaders(Response.ResponseBuilder builder, Purchase purchase,
+            String filename, EntityTag etag, Date lastModified) {
+        builder.header("Content-Disposition", "attachment; filename=\"" + filename + "\"")
+                .header("Accept-Ranges", "bytes")
+                .tag(etag);
+        if (lastModified != null) {
+            builder.lastModified(lastModified);
+        }
+        if (purchase.getDocumentMimeType() != null) {
+            builder.type(purchase.getDocumentMimeType());
+        }
+        return builder;
+    }
+
+    /**
+     * Strong ETag derived from the stored document
+     * The content hash when known, otherwise path, size and update date.
+     */
+    private EntityTag documentEtag(Purchase purchase) {
+        if (purchase.getDocumentHash() != null) {
+            return new EntityTag(purchase.getDocumentHash().substring(0, 32));
+        }
+        String version = purchase.getImgUrl() + "|" + purchase.getDocumentSize() + "|" + purchase.getDocumentUpdatedDate();
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(version.getBytes(StandardCharsets.UTF_8));
+            return new EntityTag(HexFormat.of().formatHex(digest, 0, 16));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Parse a single "bytes=start-end" range (also "start-" and "-suffix")
+     *
+     * @return {first, last} inclusive, an empty array if not satisfiable, or null if the
+     *         header is to be ignored (other unit, several ranges or malformed)
+     */
+    static long[] parseRange(String header, long size) {
+        if (!header.startsWith("bytes=") || header.contains(",")) {
+            return null;
+        }
+        try {
+            String spec = header.substring("bytes=".length()).trim();
+            int dash = spec.indexOf('-');
+            if (dash < 0) {
+                return null;
+            }
+            String from = spec.substring(0, dash).trim();
+            String to = spec.substring(dash + 1).trim();
+
+            long first;
+            long last;
+            if (from.isEmpty()) {
+                // Suffix range: last N bytes
+                long suffix = Long.parseLong(to);
+                if (suffix < 0) {
+                    return null;
+                }
+                if (suffix == 0 || size == 0) {
+                    return new long[0];
+                }
+                first = Math.max(0, size - suffix);
+                last = size - 1;
+            } else {
+                first = Long.parseLong(from);
+                last = to.isEmpty() ? Long.MAX_VALUE : Long.parseLong(to);
+                if (first < 0 || last < first) {
+                    return null;
+                }
+                if (first >= size) {
+                    return new long[0];
+                }
+                last = Math.min(last, size - 1);
+            }
+            return new long[] { first, last };
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Copy exactly {@code length} bytes (or until EOF)
+     */
+    private static void copyBytes(InputStream in, OutputStream out, long length) throws IOException {
+        byte[] buffer = new byte[8192];
+        long remaining = length;
+        while (remaining > 0) {
+            int read = in.read(buffer, 0, (int) Math.min(buffer.length, remaining));
+            if (read == -1) {
+                break;
+            }
+            out.write(buffer, 0, read);
+            remaining -= read;
+        }
+    }
+
     /**
      * Extract filename from OpenKM path
      */
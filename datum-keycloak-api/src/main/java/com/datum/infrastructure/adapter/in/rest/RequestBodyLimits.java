@@ -0,0 +1,85 @@
+package com.datum.infrastructure.adapter.in.rest;
+
+import com.datum.application.service.DocumentInspector.TooLargeException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.vertx.core.http.HttpHeaders;
+import io.vertx.ext.web.Router;
+import io.vertx.ext.web.RoutingContext;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+
+import java.util.regex.Pattern;
+
+/**
+ * Request body limits per route
+ * quarkus.http.limits.max-body-size is server-wide, so it is sized for the largest body: a
+ * purchase batch of MAX_BATCH_ITEMS documents. Every other request is held to one document
+ * here, on its declared Content-Length, before any of the body is read. Chunked bodies
+ * (no Content-Length) are bounded by the server-wide limit and the per-file checks.
+ */
+@ApplicationScoped
+public class RequestBodyLimits {
+
+    // One document plus the other multipart fields
+    static final long MAX_BODY_SIZE = PurchaseDocumentResource.MAX_FILE_SIZE + 1024 * 1024;
+
+    // Keep quarkus.http.limits.max-body-size at least this large
+    static final long MAX_BATCH_BODY_SIZE = UserFolderResource.MAX_BATCH_ITEMS * PurchaseDocumentResource.MAX_FILE_SIZE + 1024 * 1024;
+
+    private static final Pattern BATCH_PATH = Pattern.compile("/api/users/[^/]+/folders/[^/]+/purchases/batch");
+
+    @Inject
+    ObjectMapper objectMapper;
+
+    void init(@Observes Router router) {
+        // Ahead of every other route, including JAX-RS which reads the whole body first
+        router.route().order(Integer.MIN_VALUE).handler(this::checkLength);
+    }
+
+    private void checkLength(RoutingContext ctx) {
+        String lengthHeader = ctx.request().getHeader(HttpHeaders.CONTENT_LENGTH);
+        if (lengthHeader == null) {
+            ctx.next();
+            return;
+        }
+
+        long contentLength;
+        try {
+            contentLength = Long.parseLong(lengthHeader);
+        } catch (NumberFormatException e) {
+            ctx.next(); // Rejected by the server itself
+            return;
+        }
+
+        long limit = BATCH_PATH.matcher(ctx.normalizedPath()).matches() ? MAX_BATCH_BODY_SIZE : MAX_BODY_SIZE;
+        if (contentLength <= limit) {
+            ctx.next();
+            return;
+        }
+
+        String body;
+        try {
+            body = objectMapper.writeValueAsString(new ErrorResponse(new TooLargeException(limit).getMessage()));
+        } catch (JsonProcessingException e) {
+            body = "{}";
+        }
+        // Close: the client may still be sending a body nobody will read
+        ctx.response()
+            .setStatusCode(Response.Status.REQUEST_ENTITY_TOO_LARGE.getStatusCode())
+            .putHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON)
+            .putHeader(HttpHeaders.CONNECTION, "close")
+            .end(body);
+    }
+
+    public static class ErrorResponse {
+        public String error;
+
+        public ErrorResponse(String error) {
+            this.error = error;
+        }
+    }
+}
@@ -0,0 +1,270 @@
+package com.datum.infrastructure.adapter.in.rest;
+
+import com.datum.application.dto.DocumentResponse;
+import com.datum.application.dto.ResumableUploadRequest;
+import com.datum.application.dto.ResumableUploadResponse;
+import com.datum.application.service.ResumableUploadService;
+import com.datum.application.service.PurchaseDocumentService.StoredDocument;
+import com.datum.application.service.ResumableUploadService.OffsetMismatchException;
+import com.datum.domain.model.ResumableUpload;
+import com.datum.infrastructure.config.DownstreamUnavailableMapper;
+
+import jakarta.annotation.security.PermitAll;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+
+/**
+ * REST Resource for resumable (chunked) document uploads, tus-style
+ *
+ * 1. POST   /api/uploads/resumable               -> create session (201, Location, Upload-Offset: 0)
+ * 2. PATCH  /api/uploads/resumable/{id}          -> append chunk at Upload-Offset (204, new Upload-Offset)
+ * 3. HEAD   /api/uploads/resumable/{id}          -> current Upload-Offset, to resume after a drop
+ * 4. POST   /api/uploads/resumable/{id}/finalize -> upload to OpenKM and attach to the purchase
+ */
+@Path("/api/uploads/resumable")
+@Produces(MediaType.APPLICATION_JSON)
+@Consumes(MediaType.APPLICATION_JSON)
+public class ResumableUploadResource {
+
+    private static final String UPLOAD_OFFSET = "Upload-Offset";
+    private static final String UPLOAD_LENGTH = "Upload-Length";
+    private static final String CHUNK_MEDIA_TYPE = "application/offset+octet-stream";
+
+    @Inject
+    ResumableUploadService resumableUploadService;
+
+    /**
+     * Create an upload session
+     * POST /api/uploads/resumable
+     */
+    @POST
+    @PermitAll
+    //@RolesAllowed({ "employee", "administrator" })
+    public Response create(ResumableUploadRequest request) {
+        try {
+            // 1. Validate required fields
+            if (request == null || request.purchaseId == null || request.fileName == null || request.length == null) {
+                return Response.status(Response.Status.BAD_REQUEST)
+                        .entity(new ErrorResponse("purchaseId, fileName and length are required"))
+                        .build();
+            }
+
+            // 2. Validate file size
+            if (request.length <= 0 || request.length > PurchaseDocumentResource.MAX_FILE_SIZE) {
+                return Response.status(Response.Status.BAD_REQUEST)
+                        .entity(new ErrorResponse("File size must be between 1 byte and 10MB"))
+                        .build();
+            }
+
+            // 3. Validate file name; the type is detected from the first bytes received
+            //    (ResumableUploadService.appendChunk), the declared mimeType is only a hint
+            if (!PurchaseDocumentResource.VALID_FILE_NAME.matcher(request.fileName).matches()) {
+                return Response.status(Response.Status.BAD_REQUEST)
+                        .entity(new ErrorResponse("fileName cannot contain /, \\, quotes or line breaks"))
+                        .build();
+            }
+
+            // 4. Open session
+            ResumableUpload upload = resumableUploadService.create(request.purchaseId, request.fileName, request.mimeType, request.length);
+            String uploadUrl = "/api/uploads/resumable/" + upload.getId();
+
+            return Response.status(Response.Status.CREATED)
+                    .location(URI.create(uploadUrl))
+                    .header(UPLOAD_OFFSET, upload.getOffset())
+                    .header(UPLOAD_LENGTH, upload.getLength())
+                    .entity(ResumableUploadResponse.fromDomain(upload, uploadUrl))
+                    .build();
+
+        } catch (IllegalArgumentException e) {
+            return Response.status(Response.Status.NOT_FOUND)
+                    .entity(new ErrorResponse("Purchase not found: " + e.getMessage()))
+                    .build();
+        } catch (IllegalStateException e) {
+            return Response.status(Response.Status.FORBIDDEN)
+                    .entity(new ErrorResponse(e.getMessage()))
+                    .build();
+        } catch (Exception e) {
+            return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
+                    .entity(new ErrorResponse("Error creating upload: " + e.getMessage()))
+                    .build();
+        }
+    }
+
+    /**
+     * Get the current offset of an upload
+     * HEAD /api/uploads/resumable/{uploadId}
+     */
+    @HEAD
+    @Path("/{uploadId}")
+    @PermitAll
+    //@RolesAllowed({ "employee", "administrator" })
+    public Response getOffset(@PathParam("uploadId") String uploadId) {
+        try {
+            ResumableUpload upload = resumableUploadService.getUpload(uploadId);
+            return Response.ok()
+                    .header(UPLOAD_OFFSET, upload.getOffset())
+                    .header(UPLOAD_LENGTH, upload.getLength())
+                    .header("Cache-Control", "no-store")
+                    .build();
+        } catch (IllegalArgumentException e) {
+            return Response.status(Response.Status.NOT_FOUND).build();
+        }
+    }
+
+    /**
+     * Get an upload session
+     * GET /api/uploads/resumable/{uploadId}
+     */
+    @GET
+    @Path("/{uploadId}")
+    @PermitAll
+    //@RolesAllowed({ "employee", "administrator" })
+    public Response getUpload(@PathParam("uploadId") String uploadId) {
+        try {
+            ResumableUpload upload = resumableUploadService.getUpload(uploadId);
+            return Response.ok(ResumableUploadResponse.fromDomain(upload, "/api/uploads/resumable/" + uploadId))
+                    .header(UPLOAD_OFFSET, upload.getOffset())
+                    .build();
+        } catch (IllegalArgumentException e) {
+            return Response.status(Response.Status.NOT_FOUND)
+                    .entity(new ErrorResponse(e.getMessage()))
+                    .build();
+        }
+    }
+
+    /**
+     * Append a chunk
+     * PATCH /api/uploads/resumable/{uploadId}
+     * Upload-Offset must equal the server's current offset, otherwise 409 with the actual one.
+     */
+    @PATCH
+    @Path("/{uploadId}")
+    @Consumes({ CHUNK_MEDIA_TYPE, MediaType.APPLICATION_OCTET_STREAM })
+    @PermitAll
+    //@RolesAllowed({ "employee", "administrator" })
+    public Response appendChunk(
+            @PathParam("uploadId") String uploadId,
+            @HeaderParam(UPLOAD_OFFSET) Long offset,
+            InputStream chunk) {
+        if (offset == null || offset < 0) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity(new ErrorResponse("Upload-Offset header is required"))
+                    .build();
+        }
+
+        try {
+            resumableUploadService.getUpload(uploadId);
+        } catch (IllegalArgumentException e) {
+            return Response.status(Response.Status.NOT_FOUND)
+                    .entity(new ErrorResponse(e.getMessage()))
+                    .build();
+        }
+
+        try {
+            ResumableUpload upload = resumableUploadService.appendChunk(uploadId, offset, chunk);
+            return Response.noContent()
+                    .header(UPLOAD_OFFSET, upload.getOffset())
+                    .build();
+
+        } catch (OffsetMismatchException e) {
+            return Response.status(Response.Status.CONFLICT)
+                    .header(UPLOAD_OFFSET, e.getCurrentOffset())
+                    .entity(new ErrorResponse(e.getMessage()))
+                    .build();
+        } catch (IllegalArgumentException e) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity(new ErrorResponse(e.getMessage()))
+                    .build();
+        } catch (IllegalStateException e) {
+            return Response.status(Response.Status.CONFLICT)
+                    .entity(new ErrorResponse(e.getMessage()))
+                    .build();
+        } catch (UncheckedIOException e) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity(new ErrorResponse(e.getMessage()))
+                    .build();
+        }
+    }
+
+    /**
+     * Finish the upload: transfer to OpenKM and attach to the purchase
+     * POST /api/uploads/resumable/{uploadId}/finalize
+     */
+    @POST
+    @Path("/{uploadId}/finalize")
+    @PermitAll
+    //@RolesAllowed({ "employee", "administrator" })
+    public Response finalizeUpload(@PathParam("uploadId") String uploadId) {
+        try {
+            ResumableUpload upload = resumableUploadService.getUpload(uploadId);
+            StoredDocument stored = resumableUploadService.finalizeUpload(uploadId);
+
+            DocumentResponse response = DocumentResponse.success(
+                    upload.getPurchaseId(),
+                    upload.getFileName(),
+                    upload.getMimeType(),
+                    upload.getLength(),
+                    stored.metadata().path(),
+                    "Document uploaded successfully")
+                    .withContent(stored.metadata().hash(), stored.reused(), stored.duplicatePurchaseIds());
+
+            return Response.status(Response.Status.CREATED).entity(response).build();
+
+        } catch (OffsetMismatchException e) {
+            return Response.status(Response.Status.CONFLICT)
+                    .header(UPLOAD_OFFSET, e.getCurrentOffset())
+                    .entity(new ErrorResponse("Upload is incomplete: " + e.getMessage()))
+                    .build();
+        } catch (IllegalArgumentException e) {
+            return Response.status(Response.Status.NOT_FOUND)
+                    .entity(new ErrorResponse(e.getMessage()))
+                    .build();
+        } catch (IllegalStateException e) {
+            return Response.status(Response.Status.FORBIDDEN)
+                    .entity(new ErrorResponse(e.getMessage()))
+                    .build();
+        } catch (Exception e) {
+            Response unavailable = DownstreamUnavailableMapper.fromCause(e);
+            if (unavailable != null) {
+                return unavailable;
+            }
+            return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
+                    .entity(new ErrorResponse("Error finalizing upload: " + e.getMessage()))
+                    .build();
+        }
+    }
+
+    /**
+     * Abort an upload
+     * DELETE /api/uploads/resumable/{uploadId}
+     */
+    @DELETE
+    @Path("/{uploadId}")
+    @PermitAll
+    //@RolesAllowed({ "employee", "administrator" })
+    public Response cancel(@PathParam("uploadId") String uploadId) {
+        try {
+            resumableUploadService.cancel(uploadId);
+            return Response.noContent().build();
+        } catch (IllegalArgumentException e) {
+            return Response.status(Response.Status.NOT_FOUND)
+                    .entity(new ErrorResponse(e.getMessage()))
+                    .build();
+        }
+    }
+
+    // Helper class for responses
+    public static class ErrorResponse {
+        public String error;
+
+        public ErrorResponse(String error) {
+            this.error = error;
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.datum.infrastructure.adapter.in.rest;
+
+import com.datum.application.service.DocumentUrlSigner;
+import com.datum.application.service.DocumentUrlSigner.Grant;
+import com.datum.domain.ports.out.DocumentStorePort;
+import com.datum.infrastructure.config.DownstreamUnavailableMapper;
+import jakarta.annotation.security.PermitAll;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.HeaderParam;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.PathParam;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.EntityTag;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.StreamingOutput;
+import org.jboss.resteasy.reactive.PathPart;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Serves documents behind signed URLs (see DocumentUrlSigner)
+ * GET /documents/signed/{token}
+ *
+ * Outside /api, so no bearer token is required or validated. The token is checked with
+ * an HMAC and already says what to serve, so the purchase is never read from the database;
+ * content comes from the document store (OpenKM through the local document cache, or the
+ * local file sent with sendfile).
+ */
+@Path("/documents/signed")
+public class SignedDocumentResource {
+
+    @Inject
+    DocumentUrlSigner documentUrlSigner;
+
+    @Inject
+    DocumentStorePort documentStore;
+
+    @GET
+    @Path("/{token}")
+    @Produces({ MediaType.APPLICATION_OCTET_STREAM, MediaType.APPLICATION_JSON })
+    @PermitAll
+    public Response getDocument(@PathParam("token") String token, @HeaderParam("If-None-Match") String ifNoneMatch) {
+        try {
+            // 1. Signature and expiry
+            Grant grant = documentUrlSigner.verify(token);
+
+            // 2. Conditional GET: the hash identifies the content
+            EntityTag etag = grant.hash() != null ? new EntityTag(grant.hash().substring(0, 32)) : null;
+            if (etag != null && ifNoneMatch != null && ifNoneMatch.contains(etag.toString())) {
+                return Response.notModified(etag).build();
+            }
+
+            // 3. Local file (sendfile) or stream from the document store
+            java.nio.file.Path localFile = documentStore.localFile(grant.path()).orElse(null);
+            Response.ResponseBuilder ok;
+            if (localFile != null) {
+                // The token may predate the file: a different size means the hash (ETag) is stale too
+                long size = Files.size(localFile);
+                if (grant.size() != null && grant.size() != size) {
+                    throw new IllegalStateException("Document has changed since the URL was issued");
+                }
+                ok = Response.ok(new PathPart(localFile, 0, size));
+            } else {
+                InputStream content = documentStore.downloadDocument(grant.path());
+                StreamingOutput body = output -> {
+                    try (InputStream in = content) {
+                        in.transferTo(output);
+                    }
+                };
+                ok = Response.ok(body);
+                if (grant.size() != null) {
+                    ok.header("Content-Length", grant.size());
+                }
+            }
+
+            // Browsers may reuse the content as long as the URL is valid
+            long maxAge = Math.max(0, Duration.between(Instant.now(), grant.expiresAt()).getSeconds());
+            ok.type(grant.mimeType() != null ? grant.mimeType() : MediaType.APPLICATION_OCTET_STREAM)
+                .header("Content-Disposition", "inline; filename=\"" + extractFilename(grant.path()) + "\"")
+                .header("Cache-Control", "private, max-age=" + maxAge)
+                .header("X-Content-Type-Options", "nosniff");
+            if (etag != null) {
+                ok.tag(etag);
+            }
+            return ok.build();
+
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            // Tampered, malformed or expired: the client has to ask for a new URL
+            return Response.status(Response.Status.FORBIDDEN)
+                .type(MediaType.APPLICATION_JSON)
+                .entity(new ErrorResponse(e.getMessage()))
+                .build();
+        } catch (Exception e) {
+            Response unavailable = DownstreamUnavailableMapper.fromCause(e);
+            if (unavailable != null) {
+                return unavailable;
+            }
+            return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
+                .type(MediaType.APPLICATION_JSON)
+                .entity(new ErrorResponse("Error downloading document: " + e.getMessage()))
+                .build();
+        }
+    }
+
+    private String extractFilename(String path) {
+        int lastSlash = path.lastIndexOf('/');
+        return lastSlash >= 0 ? path.substring(lastSlash + 1) : path;
+    }
+
+    public static class ErrorResponse {
+        public String error;
+
+        public ErrorResponse(String error) {
+            this.error = error;
+        }
+    }
+}
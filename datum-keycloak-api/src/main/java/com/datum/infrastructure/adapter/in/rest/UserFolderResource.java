@@ -1,19 +1,44 @@
 package com.datum.infrastructure.adapter.in.rest;
 
+import com.datum.application.dto.BatchPurchaseItem;
+import com.datum.application.dto.BatchPurchaseResponse;
 import com.datum.application.dto.CreateFolderRequest;
+import com.datum.application.dto.FolderDeletionResponse;
 import com.datum.application.dto.FolderResponse;
-import com.datum.application.service.PurchaseService;
+import com.datum.application.service.DocumentInspector;
+import com.datum.application.service.DocumentInspector.Inspection;
+import com.datum.application.service.FolderDeletionService;
+import com.datum.application.service.FolderDeletionService.FolderDeletionResult;
+import com.datum.application.service.PurchaseBatchService;
 import com.datum.domain.model.Folder;
+import com.datum.domain.model.FolderSummary;
+import com.datum.domain.model.Page;
+import com.datum.domain.model.PageRequest;
+import com.datum.domain.model.Purchase;
 import com.datum.domain.ports.in.FolderUseCasePort;
+import com.datum.infrastructure.config.ReadReplica;
 
 import jakarta.annotation.security.PermitAll;
 import jakarta.annotation.security.RolesAllowed;
 import jakarta.inject.Inject;
 import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.Context;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.UriInfo;
+import org.jboss.resteasy.reactive.RestForm;
+import org.jboss.resteasy.reactive.multipart.FileUpload;
 
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -22,11 +47,23 @@ import java.util.stream.Collectors;
 @Consumes(MediaType.APPLICATION_JSON)
 public class UserFolderResource {
 
+    // Purchases (and file parts) per batch request; the request body limit follows from it
+    static final int MAX_BATCH_ITEMS = 20;
+
     @Inject
     FolderUseCasePort folderService;
 
     @Inject
-    PurchaseService purchaseService;
+    PurchaseBatchService purchaseBatchService;
+
+    @Inject
+    DocumentInspector documentInspector;
+
+    @Inject
+    FolderDeletionService folderDeletionService;
+
+    @Inject
+    ObjectMapper objectMapper;
 
     @POST
     @PermitAll
@@ -50,14 +87,32 @@ public class UserFolderResource {
         }
     }
 
+    /**
+     * List the folders of a user, newest first
+     * GET /api/users/{userId}/folders?limit=100&cursor=...
+     * Keyset-paginated, see PageLinks for the next-page headers.
+     */
     @GET
     @RolesAllowed({"administrator", "employee", "finance"})
-    public Response getUserFolders(@PathParam("userId") Long userId) {
-        List<FolderResponse> folders = folderService.getFoldersByUserId(userId).stream()
-            .map(this::toResponse)
-            .collect(Collectors.toList());
-            
-        return Response.ok(folders).build();
+    @ReadReplica("user-folders")
+    public Response getUserFolders(
+        @PathParam("userId") Long userId,
+        @QueryParam("limit") Integer limit,
+        @QueryParam("cursor") String cursor,
+        @Context UriInfo uriInfo
+    ) {
+        try {
+            Page<FolderSummary> page = folderService.getFoldersByUserId(userId, PageRequest.of(limit, cursor));
+            List<FolderResponse> folders = page.items().stream()
+                .map(FolderResponse::fromSummary)
+                .collect(Collectors.toList());
+
+            return PageLinks.ok(folders, page, uriInfo).build();
+        } catch (IllegalArgumentException e) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                .entity(e.getMessage())
+                .build();
+        }
     }
 
     @GET
@@ -117,6 +172,12 @@ public class UserFolderResource {
         }
     }
 
+    /**
+     * Delete a DRAFT folder with all its purchases and their documents
+     * DELETE /api/users/{userId}/folders/{folderId}
+     * Returns how many purchases and documents were removed; documents that could
+     * not be deleted from the store are listed but don't fail the request.
+     */
     @DELETE
     @Path("/{folderId}")
     @PermitAll
@@ -135,8 +196,19 @@ public class UserFolderResource {
                     .build();
             }
             
-            folderService.deleteFolder(folderId);
-            return Response.noContent().build();
+            FolderDeletionResult result = folderDeletionService.deleteFolder(folderId);
+
+            FolderDeletionResponse response = new FolderDeletionResponse();
+            response.folderId = folderId;
+            response.purchasesDeleted = result.folder().purchasesDeleted();
+            response.documentsDeleted = result.documentsDeleted();
+            response.documentsShared = result.folder().sharedPaths().size();
+            response.documentsFailed = result.failures().size();
+            response.failures = result.failures().entrySet().stream()
+                .map(failure -> new FolderDeletionResponse.DocumentFailure(failure.getKey(), failure.getValue()))
+                .toList();
+
+            return Response.ok(response).build();
             
         } catch (IllegalArgumentException | IllegalStateException e) {
             return Response.status(Response.Status.BAD_REQUEST)
@@ -215,12 +287,8 @@ public class UserFolderResource {
                     .build();
             }
 
-            // Submit all purchases in folder for review
-            int submittedCount = purchaseService.submitFolderForReview(folderId);
-
-            // Update folder status to UNDER_REVIEW
-            folder.submitForReview();
-            folderService.updateFolderStatus(folder);
+            // Submit the folder and all its purchases for review (one transaction)
+            int submittedCount = folderService.submitFolderForReview(folderId);
 
             return Response.ok()
                 .entity(new SubmissionResponse(
@@ -244,7 +312,170 @@ public class UserFolderResource {
         }
     }
 
-    
+    /**
+     * Create several purchases with their documents in one request
+     * POST /api/users/{userId}/folders/{folderId}/purchases/batch
+     *
+     * Multipart form:
+     *   purchases: JSON array of purchase descriptors (see BatchPurchaseItem)
+     *   files: one file part per purchase, matched by fileIndex (defaults to the same position)
+     *
+     * At most MAX_BATCH_ITEMS purchases and file parts, each file up to 10MB.
+     *
+     * Returns 201 when every item succeeded, 207 with per-item results otherwise
+     */
+    @POST
+    @Path("/{folderId}/purchases/batch")
+    @Consumes(MediaType.MULTIPART_FORM_DATA)
+    @PermitAll
+    //@RolesAllowed({"administrator", "employee"})
+    public Response createPurchasesBatch(
+        @PathParam("userId") Long userId,
+        @PathParam("folderId") Long folderId,
+        @RestForm("purchases") String purchasesJson,
+        @RestForm("files") List<FileUpload> files
+    ) {
+        try {
+            // 1. Verify folder exists, belongs to user and is still editable
+            Folder folder = folderService.getFolderById(folderId);
+
+            if (!folder.getUserId().equals(userId)) {
+                return Response.status(Response.Status.FORBIDDEN)
+                    .entity(new ErrorResponse("Folder does not belong to this user"))
+                    .build();
+            }
+
+            if (!folder.canEdit()) {
+                return Response.status(Response.Status.BAD_REQUEST)
+                    .entity(new ErrorResponse("Cannot add purchases to folder in " + folder.getValidationStatus() + " status"))
+                    .build();
+            }
+
+            // 2. Parse descriptors
+            if (purchasesJson == null || purchasesJson.isBlank()) {
+                return Response.status(Response.Status.BAD_REQUEST)
+                    .entity(new ErrorResponse("purchases part is required"))
+                    .build();
+            }
+
+            List<BatchPurchaseItem> items;
+            try {
+                items = objectMapper.readValue(purchasesJson, new TypeReference<List<BatchPurchaseItem>>() {});
+            } catch (Exception e) {
+                return Response.status(Response.Status.BAD_REQUEST)
+                    .entity(new ErrorResponse("Invalid purchases JSON: " + e.getMessage()))
+                    .build();
+            }
+
+            if (items == null || items.isEmpty()) {
+                return Response.status(Response.Status.BAD_REQUEST)
+                    .entity(new ErrorResponse("At least one purchase is required"))
+                    .build();
+            }
+
+            if (items.size() > MAX_BATCH_ITEMS) {
+                return Response.status(Response.Status.BAD_REQUEST)
+                    .entity(new ErrorResponse("At most " + MAX_BATCH_ITEMS + " purchases per batch"))
+                    .build();
+            }
+
+            List<FileUpload> uploads = files != null ? files : List.of();
+            if (uploads.size() > MAX_BATCH_ITEMS) {
+                return Response.status(Response.Status.BAD_REQUEST)
+                    .entity(new ErrorResponse("At most " + MAX_BATCH_ITEMS + " files per batch"))
+                    .build();
+            }
+
+            // 3. Validate every item up front; invalid ones are reported, valid ones go through
+            BatchPurchaseResponse.ItemResult[] results = new BatchPurchaseResponse.ItemResult[items.size()];
+            List<PurchaseBatchService.BatchDocument> documents = new ArrayList<>();
+            for (int i = 0; i < items.size(); i++) {
+                try {
+                    documents.add(toBatchDocument(i, items.get(i), uploads, userId, folderId));
+                } catch (IllegalArgumentException e) {
+                    results[i] = new BatchPurchaseResponse.ItemResult(i, null, null, null, "REJECTED", e.getMessage());
+                }
+            }
+
+            // 4. Insert purchases in one transaction and upload documents in parallel
+            //    (failed items are removed again and reported as FAILED)
+            for (PurchaseBatchService.BatchDocumentResult result : purchaseBatchService.createWithDocuments(documents)) {
+                BatchPurchaseResponse.ItemResult item = new BatchPurchaseResponse.ItemResult(
+                    result.index(),
+                    result.purchaseId(),
+                    result.fileName(),
+                    result.stored() != null ? result.stored().metadata().path() : null,
+                    result.error() == null ? "CREATED" : result.purchaseId() == null ? "FAILED" : "DOCUMENT_FAILED",
+                    result.error());
+                if (result.stored() != null) {
+                    item.reused = result.stored().reused();
+                    item.duplicatePurchaseIds = result.stored().duplicatePurchaseIds();
+                }
+                results[result.index()] = item;
+            }
+
+            BatchPurchaseResponse response = new BatchPurchaseResponse(folderId, Arrays.asList(results));
+            int status = response.failed == 0 ? Response.Status.CREATED.getStatusCode() : 207;
+
+            return Response.status(status).entity(response).build();
+
+        } catch (IllegalArgumentException e) {
+            return Response.status(Response.Status.NOT_FOUND)
+                .entity(new ErrorResponse(e.getMessage()))
+                .build();
+        } catch (Exception e) {
+            e.printStackTrace();
+            return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
+                .entity(new ErrorResponse("Error creating purchases: " + e.getMessage()))
+                .build();
+        }
+    }
+
+    // Conversion + validation: batch item → purchase and its document
+    private PurchaseBatchService.BatchDocument toBatchDocument(
+        int index, BatchPurchaseItem item, List<FileUpload> uploads, Long userId, Long folderId
+    ) {
+        if (item.idPType == null || item.idPaymentMethod == null || item.totalAmount == null || item.purchaseDate == null) {
+            throw new IllegalArgumentException("idPType, idPaymentMethod, totalAmount and purchaseDate are required");
+        }
+
+        int fileIndex = item.fileIndex != null ? item.fileIndex : index;
+        if (fileIndex < 0 || fileIndex >= uploads.size()) {
+            throw new IllegalArgumentException("No file part for fileIndex " + fileIndex);
+        }
+        FileUpload file = uploads.get(fileIndex);
+
+        // Size, real type and hash in one read of the file
+        Inspection inspection = documentInspector.inspect(file.uploadedFile(), PurchaseDocumentResource.MAX_FILE_SIZE);
+
+        Purchase purchase = new Purchase();
+        purchase.setIdUser(userId);
+        purchase.setIdFolder(folderId);
+        purchase.setIdPType(item.idPType);
+        purchase.setIdPaymentMethod(item.idPaymentMethod);
+        purchase.setIdCostCenter(item.idCostCenter != null && item.idCostCenter > 0 ? item.idCostCenter : null);
+        purchase.setDescription(item.description);
+        purchase.setGuestName(item.guestName);
+        purchase.setValidationStatus("DRAFT");
+        purchase.setCreatedDate(LocalDateTime.now());
+
+        try {
+            purchase.setTotalAmount(new BigDecimal(item.totalAmount));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid totalAmount format: " + item.totalAmount);
+        }
+        purchase.validateAmount();
+
+        try {
+            // Only the date is sent, time is the current moment (same as single upload)
+            purchase.setPurchaseDate(LocalDateTime.of(LocalDate.parse(item.purchaseDate), LocalTime.now()));
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid purchaseDate format. Use format: 2025-10-30");
+        }
+
+        return new PurchaseBatchService.BatchDocument(
+            index, purchase, file.fileName(), inspection.mimeType(), file.uploadedFile(), inspection.hash());
+    }
 
     // Response DTOs
     public static class ErrorResponse {
@@ -3,14 +3,21 @@ package com.datum.infrastructure.adapter.in.rest;
 import com.datum.application.dto.CreateEmployeeResponse;
 import com.datum.application.dto.CreateUserRequest;
 import com.datum.application.dto.UserResponse;
+import com.datum.domain.model.Page;
+import com.datum.domain.model.PageRequest;
 import com.datum.domain.model.User;
+import com.datum.domain.model.UserSummary;
 import com.datum.domain.ports.in.UserUseCasePort;
+import com.datum.infrastructure.config.DownstreamUnavailableMapper;
+import com.datum.infrastructure.config.ReadReplica;
 import jakarta.annotation.security.RolesAllowed;
 import jakarta.inject.Inject;
 import jakarta.validation.Valid;
 import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.Context;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.UriInfo;
 
 import java.util.List;
 import java.util.stream.Collectors;
@@ -23,15 +30,32 @@ public class UserResource {
     @Inject
     UserUseCasePort userUseCase;
 
+    /**
+     * List users, ordered by ID
+     * GET /api/users?limit=100&cursor=...
+     * Keyset-paginated, see PageLinks for the next-page headers.
+     */
     @GET
     @RolesAllowed({"administrator"})
-    public Response getAllUsers() {
-        List<UserResponse> users = userUseCase.getAllUsers()
-            .stream()
-            .map(UserResponse::fromDomain)
-            .collect(Collectors.toList());
-        
-        return Response.ok(users).build();
+    @ReadReplica("users")
+    public Response getAllUsers(
+        @QueryParam("limit") Integer limit,
+        @QueryParam("cursor") String cursor,
+        @Context UriInfo uriInfo
+    ) {
+        try {
+            Page<UserSummary> page = userUseCase.getAllUsers(PageRequest.of(limit, cursor));
+            List<UserResponse> users = page.items()
+                .stream()
+                .map(UserResponse::fromSummary)
+                .collect(Collectors.toList());
+
+            return PageLinks.ok(users, page, uriInfo).build();
+        } catch (IllegalArgumentException e) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                .entity(new ErrorResponse(e.getMessage()))
+                .build();
+        }
     }
 
     @GET
@@ -83,6 +107,11 @@ public class UserResource {
                 .build();
                 
         } catch (RuntimeException e) {
+            // Keycloak slow or down
+            Response unavailable = DownstreamUnavailableMapper.fromCause(e);
+            if (unavailable != null) {
+                return unavailable;
+            }
             return Response.status(Response.Status.BAD_REQUEST)
                 .entity(new ErrorResponse(e.getMessage()))
                 .build();
@@ -0,0 +1,27 @@
+package com.datum.infrastructure.adapter.in.scheduler;
+
+import com.datum.application.service.DocumentReconciliationService;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+/**
+ * Reconciles one month of stored documents against the purchases per run
+ * See DocumentReconciliationService; the checkpoint makes every run pick up where the last one ended.
+ */
+@ApplicationScoped
+public class DocumentReconciliationJob {
+
+    @Inject
+    DocumentReconciliationService reconciliationService;
+
+    @Scheduled(every = "${datum.reconciliation.interval:1h}", concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+    void reconcile() {
+        try {
+            reconciliationService.reconcileNextMonth();
+        } catch (Exception e) {
+            // Checkpoint not moved, the same month is retried next run
+            System.err.println("Document reconciliation failed: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package com.datum.infrastructure.adapter.in.scheduler;
+
+import com.datum.application.service.DocumentUploadService;
+import com.datum.application.service.PurchaseDocumentService;
+import com.datum.application.service.PurchaseDocumentService.StoredDocument;
+import com.datum.application.service.PurchaseService;
+import com.datum.domain.model.DocumentMetadata;
+import com.datum.domain.model.DocumentUpload;
+import com.datum.domain.model.Purchase;
+import io.quarkus.arc.Arc;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Drains the document upload outbox to OpenKM
+ * Polls for due uploads and transfers them on a bounded worker pool, so OpenKM
+ * never sees more than datum.upload.outbox.workers concurrent uploads from this instance.
+ */
+@ApplicationScoped
+public class DocumentUploadOutboxWorker {
+
+    @Inject
+    DocumentUploadService documentUploadService;
+
+    @Inject
+    PurchaseService purchaseService;
+
+    @Inject
+    PurchaseDocumentService purchaseDocumentService;
+
+    @ConfigProperty(name = "datum.upload.outbox.workers", defaultValue = "4")
+    int workers;
+
+    private ExecutorService pool;
+    private Semaphore freeWorkers;
+
+    @PostConstruct
+    void init() {
+        pool = Executors.newFixedThreadPool(workers);
+        freeWorkers = new Semaphore(workers);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        // In-flight uploads that don't finish are released by the lock timeout
+        pool.shutdown();
+    }
+
+    /**
+     * Claim as many due uploads as there are idle workers and hand them to the pool
+     */
+    @Scheduled(every = "${datum.upload.outbox.poll-interval:5s}", concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+    void drain() {
+        int idle = freeWorkers.availablePermits();
+        if (idle == 0) {
+            return;
+        }
+
+        List<Long> claimed = documentUploadService.claimDue(idle);
+        for (Long uploadId : claimed) {
+            freeWorkers.acquireUninterruptibly();
+            pool.execute(() -> {
+                try {
+                    process(uploadId);
+                } finally {
+                    freeWorkers.release();
+                }
+            });
+        }
+    }
+
+    /**
+     * Transfer one claimed upload to OpenKM and attach it to its purchase
+     */
+    void process(Long uploadId) {
+        // Worker threads have no request context, which the EntityManager needs outside transactions
+        var requestContext = Arc.container().requestContext();
+        requestContext.activate();
+        try {
+            DocumentUpload upload = documentUploadService.getUpload(uploadId);
+
+            Purchase purchase;
+            DocumentMetadata document;
+            try {
+                purchase = purchaseService.getPurchaseById(upload.getPurchaseId());
+                document = transfer(upload, purchase);
+            } catch (IllegalArgumentException | IllegalStateException e) {
+                // Purchase was deleted, submitted or given another document meanwhile
+                finish(documentUploadService.recordFailure(uploadId, e.getMessage(), true));
+                return;
+            } catch (Exception e) {
+                System.err.println("Upload " + uploadId + " to OpenKM failed, will retry: " + e.getMessage());
+                finish(documentUploadService.recordFailure(uploadId, e.getMessage(), false));
+                return;
+            }
+
+            try {
+                finish(documentUploadService.complete(uploadId, document));
+                System.out.println("Upload " + uploadId + " completed: " + document.path());
+            } catch (IllegalArgumentException | IllegalStateException e) {
+                // Purchase deleted, no longer editable or given a newer document: retrying cannot
+                // help, and the stored copy goes unless another purchase references it
+                finish(documentUploadService.recordFailure(uploadId, e.getMessage(), true));
+                purchaseDocumentService.releaseDocument(purchase.getIdUser(), document.path());
+            } catch (Exception e) {
+                // Back to PENDING instead of waiting for the lock timeout; the retry attaches the recorded path
+                System.err.println("Upload " + uploadId + " stored but not attached, will retry: " + e.getMessage());
+                finish(documentUploadService.recordFailure(uploadId, e.getMessage(), false));
+            }
+        } catch (Exception e) {
+            System.err.println("Error processing upload " + uploadId + ": " + e.getMessage());
+            e.printStackTrace();
+        } finally {
+            requestContext.terminate();
+        }
+    }
+
+    /**
+     * Upload the staged content, or reuse what an earlier attempt of this upload already stored
+     */
+    private DocumentMetadata transfer(DocumentUpload upload, Purchase purchase) {
+        Path staged = Paths.get(upload.getStagedFile());
+
+        // Nothing to store for a purchase that cannot take the document anymore
+        documentUploadService.checkAttachable(purchase, upload.getDocumentPath());
+
+        if (upload.getDocumentPath() != null) {
+            // 1. Stored by an earlier attempt whose completion failed
+            return new DocumentMetadata(upload.getDocumentPath(), upload.getFileSize(), upload.getMimeType(),
+                    PurchaseDocumentService.sha256(staged));
+        }
+
+        // 2. Upload, and record the path before completing so a failed completion never uploads twice
+        StoredDocument stored = purchaseDocumentService.store(purchase, upload.getFileName(), upload.getMimeType(), staged);
+        documentUploadService.recordStored(upload.getId(), stored.metadata().path());
+        return stored.metadata();
+    }
+
+    /**
+     * Delete staged files whose upload row went away with its purchase
+     */
+    @Scheduled(every = "${datum.upload.staging.sweep-interval:1h}", concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+    void sweepStaged() {
+        int deleted = documentUploadService.deleteOrphanedStaged();
+        if (deleted > 0) {
+            System.out.println("Deleted " + deleted + " orphaned staged upload(s)");
+        }
+    }
+
+    private void finish(DocumentUpload upload) {
+        if (upload.isFinished()) {
+            documentUploadService.deleteStaged(upload.getStagedFile());
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.datum.infrastructure.adapter.in.scheduler;
+
+import com.datum.application.service.ResumableUploadService;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+/**
+ * Removes abandoned resumable upload sessions and their staged bytes
+ */
+@ApplicationScoped
+public class ResumableUploadCleanupJob {
+
+    @Inject
+    ResumableUploadService resumableUploadService;
+
+    @Scheduled(every = "${datum.upload.resumable.cleanup-interval:15m}", concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+    void expire() {
+        int expired = resumableUploadService.expireSessions();
+        if (expired > 0) {
+            System.out.println("Expired " + expired + " abandoned resumable upload(s)");
+        }
+    }
+}
@@ -1,18 +1,35 @@
 package com.datum.infrastructure.adapter.out.openkm;
 
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.ws.rs.*;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
+import org.eclipse.microprofile.faulttolerance.Bulkhead;
+import org.eclipse.microprofile.faulttolerance.CircuitBreaker;
+import org.eclipse.microprofile.faulttolerance.Timeout;
 import org.eclipse.microprofile.rest.client.inject.RegisterRestClient;
 import org.jboss.resteasy.reactive.PartType;
 import org.jboss.resteasy.reactive.multipart.FileUpload;
 import java.io.File;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * REST Client for OpenKM Document Management System
  * Based on OpenKM REST API documentation
+ *
+ * Every call has a deadline, a concurrency cap and a circuit breaker, so a slow OpenKM
+ * cannot hold every worker thread. Connection failures and timeouts open the circuit;
+ * error responses don't, OpenKM answered them. Limits can be tuned per method with
+ * MicroProfile Fault Tolerance config (see application.properties.template).
  */
 @RegisterRestClient(configKey = "openkm-api")
+@Timeout(30000)
+@Bulkhead(16)
+@CircuitBreaker(requestVolumeThreshold = 20, failureRatio = 0.5, delay = 10000, successThreshold = 2,
+                skipOn = WebApplicationException.class)
 @Path("/services/rest")
 public interface OpenKMClient {
 
@@ -26,6 +43,7 @@ public interface OpenKMClient {
      */
     @POST
     @Path("/document/createSimple")
+    @Timeout(120000)  // Whole transfer of the file, not just the answer
     @Consumes(MediaType.MULTIPART_FORM_DATA)
     @Produces(MediaType.APPLICATION_JSON)
     Response uploadDocument(
@@ -36,15 +54,21 @@ public interface OpenKMClient {
 
     /**
      * Download document content from OpenKM
+     * The body is returned as a stream backed by the HTTP connection, so it is
+     * never fully buffered in memory. Non-2xx responses are raised as WebApplicationException.
+     *
+     * Timeout and bulkhead only cover the call up to the response headers: the body is read
+     * after the method returned. Reading is bounded per read by the client read-timeout
+     * (a stalled stream fails), not in total, and open streams don't count against the bulkhead.
      *
      * @param authorization Basic authentication header
      * @param docId Document UUID or path
-     * @return Document binary content
+     * @return Document binary content as a stream (caller must close it)
      */
     @GET
     @Path("/document/getContent")
     @Produces(MediaType.APPLICATION_OCTET_STREAM)
-    Response downloadDocument(
+    InputStream downloadDocument(
         @HeaderParam("Authorization") String authorization,
         @QueryParam("docId") String docId
     );
@@ -80,6 +104,66 @@ public interface OpenKMClient {
         FolderCreateRequest folderRequest
     );
 
+    /**
+     * List the subfolders of a folder
+     * Non-2xx responses (e.g. PathNotFoundException) are raised as WebApplicationException.
+     *
+     * @param authorization Basic authentication header
+     * @param fldId Folder UUID or path
+     * @return Response with a {@link FolderList} body
+     */
+    @GET
+    @Path("/folder/getChildren")
+    @Produces(MediaType.APPLICATION_JSON)
+    Response getFolderChildren(
+        @HeaderParam("Authorization") String authorization,
+        @QueryParam("fldId") String fldId
+    );
+
+    /**
+     * List the documents directly inside a folder
+     * Non-2xx responses (e.g. PathNotFoundException) are raised as WebApplicationException.
+     *
+     * @param authorization Basic authentication header
+     * @param fldId Folder UUID or path
+     * @return Response with a {@link DocumentList} body
+     */
+    @GET
+    @Path("/document/getChildren")
+    @Produces(MediaType.APPLICATION_JSON)
+    Response getDocumentChildren(
+        @HeaderParam("Authorization") String authorization,
+        @QueryParam("fldId") String fldId
+    );
+
+    /**
+     * Folder or document node as listed by getChildren (only the fields used here)
+     */
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    class Node {
+        public String path;
+        public String created; // ISO-8601 with offset
+    }
+
+    /**
+     * DTO for folder/getChildren
+     * OpenKM sends a single child as an object rather than a one-element array.
+     */
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    class FolderList {
+        @JsonFormat(with = JsonFormat.Feature.ACCEPT_SINGLE_VALUE_AS_ARRAY)
+        public List<Node> folder = new ArrayList<>();
+    }
+
+    /**
+     * DTO for document/getChildren
+     */
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    class DocumentList {
+        @JsonFormat(with = JsonFormat.Feature.ACCEPT_SINGLE_VALUE_AS_ARRAY)
+        public List<Node> document = new ArrayList<>();
+    }
+
     /**
      * DTO for folder creation request
      */
@@ -0,0 +1,408 @@
+package com.datum.infrastructure.adapter.out.openkm;
+
+import com.datum.infrastructure.adapter.out.persistence.StoredDocumentChanged;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+/**
+ * Size-bounded local disk cache for OpenKM document content
+ * Entries are keyed by the OpenKM document path (IMG_URL) and evicted in LRU order
+ * once the total size exceeds the configured limit.
+ *
+ * Misses are filled while the content is streamed to the client, so caching never
+ * delays the first byte. The index lives in memory; files left over from a previous
+ * run are removed on startup.
+ */
+@ApplicationScoped
+public class OpenKMDocumentCache {
+
+    @Inject
+    MeterRegistry meterRegistry;
+
+    @ConfigProperty(name = "openkm.cache.enabled", defaultValue = "true")
+    boolean enabled;
+
+    @ConfigProperty(name = "openkm.cache.directory", defaultValue = "datum-openkm-cache")
+    String directory;
+
+    @ConfigProperty(name = "openkm.cache.max-size-bytes", defaultValue = "1073741824")
+    long maxSizeBytes;
+
+    // Access-ordered map: iteration starts at the least recently used entry
+    private final LinkedHashMap<String, CacheEntry> entries = new LinkedHashMap<>(64, 0.75f, true);
+    private long currentSizeBytes;
+
+    // Fills remember the sequence at their start; a path evicted after that point discards them.
+    // Other paths' evictions don't. The map is pruned by raising the floor, which drops every
+    // fill in flight at that moment (rare: only once that many evictions pile up)
+    private static final int MAX_TRACKED_EVICTIONS = 10_000;
+    private final AtomicLong sequence = new AtomicLong();
+    private final ConcurrentHashMap<String, Long> evictedAt = new ConcurrentHashMap<>();
+    private volatile long evictionFloor;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    private Path cacheDir;
+
+    @PostConstruct
+    void init() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            Path configured = Paths.get(directory);
+            cacheDir = configured.isAbsolute()
+                ? configured
+                : Paths.get(System.getProperty("java.io.tmpdir")).resolve(configured);
+            Files.createDirectories(cacheDir);
+
+            // Index is not persisted, so anything on disk is unreachable
+            try (Stream<Path> leftovers = Files.list(cacheDir)) {
+                leftovers.forEach(this::deleteQuietly);
+            }
+        } catch (IOException e) {
+            System.err.println("Warning: OpenKM document cache disabled, cannot use " + directory + ": " + e.getMessage());
+            enabled = false;
+            return;
+        }
+
+        FunctionCounter.builder("openkm.document.cache.hits", hits, LongAdder::doubleValue)
+            .description("Document downloads served from the local cache")
+            .register(meterRegistry);
+        FunctionCounter.builder("openkm.document.cache.misses", misses, LongAdder::doubleValue)
+            .description("Document downloads that had to go to OpenKM")
+            .register(meterRegistry);
+        FunctionCounter.builder("openkm.document.cache.evictions", evictions, LongAdder::doubleValue)
+            .description("Entries removed by size pressure or invalidation")
+            .register(meterRegistry);
+        Gauge.builder("openkm.document.cache.size.bytes", this, OpenKMDocumentCache::currentSizeBytes)
+            .register(meterRegistry);
+        Gauge.builder("openkm.document.cache.entries", this, OpenKMDocumentCache::entryCount)
+            .register(meterRegistry);
+    }
+
+    /**
+     * Open a cached document
+     *
+     * @param docPath Document path in OpenKM
+     * @return Stream over the cached file, or null on a miss
+     */
+    public InputStream get(String docPath) {
+        if (!enabled) {
+            return null;
+        }
+
+        CacheEntry entry;
+        synchronized (this) {
+            entry = entries.get(docPath);
+        }
+
+        if (entry != null) {
+            try {
+                InputStream in = Files.newInputStream(entry.file);
+                hits.increment();
+                return in;
+            } catch (NoSuchFileException e) {
+                // File vanished underneath us, drop the stale entry
+                remove(docPath, entry);
+            } catch (IOException e) {
+                System.err.println("Warning: Could not read cached document " + docPath + ": " + e.getMessage());
+            }
+        }
+
+        misses.increment();
+        return null;
+    }
+
+    /**
+     * Check whether a document of the given size would be kept once read
+     */
+    public boolean accepts(long size) {
+        return enabled && size <= maxSizeBytes;
+    }
+
+    /**
+     * Wrap a stream coming from OpenKM so its content is written to the cache as it is read
+     * The entry is only published if the caller reads the stream to the end.
+     *
+     * @param docPath Document path in OpenKM
+     * @param source Stream from OpenKM
+     * @return Stream to hand to the caller instead of the source
+     */
+    public InputStream fillWhileReading(String docPath, InputStream source) {
+        if (!enabled) {
+            return source;
+        }
+        try {
+            Path tempFile = Files.createTempFile(cacheDir, "fill-", ".tmp");
+            return new FillingInputStream(docPath, source, tempFile, sequence.get());
+        } catch (IOException e) {
+            System.err.println("Warning: Could not start caching document " + docPath + ": " + e.getMessage());
+            return source;
+        }
+    }
+
+    /**
+     * Another instance deleted the document: drop the local copy
+     */
+    void onStoredDocumentChanged(@Observes StoredDocumentChanged change) {
+        evict(change.path());
+    }
+
+    /**
+     * Invalidate a cached document (after delete/update in OpenKM)
+     * Only fills of this path that are in flight are discarded.
+     *
+     * @param docPath Document path in OpenKM
+     */
+    public void evict(String docPath) {
+        if (!enabled || docPath == null) {
+            return;
+        }
+
+        evictedAt.put(docPath, sequence.incrementAndGet());
+        if (evictedAt.size() > MAX_TRACKED_EVICTIONS) {
+            long floor = sequence.incrementAndGet();
+            evictionFloor = floor;
+            evictedAt.values().removeIf(evicted -> evicted <= floor);
+        }
+
+        CacheEntry entry;
+        synchronized (this) {
+            entry = entries.remove(docPath);
+            if (entry != null) {
+                currentSizeBytes -= entry.size;
+            }
+        }
+
+        if (entry != null) {
+            evictions.increment();
+            deleteQuietly(entry.file);
+        }
+    }
+
+    public synchronized long currentSizeBytes() {
+        return currentSizeBytes;
+    }
+
+    public synchronized int entryCount() {
+        return entries.size();
+    }
+
+    /**
+     * Publish a fully downloaded temp file as the cache entry for a path
+     */
+    private void publish(String docPath, Path tempFile, long size, long startGeneration) {
+        if (size > maxSizeBytes) {
+            deleteQuietly(tempFile);
+            return;
+        }
+
+        Path target = cacheDir.resolve(keyFor(docPath));
+        List<Path> evictedFiles = new ArrayList<>();
+        synchronized (this) {
+            // An eviction of this path raced with the fill, the content may be stale
+            if (startGeneration < evictionFloor || evictedAt.getOrDefault(docPath, 0L) > startGeneration) {
+                deleteQuietly(tempFile);
+                return;
+            }
+
+            // Rename under the lock so a concurrent fill cannot swap the file behind the index
+            try {
+                Files.move(tempFile, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (IOException e) {
+                deleteQuietly(tempFile);
+                return;
+            }
+
+            CacheEntry previous = entries.put(docPath, new CacheEntry(target, size));
+            if (previous != null) {
+                currentSizeBytes -= previous.size;
+            }
+            currentSizeBytes += size;
+
+            // Evict least recently used entries until we are back under the limit
+            Iterator<Map.Entry<String, CacheEntry>> it = entries.entrySet().iterator();
+            while (currentSizeBytes > maxSizeBytes && it.hasNext()) {
+                Map.Entry<String, CacheEntry> eldest = it.next();
+                if (eldest.getKey().equals(docPath)) {
+                    continue;
+                }
+                it.remove();
+                currentSizeBytes -= eldest.getValue().size;
+                evictedFiles.add(eldest.getValue().file);
+            }
+        }
+
+        for (Path file : evictedFiles) {
+            evictions.increment();
+            deleteQuietly(file);
+        }
+    }
+
+    private void remove(String docPath, CacheEntry expected) {
+        synchronized (this) {
+            if (entries.get(docPath) == expected) {
+                entries.remove(docPath);
+                currentSizeBytes -= expected.size;
+            }
+        }
+    }
+
+    private static String keyFor(String docPath) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(docPath.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            System.err.println("Warning: Could not delete cache file " + file + ": " + e.getMessage());
+        }
+    }
+
+    private record CacheEntry(Path file, long size) {
+    }
+
+    /**
+     * Tees everything read from OpenKM into a temp file
+     * Caching problems never surface to the reader; they only abandon the fill.
+     */
+    private final class FillingInputStream extends FilterInputStream {
+
+        private final String docPath;
+        private final Path tempFile;
+        private final long startGeneration;
+        private OutputStream sink;
+        private long written;
+        private boolean complete;
+        private boolean abandoned;
+        private boolean closed;
+
+        FillingInputStream(String docPath, InputStream source, Path tempFile, long startGeneration) throws IOException {
+            super(source);
+            this.docPath = docPath;
+            this.tempFile = tempFile;
+            this.startGeneration = startGeneration;
+            this.sink = Files.newOutputStream(tempFile);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b == -1) {
+                complete = true;
+            } else {
+                tee(new byte[] { (byte) b }, 0, 1);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int n = super.read(buffer, offset, length);
+            if (n == -1) {
+                complete = true;
+            } else if (n > 0) {
+                tee(buffer, offset, n);
+            }
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            // Skipped bytes never reach the sink, so the copy would be incomplete
+            abandoned = true;
+            return super.skip(n);
+        }
+
+        @Override
+        public boolean markSupported() {
+            return false;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            try {
+                super.close();
+            } finally {
+                closeSink();
+                if (complete && !abandoned) {
+                    publish(docPath, tempFile, written, startGeneration);
+                } else {
+                    deleteQuietly(tempFile);
+                }
+            }
+        }
+
+        private void tee(byte[] buffer, int offset, int length) {
+            if (abandoned) {
+                return;
+            }
+            if (written + length > maxSizeBytes) {
+                abandoned = true;
+                closeSink();
+                return;
+            }
+            try {
+                sink.write(buffer, offset, length);
+                written += length;
+            } catch (IOException e) {
+                abandoned = true;
+                closeSink();
+            }
+        }
+
+        private void closeSink() {
+            if (sink == null) {
+                return;
+            }
+            try {
+                sink.close();
+            } catch (IOException e) {
+                abandoned = true;
+            }
+            sink = null;
+        }
+    }
+}
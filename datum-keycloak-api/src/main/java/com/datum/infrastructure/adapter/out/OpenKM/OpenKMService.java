@@ -1,26 +1,52 @@
 package com.datum.infrastructure.adapter.out.openkm;
 
+import com.datum.domain.model.StoredObject;
+import com.datum.domain.ports.out.DocumentStorePort;
+import com.datum.infrastructure.adapter.out.persistence.EntityCacheInvalidator;
+import com.datum.infrastructure.adapter.out.storage.DocumentRenditionCache;
+import io.quarkus.arc.DefaultBean;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
+import jakarta.ws.rs.WebApplicationException;
 import jakarta.ws.rs.core.Response;
 import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.eclipse.microprofile.rest.client.inject.RestClient;
 import org.jboss.resteasy.reactive.multipart.FileUpload;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.nio.charset.StandardCharsets;
+import java.time.YearMonth;
+import java.util.ArrayList;
 import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
 
 /**
  * Service to interact with OpenKM Document Management System
  * Handles authentication and orchestrates document operations
+ * Default DocumentStorePort implementation (see LocalDocumentStore for the alternative).
  */
 @ApplicationScoped
-public class OpenKMService {
+@DefaultBean
+public class OpenKMService implements DocumentStorePort {
 
     @Inject
     @RestClient
     OpenKMClient openKMClient;
 
+    @Inject
+    OpenKMDocumentCache documentCache;
+
+    @Inject
+    DocumentRenditionCache renditionCache;
+
+    @Inject
+    EntityCacheInvalidator cacheInvalidator;
+
     @ConfigProperty(name = "openkm.username")
     String openkmUsername;
 
@@ -30,6 +56,11 @@ public class OpenKMService {
     @ConfigProperty(name = "openkm.base.path")
     String basePath;
 
+    // Year and month folders known to exist in OpenKM (a few per year, so the map stays small).
+    // The value completes with the outcome once creation is settled, so uploads racing on the
+    // same path share one createFolder call
+    private final ConcurrentHashMap<String, CompletableFuture<Boolean>> knownFolders = new ConcurrentHashMap<>();
+
     /**
      * Generate Basic Authentication header for OpenKM
      */
@@ -39,26 +70,149 @@ public class OpenKMService {
         return "Basic " + encoded;
     }
 
+    /**
+     * Make sure a year or month folder exists in OpenKM, creating it on first use
+     * Folders already seen by this instance cost no remote call. Concurrent callers
+     * for the same path wait on a single creation instead of each issuing their own,
+     * and try again themselves if that creation failed.
+     *
+     * @param folderPath Full folder path in OpenKM
+     */
+    private void ensureFolder(String folderPath) {
+        CompletableFuture<Boolean> creation = new CompletableFuture<>();
+        CompletableFuture<Boolean> inFlight = knownFolders.putIfAbsent(folderPath, creation);
+
+        if (inFlight != null) {
+            // Already known, or another upload is creating it right now
+            if (!inFlight.join()) {
+                createFolderIfNotExists(folderPath);
+            }
+            return;
+        }
+
+        boolean exists = false;
+        try {
+            exists = createFolderIfNotExists(folderPath);
+        } finally {
+            if (!exists) {
+                // Outcome unknown: don't remember it so the next upload tries again
+                knownFolders.remove(folderPath, creation);
+            }
+            creation.complete(exists);
+        }
+    }
+
+    /**
+     * Forget cached folders under a path (e.g. after an upload into it failed)
+     */
+    private void forgetFolders(String folderPath) {
+        knownFolders.keySet().removeIf(known -> folderPath.equals(known) || folderPath.startsWith(known + "/"));
+    }
+
     /**
      * Create a folder in OpenKM if it doesn't exist
      * If folder already exists, the error is ignored
      *
      * @param folderPath Full folder path in OpenKM
+     * @return true if the folder is known to exist afterwards
      */
-    private void createFolderIfNotExists(String folderPath) {
+    private boolean createFolderIfNotExists(String folderPath) {
         try {
             String authHeader = getBasicAuthHeader();
             OpenKMClient.FolderCreateRequest request = new OpenKMClient.FolderCreateRequest(folderPath);
 
-            Response response = openKMClient.createFolder(authHeader, request);
-
-            // 200 = created successfully, ignore other responses (folder might already exist)
-            if (response.getStatus() != 200 && response.getStatus() != 201) {
-                System.out.println("Folder might already exist: " + folderPath);
+            // Non-2xx responses are raised, so getting here means it was created
+            openKMClient.createFolder(authHeader, request);
+            return true;
+        } catch (WebApplicationException e) {
+            // OpenKM reports an existing folder as an ItemExistsException error
+            Response response = e.getResponse();
+            String body = response.hasEntity() ? response.readEntity(String.class) : "";
+            if (body != null && body.contains("ItemExists")) {
+                return true;
             }
+            System.err.println("Folder creation failed: " + folderPath + ". Status: " + response.getStatus());
+            return false;
         } catch (Exception e) {
-            // Ignore errors - folder might already exist
-            System.out.println("Folder creation skipped (might exist): " + folderPath);
+            System.err.println("Folder creation failed: " + folderPath + ": " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Path a document of a purchase is stored under: {basePath}/{year}/{month}/{id}/{fileName}
+     */
+    @Override
+    public String documentPath(Long purchaseId, java.time.LocalDateTime purchaseDate, String fileName) {
+        return monthFolder(YearMonth.from(purchaseDate)) + "/" + purchaseId + "/" + fileName;
+    }
+
+    /**
+     * Month folder: {basePath}/{year}/{month}
+     */
+    @Override
+    public String monthFolder(YearMonth month) {
+        return basePath + "/" + month.getYear() + "/" + String.format("%02d", month.getMonthValue());
+    }
+
+    /**
+     * List the documents of a month: one call for the purchase folders, then one per folder
+     * A month folder that was never created holds no documents.
+     *
+     * @throws RuntimeException if OpenKM cannot be listed
+     */
+    @Override
+    public List<StoredObject> listDocuments(YearMonth month) {
+        String authHeader = getBasicAuthHeader();
+        List<StoredObject> documents = new ArrayList<>();
+
+        OpenKMClient.FolderList folders = listChildren(() -> openKMClient.getFolderChildren(authHeader, monthFolder(month)), OpenKMClient.FolderList.class);
+        if (folders == null) {
+            return documents;
+        }
+
+        for (OpenKMClient.Node folder : folders.folder) {
+            OpenKMClient.DocumentList children = listChildren(() -> openKMClient.getDocumentChildren(authHeader, folder.path), OpenKMClient.DocumentList.class);
+            if (children == null) {
+                continue; // Deleted while listing
+            }
+            for (OpenKMClient.Node document : children.document) {
+                documents.add(new StoredObject(document.path, parseCreated(document.created)));
+            }
+        }
+        return documents;
+    }
+
+    /**
+     * Call getChildren and read the listing
+     *
+     * @return The listing, or null if the folder does not exist
+     */
+    private <T> T listChildren(Supplier<Response> call, Class<T> type) {
+        try {
+            // Non-2xx responses are raised as WebApplicationException
+            return call.get().readEntity(type);
+        } catch (WebApplicationException e) {
+            // OpenKM reports a missing folder as a PathNotFoundException error
+            Response response = e.getResponse();
+            String body = response.hasEntity() ? response.readEntity(String.class) : "";
+            if (response.getStatus() == 404 || (body != null && body.contains("PathNotFound"))) {
+                return null;
+            }
+            throw new RuntimeException("Failed to list folder in OpenKM. Status: " + response.getStatus(), e);
+        }
+    }
+
+    private java.time.LocalDateTime parseCreated(String created) {
+        if (created == null) {
+            return null;
+        }
+        try {
+            return java.time.OffsetDateTime.parse(created)
+                .atZoneSameInstant(java.time.ZoneId.systemDefault())
+                .toLocalDateTime();
+        } catch (java.time.format.DateTimeParseException e) {
+            return null; // Unknown age: never old enough to clean up
         }
     }
 
@@ -73,71 +227,163 @@ public class OpenKMService {
      * @throws RuntimeException if upload fails
      */
     public String uploadDocument(Long purchaseId, java.time.LocalDateTime purchaseDate, String fileName, FileUpload fileUpload) {
+        return uploadDocument(purchaseId, purchaseDate, fileName, fileUpload.uploadedFile());
+    }
+
+    /**
+     * Upload a local file to OpenKM with hierarchical folder structure
+     *
+     * @param purchaseId ID of the purchase
+     * @param purchaseDate Date of the purchase (to extract year/month)
+     * @param fileName Name of the file
+     * @param content Local file to upload
+     * @return Full document path in OpenKM
+     * @throws RuntimeException if upload fails
+     */
+    @Override
+    public String uploadDocument(Long purchaseId, java.time.LocalDateTime purchaseDate, String fileName, java.nio.file.Path content) {
+        String docPath = prepareUpload(purchaseId, purchaseDate, fileName);
+
         try {
             String authHeader = getBasicAuthHeader();
 
-            // Extract year and month from purchase date
-            String year = String.valueOf(purchaseDate.getYear());
-            String month = String.format("%02d", purchaseDate.getMonthValue()); // Format: 01, 02, ..., 12
+            java.io.File file = content.toFile();
 
-            // Construct hierarchical path: /okm:root/datum/employee/purchase/{year}/{month}/{id}/
-            String yearPath = basePath + "/" + year;
-            String monthPath = yearPath + "/" + month;
-            String idPath = monthPath + "/" + purchaseId;
+            // Non-2xx responses are raised as WebApplicationException
+            openKMClient.uploadDocument(authHeader, docPath, file);
+            return docPath;
+        } catch (WebApplicationException e) {
+            uploadFailed(docPath);
+            throw new RuntimeException("Failed to upload document to OpenKM. Status: " + e.getResponse().getStatus(), e);
+        } catch (Exception e) {
+            throw new RuntimeException("Error uploading document to OpenKM: " + e.getMessage(), e);
+        }
+    }
 
-            // Create folder hierarchy if not exists
-            createFolderIfNotExists(yearPath);
-            createFolderIfNotExists(monthPath);
-            createFolderIfNotExists(idPath);
+    /**
+     * Get ready to upload a purchase document: create the folder hierarchy and drop
+     * anything cached for the target path
+     *
+     * @return Full document path in OpenKM
+     */
+    public String prepareUpload(Long purchaseId, java.time.LocalDateTime purchaseDate, String fileName) {
+        // Extract year and month from purchase date
+        String year = String.valueOf(purchaseDate.getYear());
+        String month = String.format("%02d", purchaseDate.getMonthValue()); // Format: 01, 02, ..., 12
 
-            // Full document path
-            String docPath = idPath + "/" + fileName;
+        // Construct hierarchical path: /okm:root/datum/employee/purchase/{year}/{month}/{id}/
+        String yearPath = basePath + "/" + year;
+        String monthPath = yearPath + "/" + month;
+        String idPath = monthPath + "/" + purchaseId;
 
-            // Convert FileUpload to File
-            java.io.File file = fileUpload.uploadedFile().toFile();
+        // Create folder hierarchy if not exists: year and month are cached, the id folder
+        // is new for nearly every purchase so it is always asked for
+        ensureFolder(yearPath);
+        ensureFolder(monthPath);
+        createFolderIfNotExists(idPath);
 
-            Response response = openKMClient.uploadDocument(authHeader, docPath, file);
+        // Full document path
+        String docPath = documentPath(purchaseId, purchaseDate, fileName);
+        documentCache.evict(docPath);
+        renditionCache.evict(docPath);
+        return docPath;
+    }
 
-            if (response.getStatus() == 201 || response.getStatus() == 200) {
-                return docPath;
-            } else {
-                throw new RuntimeException("Failed to upload document to OpenKM. Status: " + response.getStatus());
-            }
-        } catch (Exception e) {
-            throw new RuntimeException("Error uploading document to OpenKM: " + e.getMessage(), e);
-        }
+    /**
+     * Record that an upload to a path was refused by OpenKM
+     * The folder may have been removed in OpenKM behind our back.
+     */
+    public void uploadFailed(String docPath) {
+        forgetFolders(docPath.substring(0, docPath.lastIndexOf('/')));
     }
 
     /**
-     * Download a document from OpenKM
+     * Download a document from OpenKM as a stream
+     * Content is read from OpenKM as it is written to the caller, so heap usage
+     * does not depend on the document size. Recently read documents are served
+     * from the local disk cache. The caller must close the stream.
      *
      * @param docPath Document path in OpenKM
-     * @return Binary content of the document
+     * @return Stream over the document content
      * @throws RuntimeException if download fails
      */
-    public byte[] downloadDocument(String docPath) {
+    @Override
+    public InputStream downloadDocument(String docPath) {
+        // Serve from the local disk cache when possible
+        InputStream cached = documentCache.get(docPath);
+        if (cached != null) {
+            return cached;
+        }
+
         try {
             String authHeader = getBasicAuthHeader();
 
-            Response response = openKMClient.downloadDocument(authHeader, docPath);
-
-            if (response.getStatus() == 200) {
-                return response.readEntity(byte[].class);
-            } else {
-                throw new RuntimeException("Failed to download document from OpenKM. Status: " + response.getStatus());
-            }
+            InputStream remote = openKMClient.downloadDocument(authHeader, docPath);
+            return documentCache.fillWhileReading(docPath, remote);
+        } catch (WebApplicationException e) {
+            throw new RuntimeException("Failed to download document from OpenKM. Status: " + e.getResponse().getStatus(), e);
         } catch (Exception e) {
             throw new RuntimeException("Error downloading document from OpenKM: " + e.getMessage(), e);
         }
     }
 
+    /**
+     * Download a document from OpenKM starting at a byte offset
+     * On a cache miss a cacheable document is pulled into the local cache first, so the
+     * repeated range requests made by PDF viewers are served from disk afterwards. Documents
+     * the cache won't keep are streamed from OpenKM once, skipping up to the offset.
+     * The caller must close the stream and stop reading after the requested length.
+     *
+     * @param docPath Document path in OpenKM
+     * @param offset First byte to return
+     * @param size Total size of the document
+     * @return Stream positioned at offset
+     * @throws RuntimeException if download fails
+     */
+    @Override
+    public InputStream downloadDocumentRange(String docPath, long offset, long size) {
+        InputStream in = documentCache.get(docPath);
+
+        if (in == null && documentCache.accepts(size)) {
+            // Fill the cache by reading the document to the end
+            try (InputStream fill = downloadDocument(docPath)) {
+                fill.transferTo(OutputStream.nullOutputStream());
+            } catch (IOException e) {
+                throw new RuntimeException("Error downloading document from OpenKM: " + e.getMessage(), e);
+            }
+            in = documentCache.get(docPath);
+        }
+
+        if (in == null) {
+            // Not cacheable (cache disabled or document too large): skip over the remote stream
+            in = downloadDocument(docPath);
+        }
+
+        try {
+            in.skipNBytes(offset);
+            return in;
+        } catch (IOException e) {
+            try {
+                in.close();
+            } catch (IOException ignored) {
+                // Already failing
+            }
+            throw new RuntimeException("Error reading document range: " + e.getMessage(), e);
+        }
+    }
+
     /**
      * Delete a document from OpenKM
      *
      * @param docPath Document path in OpenKM
      * @throws RuntimeException if deletion fails
      */
+    @Override
     public void deleteDocument(String docPath) {
+        // Invalidate first so a failed delete never leaves stale content cached
+        documentCache.evict(docPath);
+        renditionCache.evict(docPath);
+
         try {
             String authHeader = getBasicAuthHeader();
 
@@ -148,37 +394,14 @@ public class OpenKMService {
             }
         } catch (Exception e) {
             throw new RuntimeException("Error deleting document from OpenKM: " + e.getMessage(), e);
-        }
-    }
-
-    /**
-     * Update a document in OpenKM (delete old and upload new)
-     *
-     * @param oldDocPath Old document path in OpenKM (to delete)
-     * @param purchaseId ID of the purchase
-     * @param purchaseDate Date of the purchase (to extract year/month)
-     * @param fileName Name of the new file
-     * @param fileUpload New file to upload
-     * @return Full document path in OpenKM of the new file
-     * @throws RuntimeException if update fails
-     */
-    public String updateDocument(String oldDocPath, Long purchaseId, java.time.LocalDateTime purchaseDate, String fileName, FileUpload fileUpload) {
-        try {
-            // 1. Delete old document if exists
-            if (oldDocPath != null && !oldDocPath.isEmpty()) {
-                try {
-                    deleteDocument(oldDocPath);
-                } catch (Exception e) {
-                    // Log but continue - old document might already be deleted
-                    System.err.println("Warning: Could not delete old document: " + e.getMessage());
-                }
+        } finally {
+            // The path can be reused once deleted: other instances must drop their copies too.
+            // After the remote call, so nothing they cache meanwhile outlives the old content
+            try {
+                cacheInvalidator.recordDocument(docPath);
+            } catch (Exception e) {
+                System.err.println("Warning: Could not broadcast eviction of " + docPath + ": " + e.getMessage());
             }
-
-            // 2. Upload new document
-            return uploadDocument(purchaseId, purchaseDate, fileName, fileUpload);
-
-        } catch (Exception e) {
-            throw new RuntimeException("Error updating document in OpenKM: " + e.getMessage(), e);
         }
     }
 
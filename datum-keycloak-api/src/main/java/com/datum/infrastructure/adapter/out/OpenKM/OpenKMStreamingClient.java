@@ -0,0 +1,159 @@
+package com.datum.infrastructure.adapter.out.openkm;
+
+import io.quarkus.arc.properties.IfBuildProperty;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpClient;
+import io.vertx.core.http.HttpClientOptions;
+import io.vertx.core.http.HttpHeaders;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.core.http.RequestOptions;
+import io.vertx.core.streams.ReadStream;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Streams a document from an incoming request straight into OpenKM's createSimple endpoint
+ * The multipart body for OpenKM is framed by hand around the incoming bytes, which are
+ * forwarded as they arrive: nothing is written to disk and at most the HTTP client's write
+ * queue is held in memory. When OpenKM reads slower than the client sends, the incoming
+ * request is paused until the queue drains (backpressure).
+ *
+ * Goes through a plain Vert.x HTTP client, so the fault tolerance of OpenKMClient does not
+ * apply; connect and idle timeouts bound the call instead.
+ */
+@ApplicationScoped
+@IfBuildProperty(name = "datum.document-store", stringValue = "openkm", enableIfMissing = true)
+public class OpenKMStreamingClient {
+
+    @Inject
+    Vertx vertx;
+
+    @ConfigProperty(name = "quarkus.rest-client.\"openkm-api\".url")
+    String openkmUrl;
+
+    @ConfigProperty(name = "openkm.username")
+    String openkmUsername;
+
+    @ConfigProperty(name = "openkm.password")
+    String openkmPassword;
+
+    @ConfigProperty(name = "datum.upload.direct.connect-timeout-ms", defaultValue = "2000")
+    int connectTimeoutMs;
+
+    @ConfigProperty(name = "datum.upload.direct.idle-timeout-ms", defaultValue = "30000")
+    long idleTimeoutMs;
+
+    private HttpClient client;
+
+    @PostConstruct
+    void init() {
+        client = vertx.createHttpClient(new HttpClientOptions().setConnectTimeout(connectTimeoutMs));
+    }
+
+    @PreDestroy
+    void close() {
+        client.close();
+    }
+
+    /**
+     * Upload the content of a stream to OpenKM
+     * The source must be paused; it is resumed here and consumed to the end.
+     *
+     * @param docPath Target path in OpenKM (folders must exist, see OpenKMService.prepareUpload)
+     * @param fileName File name sent with the content part
+     * @param source Incoming content
+     * @param contentLength Length of the content if known, otherwise the request is chunked
+     * @param tap Sees every buffer before it is forwarded; throwing aborts the upload
+     * @return Completes once OpenKM has accepted the document
+     */
+    public Future<Void> upload(String docPath, String fileName, ReadStream<Buffer> source, Long contentLength, Handler<Buffer> tap) {
+        String boundary = "datum-" + UUID.randomUUID();
+        Buffer head = Buffer.buffer("--" + boundary + "\r\n"
+            + "Content-Disposition: form-data; name=\"docPath\"\r\n\r\n"
+            + docPath + "\r\n"
+            + "--" + boundary + "\r\n"
+            + "Content-Disposition: form-data; name=\"content\"; filename=\"" + fileName + "\"\r\n"
+            + "Content-Type: application/octet-stream\r\n\r\n", StandardCharsets.UTF_8.name());
+        Buffer tail = Buffer.buffer("\r\n--" + boundary + "--\r\n");
+
+        RequestOptions options = new RequestOptions()
+            .setMethod(HttpMethod.POST)
+            .setAbsoluteURI(openkmUrl + "/services/rest/document/createSimple")
+            .setIdleTimeout(idleTimeoutMs)
+            .putHeader(HttpHeaders.AUTHORIZATION, basicAuthHeader())
+            .putHeader(HttpHeaders.CONTENT_TYPE, "multipart/form-data; boundary=" + boundary)
+            .putHeader(HttpHeaders.ACCEPT, "application/json");
+
+        Promise<Void> result = Promise.promise();
+
+        client.request(options).onFailure(e -> {
+            source.resume();
+            result.tryFail(e);
+        }).onSuccess(request -> {
+            if (contentLength != null) {
+                request.putHeader(HttpHeaders.CONTENT_LENGTH, String.valueOf(head.length() + contentLength + tail.length()));
+            } else {
+                request.setChunked(true);
+            }
+
+            // 1. OpenKM's answer settles the upload
+            request.response().onComplete(response -> {
+                if (response.failed()) {
+                    result.tryFail(response.cause());
+                } else if (response.result().statusCode() == 200 || response.result().statusCode() == 201) {
+                    result.tryComplete();
+                } else {
+                    result.tryFail(new RuntimeException("Failed to upload document to OpenKM. Status: " + response.result().statusCode()));
+                }
+            });
+
+            // 2. Forward the incoming bytes, pausing the source while OpenKM catches up
+            request.write(head);
+            source.handler(buffer -> {
+                if (result.future().isComplete()) {
+                    return;
+                }
+                try {
+                    tap.handle(buffer);
+                } catch (RuntimeException e) {
+                    request.reset();
+                    result.tryFail(e);
+                    return;
+                }
+                request.write(buffer);
+                if (request.writeQueueFull()) {
+                    source.pause();
+                    request.drainHandler(v -> source.resume());
+                }
+            });
+            source.exceptionHandler(e -> {
+                request.reset();
+                result.tryFail(e);
+            });
+            source.endHandler(v -> {
+                if (!result.future().isComplete()) {
+                    request.end(tail);
+                }
+            });
+            source.resume();
+        });
+
+        return result.future();
+    }
+
+    private String basicAuthHeader() {
+        String credentials = openkmUsername + ":" + openkmPassword;
+        return "Basic " + Base64.getEncoder().encodeToString(credentials.getBytes(StandardCharsets.UTF_8));
+    }
+}
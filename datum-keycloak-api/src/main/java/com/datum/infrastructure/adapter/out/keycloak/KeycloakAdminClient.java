@@ -8,9 +8,21 @@ import jakarta.ws.rs.core.Response;
 import java.util.List;
 import java.util.Map;
 
+import org.eclipse.microprofile.faulttolerance.Bulkhead;
+import org.eclipse.microprofile.faulttolerance.CircuitBreaker;
+import org.eclipse.microprofile.faulttolerance.Timeout;
 import org.eclipse.microprofile.rest.client.inject.RegisterRestClient;
 
+/**
+ * REST Client for the Keycloak admin API
+ * Calls are bounded by a deadline, a concurrency cap and a circuit breaker;
+ * error responses from Keycloak don't count as failures.
+ */
 @RegisterRestClient(configKey = "keycloak-admin-api")
+@Timeout(5000)
+@Bulkhead(8)
+@CircuitBreaker(requestVolumeThreshold = 20, failureRatio = 0.5, delay = 10000, successThreshold = 2,
+                skipOn = WebApplicationException.class)
 @Path("/admin/realms/datum")
 @Produces(MediaType.APPLICATION_JSON)
 @Consumes(MediaType.APPLICATION_JSON)
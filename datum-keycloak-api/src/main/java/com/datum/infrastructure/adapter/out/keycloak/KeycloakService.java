@@ -6,8 +6,10 @@ import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import jakarta.ws.rs.core.Response;
 import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.eclipse.microprofile.faulttolerance.exceptions.FaultToleranceException;
 import org.eclipse.microprofile.rest.client.inject.RestClient;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.Map;
 
@@ -28,6 +30,10 @@ public class KeycloakService {
     @ConfigProperty(name = "keycloak.admin.password", defaultValue = "admin")
     String adminPassword;
 
+    // Upper bound for blocking waits on Keycloak (the client deadline normally fires first)
+    @ConfigProperty(name = "keycloak.call-timeout", defaultValue = "10s")
+    Duration callTimeout;
+
     /**
      * Creates a user in Keycloak with a temporary password
      * @return Keycloak user ID if successful, null otherwise
@@ -85,6 +91,9 @@ public class KeycloakService {
             }
 
             return null;
+        } catch (FaultToleranceException e) {
+            // Keycloak slow or down: let the caller answer 503 rather than a generic failure
+            throw e;
         } catch (Exception e) {
             System.err.println("Exception creating user in Keycloak: " + e.getMessage());
             e.printStackTrace();
@@ -153,9 +162,15 @@ public class KeycloakService {
                 "admin-cli",  // Use admin-cli client
                 adminUsername,
                 adminPassword
-            ).await().indefinitely();
+            ).await().atMost(callTimeout);
             
             return "Bearer " + tokenResponse.access_token;
+        } catch (FaultToleranceException e) {
+            throw e;
+        } catch (io.smallrye.mutiny.TimeoutException e) {
+            // Same meaning as a fault tolerance deadline, so callers answer 503
+            throw new org.eclipse.microprofile.faulttolerance.exceptions.TimeoutException(
+                "Keycloak did not answer within " + callTimeout);
         } catch (Exception e) {
             System.err.println("Failed to get admin token: " + e.getMessage());
             e.printStackTrace();
@@ -0,0 +1,84 @@
+package com.datum.infrastructure.adapter.out.persistence;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * JPA Entity for TB_CACHE_INVALIDATION table (changes to second-level cached entities)
+ * Maps to Oracle database table
+ */
+@Entity
+@Table(name = "TB_CACHE_INVALIDATION", schema = "C##DATUM")
+public class CacheInvalidationEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "ID_INVALIDATION")
+    private Long id;
+
+    @Column(name = "ENTITY_NAME", nullable = false, length = 100)
+    private String entityName;
+
+    @Column(name = "ENTITY_ID")
+    private Long entityId;
+
+    // Document path of a "Document" entry (ENTITY_ID is empty then)
+    @Column(name = "ENTITY_KEY", length = 1000)
+    private String entityKey;
+
+    @Column(name = "ORIGIN", nullable = false, length = 36)
+    private String origin;
+
+    // Set by the database (DEFAULT SYSTIMESTAMP), the only clock all instances share
+    @Column(name = "CREATED_DATE", nullable = false, insertable = false, updatable = false)
+    private LocalDateTime createdDate;
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getEntityName() {
+        return entityName;
+    }
+
+    public void setEntityName(String entityName) {
+        this.entityName = entityName;
+    }
+
+    public Long getEntityId() {
+        return entityId;
+    }
+
+    public void setEntityId(Long entityId) {
+        this.entityId = entityId;
+    }
+
+    public String getEntityKey() {
+        return entityKey;
+    }
+
+    public void setEntityKey(String entityKey) {
+        this.entityKey = entityKey;
+    }
+
+    public String getOrigin() {
+        return origin;
+    }
+
+    public void setOrigin(String origin) {
+        this.origin = origin;
+    }
+
+    public LocalDateTime getCreatedDate() {
+        return createdDate;
+    }
+
+    public void setCreatedDate(LocalDateTime createdDate) {
+        this.createdDate = createdDate;
+    }
+}
@@ -0,0 +1,155 @@
+package com.datum.infrastructure.adapter.out.persistence;
+
+import com.datum.domain.model.DocumentUpload;
+import com.datum.domain.model.DocumentUploadStatus;
+import com.datum.domain.ports.out.DocumentUploadRepositoryPort;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Adapter for the document upload outbox
+ * Implements DocumentUploadRepositoryPort using JPA/Hibernate
+ */
+@ApplicationScoped
+public class DocumentUploadRepositoryAdapter implements DocumentUploadRepositoryPort {
+
+    @PersistenceContext
+    EntityManager entityManager;
+
+    @Override
+    public DocumentUpload save(DocumentUpload upload) {
+        DocumentUploadEntity entity = toEntity(upload);
+
+        if (entity.getId() == null) {
+            entityManager.persist(entity); // Create
+        } else {
+            entity = entityManager.merge(entity); // Update
+        }
+
+        return toDomain(entity);
+    }
+
+    @Override
+    public Optional<DocumentUpload> findById(Long id) {
+        DocumentUploadEntity entity = entityManager.find(DocumentUploadEntity.class, id);
+        return Optional.ofNullable(entity).map(this::toDomain);
+    }
+
+    @Override
+    public List<Long> findDueIds(LocalDateTime now, int limit) {
+        return entityManager
+            .createQuery("SELECT u.id FROM DocumentUploadEntity u WHERE u.status = :status AND u.nextAttemptAt <= :now ORDER BY u.nextAttemptAt", Long.class)
+            .setParameter("status", DocumentUploadStatus.PENDING.name())
+            .setParameter("now", now)
+            .setMaxResults(limit)
+            .getResultList();
+    }
+
+    @Override
+    public boolean claim(Long id, LocalDateTime lockedAt) {
+        // Conditional update: only one worker (on any instance) can win the row
+        int updated = entityManager
+            .createQuery("UPDATE DocumentUploadEntity u SET u.status = :inProgress, u.lockedAt = :lockedAt WHERE u.id = :id AND u.status = :pending")
+            .setParameter("inProgress", DocumentUploadStatus.IN_PROGRESS.name())
+            .setParameter("lockedAt", lockedAt)
+            .setParameter("id", id)
+            .setParameter("pending", DocumentUploadStatus.PENDING.name())
+            .executeUpdate();
+
+        return updated == 1;
+    }
+
+    @Override
+    public int releaseStale(LocalDateTime lockedBefore) {
+        return entityManager
+            .createQuery("UPDATE DocumentUploadEntity u SET u.status = :pending, u.lockedAt = NULL WHERE u.status = :inProgress AND u.lockedAt < :lockedBefore")
+            .setParameter("pending", DocumentUploadStatus.PENDING.name())
+            .setParameter("inProgress", DocumentUploadStatus.IN_PROGRESS.name())
+            .setParameter("lockedBefore", lockedBefore)
+            .executeUpdate();
+    }
+
+    @Override
+    public List<String> findReferencedStagedFiles(List<String> stagedFiles) {
+        if (stagedFiles.isEmpty()) {
+            return List.of();
+        }
+        // Oracle allows at most 1000 expressions in an IN list
+        List<String> referenced = new java.util.ArrayList<>();
+        for (int from = 0; from < stagedFiles.size(); from += 1000) {
+            referenced.addAll(entityManager
+                .createQuery("SELECT u.stagedFile FROM DocumentUploadEntity u WHERE u.stagedFile IN :stagedFiles", String.class)
+                .setParameter("stagedFiles", stagedFiles.subList(from, Math.min(from + 1000, stagedFiles.size())))
+                .getResultList());
+        }
+        return referenced;
+    }
+
+    @Override
+    public int cancelPendingByFolderId(Long folderId, String reason) {
+        return entityManager
+            .createQuery("UPDATE DocumentUploadEntity u SET u.status = :failed, u.lastError = :reason, u.completedDate = :now "
+                + "WHERE u.status = :pending AND u.purchaseId IN (SELECT p.idPurchase FROM PurchaseEntity p WHERE p.idFolder = :folderId)")
+            .setParameter("failed", DocumentUploadStatus.FAILED.name())
+            .setParameter("reason", reason)
+            .setParameter("now", LocalDateTime.now())
+            .setParameter("pending", DocumentUploadStatus.PENDING.name())
+            .setParameter("folderId", folderId)
+            .executeUpdate();
+    }
+
+    @Override
+    public long countInProgressByFolderId(Long folderId) {
+        return entityManager
+            .createQuery("SELECT COUNT(u) FROM DocumentUploadEntity u "
+                + "WHERE u.status = :inProgress AND u.purchaseId IN (SELECT p.idPurchase FROM PurchaseEntity p WHERE p.idFolder = :folderId)", Long.class)
+            .setParameter("inProgress", DocumentUploadStatus.IN_PROGRESS.name())
+            .setParameter("folderId", folderId)
+            .getSingleResult();
+    }
+
+    // Mapper: Entity -> Domain
+    private DocumentUpload toDomain(DocumentUploadEntity entity) {
+        DocumentUpload upload = new DocumentUpload();
+        upload.setId(entity.getId());
+        upload.setPurchaseId(entity.getPurchaseId());
+        upload.setFileName(entity.getFileName());
+        upload.setMimeType(entity.getMimeType());
+        upload.setFileSize(entity.getFileSize());
+        upload.setStagedFile(entity.getStagedFile());
+        upload.setStatus(DocumentUploadStatus.valueOf(entity.getStatus()));
+        upload.setAttempts(entity.getAttempts());
+        upload.setNextAttemptAt(entity.getNextAttemptAt());
+        upload.setLockedAt(entity.getLockedAt());
+        upload.setLastError(entity.getLastError());
+        upload.setDocumentPath(entity.getDocumentPath());
+        upload.setCreatedDate(entity.getCreatedDate());
+        upload.setCompletedDate(entity.getCompletedDate());
+        return upload;
+    }
+
+    // Mapper: Domain -> Entity
+    private DocumentUploadEntity toEntity(DocumentUpload upload) {
+        DocumentUploadEntity entity = new DocumentUploadEntity();
+        entity.setId(upload.getId());
+        entity.setPurchaseId(upload.getPurchaseId());
+        entity.setFileName(upload.getFileName());
+        entity.setMimeType(upload.getMimeType());
+        entity.setFileSize(upload.getFileSize());
+        entity.setStagedFile(upload.getStagedFile());
+        entity.setStatus(upload.getStatus().name());
+        entity.setAttempts(upload.getAttempts());
+        entity.setNextAttemptAt(upload.getNextAttemptAt());
+        entity.setLockedAt(upload.getLockedAt());
+        entity.setLastError(upload.getLastError());
+        entity.setDocumentPath(upload.getDocumentPath());
+        entity.setCreatedDate(upload.getCreatedDate());
+        entity.setCompletedDate(upload.getCompletedDate());
+        return entity;
+    }
+}
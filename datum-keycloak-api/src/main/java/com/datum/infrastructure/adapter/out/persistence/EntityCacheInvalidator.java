@@ -0,0 +1,180 @@
+package com.datum.infrastructure.adapter.out.persistence;
+
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Event;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.transaction.Transactional;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Keeps the second-level cache of users and folders consistent across API instances
+ * Hibernate's cache is local to each instance. Every change to a cached entity is written
+ * to TB_CACHE_INVALIDATION in the transaction making it; each instance polls that log and
+ * evicts what the others changed, so a change reaches every instance within a poll interval.
+ * When polls fall too far apart to be sure nothing was missed, the regions are cleared.
+ * Stored documents cached per instance go through the same log, keyed by path.
+ * Entries are dated by the database and the window is measured on its clock, never the JVM's.
+ */
+@ApplicationScoped
+public class EntityCacheInvalidator {
+
+    // Marks this instance's own entries: Hibernate already applied those to the local cache
+    private static final String ORIGIN = UUID.randomUUID().toString();
+
+    // Entries keyed by document path rather than entity id
+    private static final String DOCUMENT = "Document";
+
+    private static final Map<String, Class<?>> CACHED_ENTITIES = Map.of(
+        UserEntity.class.getSimpleName(), UserEntity.class,
+        FolderEntity.class.getSimpleName(), FolderEntity.class);
+
+    @PersistenceContext
+    EntityManager entityManager;
+
+    @Inject
+    SessionFactory sessionFactory;
+
+    @Inject
+    Event<StoredDocumentChanged> documentChanged;
+
+    // Entries are written before their transaction commits: keep at least twice the transaction timeout
+    @ConfigProperty(name = "datum.cache.invalidation.window", defaultValue = "2m")
+    Duration window;
+
+    @ConfigProperty(name = "datum.cache.invalidation.retention", defaultValue = "1h")
+    Duration retention;
+
+    private final Map<Long, LocalDateTime> seen = new HashMap<>();
+    private List<CacheInvalidationEntity> evictAgain = List.of();
+    private LocalDateTime lastPoll;
+
+    /**
+     * Record that a cached entity changed
+     * Must run in the transaction that changes it, so the entry commits (or not) with the change.
+     */
+    void record(Class<?> entityType, Long id) {
+        CacheInvalidationEntity entry = new CacheInvalidationEntity();
+        entry.setEntityName(entityType.getSimpleName());
+        entry.setEntityId(id);
+        entry.setOrigin(ORIGIN);
+        entityManager.persist(entry);
+    }
+
+    /**
+     * Tell the other instances that the stored document at a path was deleted or replaced
+     * Written in its own transaction: the change is in the document store, not in this database.
+     */
+    public void recordDocument(String path) {
+        QuarkusTransaction.requiringNew().run(() -> {
+            CacheInvalidationEntity entry = new CacheInvalidationEntity();
+            entry.setEntityName(DOCUMENT);
+            entry.setEntityKey(path);
+            entry.setOrigin(ORIGIN);
+            entityManager.persist(entry);
+        });
+    }
+
+    @Scheduled(every = "${datum.cache.invalidation.poll-interval:2s}", concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+    void poll() {
+        LocalDateTime now = databaseNow();
+        LocalDateTime since = now.minus(window);
+
+        // 1. Entries of other instances still inside the window
+        List<CacheInvalidationEntity> entries = entityManager
+            .createQuery("SELECT c FROM CacheInvalidationEntity c WHERE c.createdDate > :since AND c.origin <> :origin", CacheInvalidationEntity.class)
+            .setParameter("since", since)
+            .setParameter("origin", ORIGIN)
+            .getResultList();
+
+        // 2. Paused or cut off from the database for half the window: entries may have slipped out of it
+        if (lastPoll != null && Duration.between(lastPoll, now).compareTo(window.dividedBy(2)) > 0) {
+            System.err.println("Cache invalidation poll late by " + Duration.between(lastPoll, now) + ", clearing user and folder caches");
+            CACHED_ENTITIES.values().forEach(this::evictAll);
+
+            // Document caches can't be cleared cheaply: replay their entries since the last poll
+            // instead (kept for the retention period)
+            entityManager
+                .createQuery("SELECT c FROM CacheInvalidationEntity c WHERE c.entityName = :name AND c.createdDate > :since AND c.createdDate <= :until AND c.origin <> :origin", CacheInvalidationEntity.class)
+                .setParameter("name", DOCUMENT)
+                .setParameter("since", lastPoll.minus(window))
+                .setParameter("until", since)
+                .setParameter("origin", ORIGIN)
+                .getResultList()
+                .forEach(this::evict);
+        }
+
+        // 3. Evict new entries, and the previous poll's once more: a load in flight
+        //    during the first eviction may have put the old state back
+        List<CacheInvalidationEntity> fresh = new ArrayList<>();
+        for (CacheInvalidationEntity entry : entries) {
+            if (seen.putIfAbsent(entry.getId(), entry.getCreatedDate()) == null) {
+                fresh.add(entry);
+            }
+        }
+        evictAgain.forEach(this::evict);
+        fresh.forEach(this::evict);
+        evictAgain = fresh;
+
+        // 4. Forget entries that left the window
+        seen.values().removeIf(createdDate -> createdDate.isBefore(since));
+        lastPoll = now;
+    }
+
+    @Scheduled(every = "${datum.cache.invalidation.purge-interval:15m}", concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+    @Transactional
+    void purge() {
+        int purged = entityManager
+            .createQuery("DELETE FROM CacheInvalidationEntity c WHERE c.createdDate < :before")
+            .setParameter("before", databaseNow().minus(retention))
+            .executeUpdate();
+        if (purged > 0) {
+            System.out.println("Purged " + purged + " cache invalidation entr" + (purged == 1 ? "y" : "ies"));
+        }
+    }
+
+    // Same expression as the CREATED_DATE default
+    private LocalDateTime databaseNow() {
+        return (LocalDateTime) entityManager
+            .createNativeQuery("SELECT CAST(SYSTIMESTAMP AS TIMESTAMP) FROM DUAL", LocalDateTime.class)
+            .getSingleResult();
+    }
+
+    private void evict(CacheInvalidationEntity entry) {
+        if (DOCUMENT.equals(entry.getEntityName())) {
+            documentChanged.fire(new StoredDocumentChanged(entry.getEntityKey()));
+            return;
+        }
+        Class<?> entityType = CACHED_ENTITIES.get(entry.getEntityName());
+        if (entityType == null) {
+            return; // Written by a newer version caching more entities
+        }
+        Cache cache = sessionFactory.getCache();
+        cache.evictEntityData(entityType, entry.getEntityId());
+        if (entityType == UserEntity.class) {
+            // keycloakId → id lookups of a deleted user
+            cache.evictNaturalIdData(entityType);
+        }
+    }
+
+    private void evictAll(Class<?> entityType) {
+        Cache cache = sessionFactory.getCache();
+        cache.evictEntityData(entityType);
+        if (entityType == UserEntity.class) {
+            cache.evictNaturalIdData(entityType);
+        }
+    }
+}
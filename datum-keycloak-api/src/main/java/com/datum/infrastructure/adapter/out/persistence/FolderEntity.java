@@ -4,12 +4,15 @@ import jakarta.persistence.*;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 
+// Second-level cached; changes reach other instances through EntityCacheInvalidator
 @Entity
+@Cacheable
 @Table(name = "TB_FOLDER", schema = "C##DATUM")
 public class FolderEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "folderSeq")
+    @SequenceGenerator(name = "folderSeq", sequenceName = "SEQ_FOLDER", schema = "C##DATUM", allocationSize = 50)
     @Column(name = "ID_FOLDER")
     private Long id;
 
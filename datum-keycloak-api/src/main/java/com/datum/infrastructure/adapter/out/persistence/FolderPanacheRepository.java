@@ -2,20 +2,8 @@ package com.datum.infrastructure.adapter.out.persistence;
 
 import io.quarkus.hibernate.orm.panache.PanacheRepository;
 import jakarta.enterprise.context.ApplicationScoped;
-import java.util.List;
 
+// Primary persistence unit only; listings that may go to the replica are in FolderRepositoryAdapter
 @ApplicationScoped
 public class FolderPanacheRepository implements PanacheRepository<FolderEntity> {
-
-    public List<FolderEntity> findByUserId(Long userId) {
-        return list("userId", userId);
-    }
-
-    public List<FolderEntity> findByStatus(String status) {
-        return list("validationStatus", status);
-    }
-
-    public List<FolderEntity> findByUserIdAndStatus(Long userId, String status) {
-        return list("userId = ?1 and validationStatus = ?2", userId, status);
-    }
-}
\ No newline at end of file
+}
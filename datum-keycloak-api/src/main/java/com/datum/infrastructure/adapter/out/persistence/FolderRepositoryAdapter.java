@@ -2,13 +2,17 @@ package com.datum.infrastructure.adapter.out.persistence;
 
 import com.datum.domain.model.Folder;
 import com.datum.domain.model.FolderStatus;
+import com.datum.domain.model.FolderSummary;
+import com.datum.domain.model.Page;
+import com.datum.domain.model.PageRequest;
 import com.datum.domain.ports.out.FolderRepositoryPort;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
+import jakarta.persistence.TypedQuery;
 
-import java.util.List;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 @ApplicationScoped
 public class FolderRepositoryAdapter implements FolderRepositoryPort {
@@ -16,6 +20,12 @@ public class FolderRepositoryAdapter implements FolderRepositoryPort {
     @Inject
     FolderPanacheRepository folderPanacheRepository;
 
+    @Inject
+    EntityCacheInvalidator cacheInvalidator;
+
+    @Inject
+    ReadRouter readRouter;
+
     @Override
     public Folder save(Folder folder) {
         FolderEntity entity = toEntity(folder);
@@ -24,6 +34,7 @@ public class FolderRepositoryAdapter implements FolderRepositoryPort {
         // If no ID, it's a create (use persist)
         if (entity.getId() != null) {
             entity = folderPanacheRepository.getEntityManager().merge(entity);
+            cacheInvalidator.record(FolderEntity.class, entity.getId());
         } else {
             folderPanacheRepository.persist(entity);
         }
@@ -38,36 +49,47 @@ public class FolderRepositoryAdapter implements FolderRepositoryPort {
     }
 
     @Override
-    public List<Folder> findAll() {
-        return folderPanacheRepository.listAll().stream()
-            .map(this::toDomain)
-            .collect(Collectors.toList());
+    public Page<FolderSummary> findAll(PageRequest page) {
+        return findPage(null, new HashMap<>(), page);
+    }
+
+    @Override
+    public Page<FolderSummary> findByUserId(Long userId, PageRequest page) {
+        Map<String, Object> params = new HashMap<>();
+        params.put("userId", userId);
+        return findPage("f.userId = :userId", params, page);
     }
 
     @Override
-    public List<Folder> findByUserId(Long userId) {
-        return folderPanacheRepository.findByUserId(userId).stream()
-            .map(this::toDomain)
-            .collect(Collectors.toList());
+    public Page<FolderSummary> findByStatus(FolderStatus status, PageRequest page) {
+        Map<String, Object> params = new HashMap<>();
+        params.put("status", status.name());
+        return findPage("f.validationStatus = :status", params, page);
     }
 
     @Override
-    public List<Folder> findByStatus(FolderStatus status) {
-        return folderPanacheRepository.findByStatus(status.name()).stream()
-            .map(this::toDomain)
-            .collect(Collectors.toList());
+    public Page<FolderSummary> findByUserIdAndStatus(Long userId, FolderStatus status, PageRequest page) {
+        Map<String, Object> params = new HashMap<>();
+        params.put("userId", userId);
+        params.put("status", status.name());
+        return findPage("f.userId = :userId and f.validationStatus = :status", params, page);
     }
 
     @Override
-    public List<Folder> findByUserIdAndStatus(Long userId, FolderStatus status) {
-        return folderPanacheRepository.findByUserIdAndStatus(userId, status.name()).stream()
-            .map(this::toDomain)
-            .collect(Collectors.toList());
+    public boolean updateStatus(Long id, FolderStatus expected, FolderStatus status) {
+        boolean updated = folderPanacheRepository.update("validationStatus = ?1 where id = ?2 and validationStatus = ?3",
+            status.name(), id, expected.name()) == 1;
+        if (updated) {
+            cacheInvalidator.record(FolderEntity.class, id);
+        }
+        return updated;
     }
 
     @Override
     public void deleteById(Long id) {
-        folderPanacheRepository.deleteById(id);
+        if (folderPanacheRepository.deleteById(id)) {
+            cacheInvalidator.record(FolderEntity.class, id);
+        }
     }
 
     @Override
@@ -75,6 +97,26 @@ public class FolderRepositoryAdapter implements FolderRepositoryPort {
         return folderPanacheRepository.findByIdOptional(id).isPresent();
     }
 
+    /**
+     * Keyset page on ID_FOLDER, highest id first: the cursor is the id of the last folder of the previous page
+     * Projected straight into FolderSummary with a plain JPQL query, nothing enters the persistence
+     * context, so ReadRouter may serve it from the replica.
+     */
+    private Page<FolderSummary> findPage(String filter, Map<String, Object> params, PageRequest page) {
+        if (page.cursor() != null) {
+            filter = (filter != null ? filter + " and " : "") + "f.id < :beforeId";
+            params.put("beforeId", KeysetCursor.decodeId(page.cursor()));
+        }
+        // One row more than asked tells whether there is a next page
+        TypedQuery<FolderSummary> query = readRouter.forQuery().createQuery(
+                "SELECT new com.datum.domain.model.FolderSummary(f.id, f.userId, f.folderName, f.description, "
+                    + "f.startDate, f.endDate, f.validationStatus, f.validatedDate, f.validatedBy, f.validationNotes) "
+                    + "FROM FolderEntity f" + (filter != null ? " WHERE " + filter : "") + " ORDER BY f.id DESC", FolderSummary.class)
+            .setMaxResults(page.limit() + 1);
+        params.forEach(query::setParameter);
+        return KeysetCursor.page(query.getResultList(), page.limit(), summary -> summary, last -> KeysetCursor.encode(last.id()));
+    }
+
     // Conversion: Entity → Domain
     private Folder toDomain(FolderEntity entity) {
         Folder folder = new Folder();
@@ -0,0 +1,68 @@
+package com.datum.infrastructure.adapter.out.persistence;
+
+import com.datum.domain.model.Page;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Opaque cursors for keyset pagination
+ * A cursor holds the sort key values of the last row of a page (base64url of "key|key"),
+ * the next page continues strictly after them. Clients must not build or parse cursors.
+ */
+final class KeysetCursor {
+
+    private KeysetCursor() {
+    }
+
+    static String encode(Object... keys) {
+        StringBuilder value = new StringBuilder();
+        for (int i = 0; i < keys.length; i++) {
+            if (i > 0) {
+                value.append('|');
+            }
+            value.append(keys[i] != null ? keys[i] : "");
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Sort key values of a cursor, empty strings for null keys
+     *
+     * @throws IllegalArgumentException if the cursor was not issued for this listing
+     */
+    static String[] decode(String cursor, int keys) {
+        try {
+            String[] values = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|", -1);
+            if (values.length != keys) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return values;
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+
+    /**
+     * Decode a single numeric key
+     */
+    static Long decodeId(String cursor) {
+        try {
+            return Long.valueOf(decode(cursor, 1)[0]);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+
+    /**
+     * Build a page from rows fetched with limit + 1: the extra row only tells there is more
+     */
+    static <E, T> Page<T> page(List<E> rows, int limit, Function<E, T> mapper, Function<E, String> cursorOf) {
+        boolean more = rows.size() > limit;
+        List<E> pageRows = more ? rows.subList(0, limit) : rows;
+        String nextCursor = more ? cursorOf.apply(pageRows.get(limit - 1)) : null;
+        return new Page<>(pageRows.stream().map(mapper).toList(), nextCursor);
+    }
+}
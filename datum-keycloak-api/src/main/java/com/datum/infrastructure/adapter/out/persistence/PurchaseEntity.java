@@ -13,7 +13,9 @@ import java.time.LocalDateTime;
 public class PurchaseEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // Pooled sequence (INCREMENT BY 50): ids are handed out in memory, so inserts can be batched
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "purchaseSeq")
+    @SequenceGenerator(name = "purchaseSeq", sequenceName = "SEQ_PURCHASE", schema = "C##DATUM", allocationSize = 50)
     @Column(name = "ID_PURCHASE")
     private Long idPurchase;
 
@@ -47,6 +49,18 @@ public class PurchaseEntity {
     @Column(name = "IMG_URL", length = 255)
     private String imgUrl;
 
+    @Column(name = "DOC_SIZE")
+    private Long documentSize;
+
+    @Column(name = "DOC_MIME_TYPE", length = 100)
+    private String documentMimeType;
+
+    @Column(name = "DOC_UPDATED_DATE")
+    private LocalDateTime documentUpdatedDate;
+
+    @Column(name = "DOC_HASH", length = 64)
+    private String documentHash;
+
     @Column(name = "VALIDATION_STATUS", length = 20)
     private String validationStatus;
 
@@ -156,6 +170,38 @@ public class PurchaseEntity {
         this.imgUrl = imgUrl;
     }
 
+    public Long getDocumentSize() {
+        return documentSize;
+    }
+
+    public void setDocumentSize(Long documentSize) {
+        this.documentSize = documentSize;
+    }
+
+    public String getDocumentMimeType() {
+        return documentMimeType;
+    }
+
+    public void setDocumentMimeType(String documentMimeType) {
+        this.documentMimeType = documentMimeType;
+    }
+
+    public LocalDateTime getDocumentUpdatedDate() {
+        return documentUpdatedDate;
+    }
+
+    public void setDocumentUpdatedDate(LocalDateTime documentUpdatedDate) {
+        this.documentUpdatedDate = documentUpdatedDate;
+    }
+
+    public String getDocumentHash() {
+        return documentHash;
+    }
+
+    public void setDocumentHash(String documentHash) {
+        this.documentHash = documentHash;
+    }
+
     public String getValidationStatus() {
         return validationStatus;
     }
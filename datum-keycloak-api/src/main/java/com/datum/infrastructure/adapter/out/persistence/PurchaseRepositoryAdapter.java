@@ -1,14 +1,25 @@
 package com.datum.infrastructure.adapter.out.persistence;
 
+import com.datum.domain.model.Page;
+import com.datum.domain.model.PageRequest;
 import com.datum.domain.model.Purchase;
+import com.datum.domain.model.PurchaseDocumentSummary;
+import com.datum.domain.model.PurchaseSummary;
 import com.datum.domain.ports.out.PurchaseRepositoryPort;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
 import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
 import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 /**
  * Adapter for Purchase persistence operations
@@ -17,9 +28,20 @@ import java.util.stream.Collectors;
 @ApplicationScoped
 public class PurchaseRepositoryAdapter implements PurchaseRepositoryPort {
 
+    // Listing projection, no entity hydration or dirty-checking snapshot
+    private static final String SUMMARY_SELECT = "SELECT new com.datum.domain.model.PurchaseSummary("
+        + "p.idPurchase, p.idUser, p.idFolder, p.idPType, p.idPaymentMethod, p.idCostCenter, p.totalAmount, "
+        + "p.description, p.guestName, p.purchaseDate, p.imgUrl, p.documentSize, p.documentMimeType, p.documentHash, "
+        + "p.validationStatus, p.validatedDate, p.validatedBy, p.validationNotes, p.createdDate) FROM PurchaseEntity p";
+
+    private static final int MAX_IN_LIST = 1000;
+
     @PersistenceContext
     EntityManager entityManager;
 
+    @Inject
+    ReadRouter readRouter;
+
     @Override
     public Purchase save(Purchase purchase) {
         PurchaseEntity entity = toEntity(purchase);
@@ -40,36 +62,52 @@ public class PurchaseRepositoryAdapter implements PurchaseRepositoryPort {
     }
 
     @Override
-    public List<Purchase> findByUserId(Long userId) {
-        return entityManager
-            .createQuery("SELECT p FROM PurchaseEntity p WHERE p.idUser = :userId ORDER BY p.purchaseDate DESC", PurchaseEntity.class)
-            .setParameter("userId", userId)
-            .getResultList()
-            .stream()
-            .map(this::toDomain)
-            .collect(Collectors.toList());
+    public List<Purchase> findByIds(Collection<Long> ids) {
+        // Oracle accepts at most 1000 expressions in an IN list
+        List<Long> remaining = new ArrayList<>(ids);
+        List<Purchase> purchases = new ArrayList<>(remaining.size());
+        for (int from = 0; from < remaining.size(); from += MAX_IN_LIST) {
+            List<Long> chunk = remaining.subList(from, Math.min(from + MAX_IN_LIST, remaining.size()));
+            entityManager
+                .createQuery("SELECT p FROM PurchaseEntity p WHERE p.idPurchase IN :ids", PurchaseEntity.class)
+                .setParameter("ids", chunk)
+                .getResultList()
+                .forEach(entity -> purchases.add(toDomain(entity)));
+        }
+        return purchases;
     }
 
     @Override
-    public List<Purchase> findByFolderId(Long folderId) {
-        return entityManager
-            .createQuery("SELECT p FROM PurchaseEntity p WHERE p.idFolder = :folderId ORDER BY p.purchaseDate DESC", PurchaseEntity.class)
+    public Page<PurchaseSummary> findByUserId(Long userId, PageRequest page) {
+        return findPage("p.idUser = :userId", "userId", userId, page);
+    }
+
+    @Override
+    public List<PurchaseSummary> findByFolderId(Long folderId) {
+        return readRouter.forQuery()
+            .createQuery(SUMMARY_SELECT + " WHERE p.idFolder = :folderId ORDER BY p.purchaseDate DESC", PurchaseSummary.class)
             .setParameter("folderId", folderId)
-            .getResultList()
-            .stream()
-            .map(this::toDomain)
-            .collect(Collectors.toList());
+            .getResultList();
     }
 
     @Override
-    public List<Purchase> findByStatus(String status) {
-        return entityManager
-            .createQuery("SELECT p FROM PurchaseEntity p WHERE p.validationStatus = :status ORDER BY p.purchaseDate DESC", PurchaseEntity.class)
-            .setParameter("status", status)
-            .getResultList()
-            .stream()
-            .map(this::toDomain)
-            .collect(Collectors.toList());
+    public List<PurchaseDocumentSummary> findDocumentsByFolderId(Long folderId) {
+        return readRouter.forQuery()
+            .createQuery("SELECT new com.datum.domain.model.PurchaseDocumentSummary("
+                + "p.idPurchase, p.imgUrl, p.documentMimeType, p.documentSize, p.documentHash) FROM PurchaseEntity p "
+                + "WHERE p.idFolder = :folderId AND p.imgUrl IS NOT NULL ORDER BY p.purchaseDate DESC", PurchaseDocumentSummary.class)
+            .setParameter("folderId", folderId)
+            .getResultList();
+    }
+
+    @Override
+    public Page<PurchaseSummary> findByFolderId(Long folderId, PageRequest page) {
+        return findPage("p.idFolder = :folderId", "folderId", folderId, page);
+    }
+
+    @Override
+    public Page<PurchaseSummary> findByStatus(String status, PageRequest page) {
+        return findPage("p.validationStatus = :status", "status", status, page);
     }
 
     @Override
@@ -96,13 +134,177 @@ public class PurchaseRepositoryAdapter implements PurchaseRepositoryPort {
     }
 
     @Override
-    public List<Purchase> findAll() {
+    public Page<PurchaseSummary> findAll(PageRequest page) {
+        return findPage(null, null, null, page);
+    }
+
+    @Override
+    public Optional<String> findDocumentPathByHash(Long userId, String hash) {
+        // Oldest stored copy wins, so every duplicate converges on the same object
+        return entityManager
+            .createQuery("SELECT p.imgUrl FROM PurchaseEntity p WHERE p.documentHash = :hash AND p.idUser = :userId AND p.imgUrl IS NOT NULL ORDER BY p.idPurchase", String.class)
+            .setParameter("hash", hash)
+            .setParameter("userId", userId)
+            .setMaxResults(1)
+            .getResultStream()
+            .findFirst();
+    }
+
+    @Override
+    public List<Long> findIdsByDocumentHash(Long userId, String hash) {
+        return entityManager
+            .createQuery("SELECT p.idPurchase FROM PurchaseEntity p WHERE p.documentHash = :hash AND p.idUser = :userId ORDER BY p.idPurchase", Long.class)
+            .setParameter("hash", hash)
+            .setParameter("userId", userId)
+            .getResultList();
+    }
+
+    @Override
+    public void lockDocumentReferences(Long userId) {
+        // SELECT ... FOR UPDATE on the owner's row; the row itself is not changed
+        if (entityManager.find(UserEntity.class, userId, LockModeType.PESSIMISTIC_WRITE) == null) {
+            throw new IllegalArgumentException("User not found with ID: " + userId);
+        }
+    }
+
+    @Override
+    public long countByDocumentPath(String path) {
         return entityManager
-            .createQuery("SELECT p FROM PurchaseEntity p ORDER BY p.purchaseDate DESC", PurchaseEntity.class)
+            .createQuery("SELECT COUNT(p) FROM PurchaseEntity p WHERE p.imgUrl = :path", Long.class)
+            .setParameter("path", path)
+            .getSingleResult();
+    }
+
+    @Override
+    public List<String> findDocumentPathsByFolderId(Long folderId) {
+        return entityManager
+            .createQuery("SELECT DISTINCT p.imgUrl FROM PurchaseEntity p WHERE p.idFolder = :folderId AND p.imgUrl IS NOT NULL", String.class)
+            .setParameter("folderId", folderId)
+            .getResultList();
+    }
+
+    @Override
+    public int deleteByFolderId(Long folderId) {
+        return entityManager
+            .createQuery("DELETE FROM PurchaseEntity p WHERE p.idFolder = :folderId")
+            .setParameter("folderId", folderId)
+            .executeUpdate();
+    }
+
+    @Override
+    public List<String> findReferencedDocumentPaths(List<String> paths) {
+        if (paths.isEmpty()) {
+            return List.of();
+        }
+        // Oracle allows at most 1000 expressions in an IN list
+        List<String> referenced = new java.util.ArrayList<>();
+        for (int from = 0; from < paths.size(); from += 1000) {
+            referenced.addAll(entityManager
+                .createQuery("SELECT DISTINCT p.imgUrl FROM PurchaseEntity p WHERE p.imgUrl IN :paths", String.class)
+                .setParameter("paths", paths.subList(from, Math.min(from + 1000, paths.size())))
+                .getResultList());
+        }
+        return referenced;
+    }
+
+    @Override
+    public int updateStatusByFolderId(Long folderId, String fromStatus, String toStatus) {
+        // Bulk update: bypasses the persistence context, callers must not hold these purchases loaded
+        return entityManager
+            .createQuery("UPDATE PurchaseEntity p SET p.validationStatus = :toStatus WHERE p.idFolder = :folderId AND p.validationStatus = :fromStatus")
+            .setParameter("toStatus", toStatus)
+            .setParameter("folderId", folderId)
+            .setParameter("fromStatus", fromStatus)
+            .executeUpdate();
+    }
+
+    @Override
+    public long countByFolderId(Long folderId) {
+        return entityManager
+            .createQuery("SELECT COUNT(p) FROM PurchaseEntity p WHERE p.idFolder = :folderId", Long.class)
+            .setParameter("folderId", folderId)
+            .getSingleResult();
+    }
+
+    @Override
+    public Map<String, Long> countByStatusInFolder(Long folderId) {
+        Map<String, Long> counts = new HashMap<>();
+        entityManager
+            .createQuery("SELECT p.validationStatus, COUNT(p) FROM PurchaseEntity p WHERE p.idFolder = :folderId GROUP BY p.validationStatus", Object[].class)
+            .setParameter("folderId", folderId)
             .getResultList()
-            .stream()
-            .map(this::toDomain)
-            .collect(Collectors.toList());
+            .forEach(row -> counts.put((String) row[0], (Long) row[1]));
+        return counts;
+    }
+
+    @Override
+    public List<String> findDocumentPathsUnder(String folderPath) {
+        // Prefix match keeps the IMG_URL index usable; LIKE wildcards in the path are escaped
+        String prefix = folderPath.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "/%";
+        return entityManager
+            .createQuery("SELECT DISTINCT p.imgUrl FROM PurchaseEntity p WHERE p.imgUrl LIKE :prefix ESCAPE '\\'", String.class)
+            .setParameter("prefix", prefix)
+            .getResultList();
+    }
+
+    @Override
+    public Optional<LocalDateTime> findEarliestPurchaseDate() {
+        LocalDateTime earliest = entityManager
+            .createQuery("SELECT MIN(p.purchaseDate) FROM PurchaseEntity p", LocalDateTime.class)
+            .getSingleResult();
+        return Optional.ofNullable(earliest);
+    }
+
+    /**
+     * Keyset page ordered by (P_DATE DESC, ID_PURCHASE DESC)
+     * The next page starts strictly after the last row of the previous one, so it costs an
+     * index range scan however deep the client has paged. Purchases without a date come first,
+     * as Oracle sorts NULLs in descending order, so the order matches the indexes of the V6 migration.
+     * Rows are selected straight into PurchaseSummary: nothing enters the persistence context,
+     * which is what lets ReadRouter serve the page from the read replica.
+     */
+    private Page<PurchaseSummary> findPage(String filter, String param, Object value, PageRequest page) {
+        StringBuilder where = new StringBuilder();
+        if (filter != null) {
+            where.append(filter);
+        }
+
+        // 1. Continue after the cursor row
+        LocalDateTime afterDate = null;
+        Long afterId = null;
+        if (page.cursor() != null) {
+            String[] keys = KeysetCursor.decode(page.cursor(), 2);
+            try {
+                afterDate = keys[0].isEmpty() ? null : LocalDateTime.parse(keys[0]);
+                afterId = Long.valueOf(keys[1]);
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            if (where.length() > 0) {
+                where.append(" AND ");
+            }
+            where.append(afterDate != null
+                ? "(p.purchaseDate < :afterDate OR (p.purchaseDate = :afterDate AND p.idPurchase < :afterId))"
+                : "((p.purchaseDate IS NULL AND p.idPurchase < :afterId) OR p.purchaseDate IS NOT NULL)");
+        }
+
+        // 2. One row more than asked tells whether there is a next page
+        TypedQuery<PurchaseSummary> query = readRouter.forQuery().createQuery(
+                SUMMARY_SELECT + (where.length() > 0 ? " WHERE " + where : "")
+                    + " ORDER BY p.purchaseDate DESC NULLS FIRST, p.idPurchase DESC", PurchaseSummary.class)
+            .setMaxResults(page.limit() + 1);
+        if (param != null) {
+            query.setParameter(param, value);
+        }
+        if (afterDate != null) {
+            query.setParameter("afterDate", afterDate);
+        }
+        if (afterId != null) {
+            query.setParameter("afterId", afterId);
+        }
+
+        return KeysetCursor.page(query.getResultList(), page.limit(), summary -> summary,
+            last -> KeysetCursor.encode(last.purchaseDate(), last.idPurchase()));
     }
 
     // Mapper: Entity -> Domain
@@ -119,6 +321,10 @@ public class PurchaseRepositoryAdapter implements PurchaseRepositoryPort {
         purchase.setGuestName(entity.getGuestName());
         purchase.setPurchaseDate(entity.getPurchaseDate());
         purchase.setImgUrl(entity.getImgUrl());
+        purchase.setDocumentSize(entity.getDocumentSize());
+        purchase.setDocumentMimeType(entity.getDocumentMimeType());
+        purchase.setDocumentUpdatedDate(entity.getDocumentUpdatedDate());
+        purchase.setDocumentHash(entity.getDocumentHash());
         purchase.setValidationStatus(entity.getValidationStatus());
         purchase.setValidatedDate(entity.getValidatedDate());
         purchase.setValidatedBy(entity.getValidatedBy());
@@ -141,6 +347,10 @@ public class PurchaseRepositoryAdapter implements PurchaseRepositoryPort {
         entity.setGuestName(purchase.getGuestName());
         entity.setPurchaseDate(purchase.getPurchaseDate());
         entity.setImgUrl(purchase.getImgUrl());
+        entity.setDocumentSize(purchase.getDocumentSize());
+        entity.setDocumentMimeType(purchase.getDocumentMimeType());
+        entity.setDocumentUpdatedDate(purchase.getDocumentUpdatedDate());
+        entity.setDocumentHash(purchase.getDocumentHash());
         entity.setValidationStatus(purchase.getValidationStatus());
         entity.setValidatedDate(purchase.getValidatedDate());
         entity.setValidatedBy(purchase.getValidatedBy());
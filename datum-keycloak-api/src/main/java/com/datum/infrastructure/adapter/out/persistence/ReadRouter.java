@@ -0,0 +1,93 @@
+package com.datum.infrastructure.adapter.out.persistence;
+
+import com.datum.infrastructure.config.ReadReplicaInterceptor;
+import io.quarkus.hibernate.orm.PersistenceUnit;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Chooses between the primary and the read replica for query-only repository methods
+ * Listing queries of a {@link com.datum.infrastructure.config.ReadReplica} operation go to the
+ * replica's own connection pool while its replication lag is within what the operation accepts;
+ * everything else, and everything while the lag is unknown, goes to the primary.
+ *
+ * The lag is measured with a heartbeat: the primary's SYSTIMESTAMP written on the primary and
+ * compared with the replica's SYSTIMESTAMP on the replica, so only database clocks are involved
+ * (the database hosts are assumed in sync, the API hosts need not be). Locally both datasources
+ * point at the same database.
+ *
+ * The replica unit maps its own read-only entities (adapter.out.replica) under the same entity
+ * names, so the listing JPQL is shared; no entity belongs to both units.
+ */
+@ApplicationScoped
+public class ReadRouter {
+
+    @PersistenceContext
+    EntityManager entityManager;
+
+    @Inject
+    @PersistenceUnit("replica")
+    EntityManager replicaEntityManager;
+
+    @ConfigProperty(name = "datum.read-replica.enabled", defaultValue = "true")
+    boolean enabled;
+
+    private volatile Duration replicaLag; // null = unknown
+
+    /**
+     * Entity manager for a query that only reads
+     * Results come from the replica's persistence unit: they must not be merged into the primary.
+     */
+    EntityManager forQuery() {
+        Optional<Duration> allowedLag = ReadReplicaInterceptor.allowedLag();
+        Duration lag = replicaLag;
+        if (enabled && allowedLag.isPresent() && lag != null && lag.compareTo(allowedLag.get()) <= 0) {
+            return replicaEntityManager;
+        }
+        return entityManager;
+    }
+
+    @Scheduled(every = "${datum.read-replica.heartbeat-interval:2s}", concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+    void heartbeat() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            // 1. Beat on the primary, committed before looking at the replica
+            QuarkusTransaction.requiringNew().run(() -> entityManager
+                .createNativeQuery("UPDATE C##DATUM.TB_REPLICA_HEARTBEAT SET BEAT_AT = SYSTIMESTAMP WHERE ID_HEARTBEAT = 1")
+                .executeUpdate());
+
+            // 2. The latest beat the replica has applied (any instance's), against the replica's clock
+            Number seconds = (Number) replicaEntityManager
+                .createNativeQuery("SELECT EXTRACT(DAY FROM d) * 86400 + EXTRACT(HOUR FROM d) * 3600"
+                    + " + EXTRACT(MINUTE FROM d) * 60 + EXTRACT(SECOND FROM d)"
+                    + " FROM (SELECT CAST(SYSTIMESTAMP AS TIMESTAMP) - BEAT_AT d FROM C##DATUM.TB_REPLICA_HEARTBEAT WHERE ID_HEARTBEAT = 1)")
+                .getSingleResult();
+            Duration lag = Duration.ofNanos(Math.round(seconds.doubleValue() * 1_000_000_000));
+
+            // 3. A beat from the future means the database clocks disagree: the lag can't be trusted
+            if (lag.isNegative()) {
+                if (replicaLag != null) {
+                    System.err.println("Read replica clock " + lag.negated() + " behind the primary, listings read from the primary");
+                }
+                replicaLag = null;
+                return;
+            }
+            replicaLag = lag;
+        } catch (RuntimeException e) {
+            if (replicaLag != null) {
+                System.err.println("Read replica lag unknown, listings read from the primary: " + e.getMessage());
+            }
+            replicaLag = null;
+        }
+    }
+}
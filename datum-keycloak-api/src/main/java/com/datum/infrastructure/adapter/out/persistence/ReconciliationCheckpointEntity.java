@@ -0,0 +1,103 @@
+package com.datum.infrastructure.adapter.out.persistence;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * JPA Entity for TB_RECONCILIATION_CHECKPOINT table
+ * Maps to Oracle database table
+ */
+@Entity
+@Table(name = "TB_RECONCILIATION_CHECKPOINT", schema = "C##DATUM")
+public class ReconciliationCheckpointEntity {
+
+    @Id
+    @Column(name = "JOB_NAME", length = 50)
+    private String jobName;
+
+    @Column(name = "LAST_MONTH", nullable = false, length = 7)
+    private String lastMonth; // yyyy-MM
+
+    @Column(name = "LAST_RUN_AT", nullable = false)
+    private LocalDateTime lastRunAt;
+
+    @Column(name = "STORED_COUNT", nullable = false)
+    private int storedCount;
+
+    @Column(name = "REFERENCED_COUNT", nullable = false)
+    private int referencedCount;
+
+    @Column(name = "ORPHAN_COUNT", nullable = false)
+    private int orphanCount;
+
+    @Column(name = "ORPHANS_DELETED", nullable = false)
+    private int orphansDeleted;
+
+    @Column(name = "MISSING_COUNT", nullable = false)
+    private int missingCount;
+
+    // Getters and Setters
+    public String getJobName() {
+        return jobName;
+    }
+
+    public void setJobName(String jobName) {
+        this.jobName = jobName;
+    }
+
+    public String getLastMonth() {
+        return lastMonth;
+    }
+
+    public void setLastMonth(String lastMonth) {
+        this.lastMonth = lastMonth;
+    }
+
+    public LocalDateTime getLastRunAt() {
+        return lastRunAt;
+    }
+
+    public void setLastRunAt(LocalDateTime lastRunAt) {
+        this.lastRunAt = lastRunAt;
+    }
+
+    public int getStoredCount() {
+        return storedCount;
+    }
+
+    public void setStoredCount(int storedCount) {
+        this.storedCount = storedCount;
+    }
+
+    public int getReferencedCount() {
+        return referencedCount;
+    }
+
+    public void setReferencedCount(int referencedCount) {
+        this.referencedCount = referencedCount;
+    }
+
+    public int getOrphanCount() {
+        return orphanCount;
+    }
+
+    public void setOrphanCount(int orphanCount) {
+        this.orphanCount = orphanCount;
+    }
+
+    public int getOrphansDeleted() {
+        return orphansDeleted;
+    }
+
+    public void setOrphansDeleted(int orphansDeleted) {
+        this.orphansDeleted = orphansDeleted;
+    }
+
+    public int getMissingCount() {
+        return missingCount;
+    }
+
+    public void setMissingCount(int missingCount) {
+        this.missingCount = missingCount;
+    }
+}
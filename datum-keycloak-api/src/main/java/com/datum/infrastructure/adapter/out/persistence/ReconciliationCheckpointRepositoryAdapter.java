@@ -0,0 +1,64 @@
+package com.datum.infrastructure.adapter.out.persistence;
+
+import com.datum.domain.model.ReconciliationCheckpoint;
+import com.datum.domain.ports.out.ReconciliationCheckpointRepositoryPort;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.transaction.Transactional;
+
+import java.time.YearMonth;
+import java.util.Optional;
+
+/**
+ * Adapter for reconciliation job checkpoints
+ * Implements ReconciliationCheckpointRepositoryPort using JPA/Hibernate
+ */
+@ApplicationScoped
+public class ReconciliationCheckpointRepositoryAdapter implements ReconciliationCheckpointRepositoryPort {
+
+    @PersistenceContext
+    EntityManager entityManager;
+
+    @Override
+    public Optional<ReconciliationCheckpoint> findByJobName(String jobName) {
+        ReconciliationCheckpointEntity entity = entityManager.find(ReconciliationCheckpointEntity.class, jobName);
+        return Optional.ofNullable(entity).map(this::toDomain);
+    }
+
+    @Override
+    @Transactional
+    public ReconciliationCheckpoint save(ReconciliationCheckpoint checkpoint) {
+        // Natural key: merge creates the row on the first run and updates it afterwards
+        ReconciliationCheckpointEntity entity = entityManager.merge(toEntity(checkpoint));
+        return toDomain(entity);
+    }
+
+    // Mapper: Entity -> Domain
+    private ReconciliationCheckpoint toDomain(ReconciliationCheckpointEntity entity) {
+        ReconciliationCheckpoint checkpoint = new ReconciliationCheckpoint();
+        checkpoint.setJobName(entity.getJobName());
+        checkpoint.setLastMonth(YearMonth.parse(entity.getLastMonth()));
+        checkpoint.setLastRunAt(entity.getLastRunAt());
+        checkpoint.setStoredCount(entity.getStoredCount());
+        checkpoint.setReferencedCount(entity.getReferencedCount());
+        checkpoint.setOrphanCount(entity.getOrphanCount());
+        checkpoint.setOrphansDeleted(entity.getOrphansDeleted());
+        checkpoint.setMissingCount(entity.getMissingCount());
+        return checkpoint;
+    }
+
+    // Mapper: Domain -> Entity
+    private ReconciliationCheckpointEntity toEntity(ReconciliationCheckpoint checkpoint) {
+        ReconciliationCheckpointEntity entity = new ReconciliationCheckpointEntity();
+        entity.setJobName(checkpoint.getJobName());
+        entity.setLastMonth(checkpoint.getLastMonth().toString());
+        entity.setLastRunAt(checkpoint.getLastRunAt());
+        entity.setStoredCount(checkpoint.getStoredCount());
+        entity.setReferencedCount(checkpoint.getReferencedCount());
+        entity.setOrphanCount(checkpoint.getOrphanCount());
+        entity.setOrphansDeleted(checkpoint.getOrphansDeleted());
+        entity.setMissingCount(checkpoint.getMissingCount());
+        return entity;
+    }
+}
@@ -0,0 +1,8 @@
+package com.datum.infrastructure.adapter.out.persistence;
+
+/**
+ * CDI event: another instance deleted or replaced the stored document at a path
+ * Observers drop whatever they cache for it locally (see EntityCacheInvalidator#recordDocument).
+ */
+public record StoredDocumentChanged(String path) {
+}
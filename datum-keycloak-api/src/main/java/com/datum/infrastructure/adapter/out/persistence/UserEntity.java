@@ -1,13 +1,19 @@
 package com.datum.infrastructure.adapter.out.persistence;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 
+// Second-level cached; changes reach other instances through EntityCacheInvalidator
 @Entity
+@Cacheable
+@NaturalIdCache
 @Table(name = "TB_USER", schema = "C##DATUM")
 public class UserEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "userSeq")
+    @SequenceGenerator(name = "userSeq", sequenceName = "SEQ_USER", schema = "C##DATUM", allocationSize = 50)
     @Column(name = "ID_USER")
     private Long id;
 
@@ -23,6 +29,7 @@ public class UserEntity {
     @Column(name = "EMAIL", length = 100, nullable = false)
     private String email;
 
+    @NaturalId
     @Column(name = "ID_AUTH", length = 128)
     private String keycloakId;
 
@@ -1,14 +1,19 @@
 package com.datum.infrastructure.adapter.out.persistence;
 
+import com.datum.domain.model.Page;
+import com.datum.domain.model.PageRequest;
 import com.datum.domain.model.User;
+import com.datum.domain.model.UserSummary;
 import com.datum.domain.ports.out.UserRepositoryPort;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import org.hibernate.Session;
 
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 @ApplicationScoped
 public class UserRepositoryAdapter implements UserRepositoryPort {
@@ -16,6 +21,12 @@ public class UserRepositoryAdapter implements UserRepositoryPort {
     @PersistenceContext
     EntityManager entityManager;
 
+    @Inject
+    EntityCacheInvalidator cacheInvalidator;
+
+    @Inject
+    ReadRouter readRouter;
+
     @Override
     public User save(User user) {
         UserEntity entity = toEntity(user);
@@ -24,6 +35,7 @@ public class UserRepositoryAdapter implements UserRepositoryPort {
             entityManager.persist(entity); // Create
         } else {
             entity = entityManager.merge(entity); // Update
+            cacheInvalidator.record(UserEntity.class, entity.getId());
         }
 
         return toDomain(entity);
@@ -47,22 +59,29 @@ public class UserRepositoryAdapter implements UserRepositoryPort {
 
     @Override
     public Optional<User> findByKeycloakId(String keycloakId) {
-        List<UserEntity> results = entityManager
-                .createQuery("SELECT u FROM UserEntity u WHERE u.keycloakId = :keycloakId", UserEntity.class)
-                .setParameter("keycloakId", keycloakId)
-                .getResultList();
-
-        return results.isEmpty() ? Optional.empty() : Optional.of(toDomain(results.get(0)));
+        if (keycloakId == null) {
+            return Optional.empty();
+        }
+        // Natural id lookup: keycloakId → id and the user itself both come from the second-level cache
+        return entityManager.unwrap(Session.class)
+                .bySimpleNaturalId(UserEntity.class)
+                .loadOptional(keycloakId)
+                .map(this::toDomain);
     }
 
     @Override
-    public List<User> findAll() {
-        return entityManager
-                .createQuery("SELECT u FROM UserEntity u", UserEntity.class)
-                .getResultList()
-                .stream()
-                .map(this::toDomain)
-                .collect(Collectors.toList());
+    public Page<UserSummary> findAll(PageRequest page) {
+        // Keyset on ID_USER ascending: the cursor is the id of the last user of the previous page
+        Long afterId = page.cursor() != null ? KeysetCursor.decodeId(page.cursor()) : null;
+        // Projected straight into UserSummary, nothing enters the persistence context (replica-safe)
+        TypedQuery<UserSummary> query = readRouter.forQuery()
+                .createQuery("SELECT new com.datum.domain.model.UserSummary(u.id, u.firstName, u.lastName, u.nickname, u.email, u.keycloakId)"
+                        + " FROM UserEntity u" + (afterId != null ? " WHERE u.id > :afterId" : "") + " ORDER BY u.id", UserSummary.class)
+                .setMaxResults(page.limit() + 1);
+        if (afterId != null) {
+            query.setParameter("afterId", afterId);
+        }
+        return KeysetCursor.page(query.getResultList(), page.limit(), summary -> summary, last -> KeysetCursor.encode(last.id()));
     }
 
     @Override
@@ -70,6 +89,7 @@ public class UserRepositoryAdapter implements UserRepositoryPort {
         UserEntity entity = entityManager.find(UserEntity.class, id);
         if (entity != null) {
             entityManager.remove(entity);
+            cacheInvalidator.record(UserEntity.class, id);
         }
     }
 
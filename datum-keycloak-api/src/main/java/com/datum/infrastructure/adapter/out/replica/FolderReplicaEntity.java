@@ -0,0 +1,49 @@
+package com.datum.infrastructure.adapter.out.replica;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Read-only mapping of TB_FOLDER for the "replica" persistence unit
+ * Entity name FolderEntity, so the listing JPQL runs unchanged on either unit (see ReadRouter).
+ * Only read through projections: no accessors.
+ */
+@Entity(name = "FolderEntity")
+@Immutable
+@Table(name = "TB_FOLDER", schema = "C##DATUM")
+public class FolderReplicaEntity {
+
+    @Id
+    @Column(name = "ID_FOLDER")
+    private Long id;
+
+    @Column(name = "ID_USER")
+    private Long userId;
+
+    @Column(name = "FOLDER_NAME")
+    private String folderName;
+
+    @Column(name = "F_DESCRIPTION")
+    private String description;
+
+    @Column(name = "START_DATE")
+    private LocalDate startDate;
+
+    @Column(name = "END_DATE")
+    private LocalDate endDate;
+
+    @Column(name = "VALIDATION_STATUS")
+    private String validationStatus;
+
+    @Column(name = "VALIDATED_DATE")
+    private LocalDateTime validatedDate;
+
+    @Column(name = "VALIDATED_BY")
+    private Long validatedBy;
+
+    @Column(name = "VALIDATION_NOTES")
+    private String validationNotes;
+}
@@ -0,0 +1,76 @@
+package com.datum.infrastructure.adapter.out.replica;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.Immutable;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Read-only mapping of TB_PURCHASE for the "replica" persistence unit
+ * Entity name PurchaseEntity, so the listing JPQL runs unchanged on either unit (see ReadRouter).
+ * Only read through projections: no accessors.
+ */
+@Entity(name = "PurchaseEntity")
+@Immutable
+@Table(name = "TB_PURCHASE", schema = "C##DATUM")
+public class PurchaseReplicaEntity {
+
+    @Id
+    @Column(name = "ID_PURCHASE")
+    private Long idPurchase;
+
+    @Column(name = "ID_USER")
+    private Long idUser;
+
+    @Column(name = "ID_FOLDER")
+    private Long idFolder;
+
+    @Column(name = "ID_P_TYPE")
+    private Long idPType;
+
+    @Column(name = "ID_PAYMENT_METHOD")
+    private Long idPaymentMethod;
+
+    @Column(name = "ID_COST_CENTER")
+    private Long idCostCenter;
+
+    @Column(name = "TOTAL_AMOUNT")
+    private BigDecimal totalAmount;
+
+    @Column(name = "P_DESCRIPTION")
+    private String description;
+
+    @Column(name = "GUEST_NAME")
+    private String guestName;
+
+    @Column(name = "P_DATE")
+    private LocalDateTime purchaseDate;
+
+    @Column(name = "IMG_URL")
+    private String imgUrl;
+
+    @Column(name = "DOC_SIZE")
+    private Long documentSize;
+
+    @Column(name = "DOC_MIME_TYPE")
+    private String documentMimeType;
+
+    @Column(name = "DOC_HASH")
+    private String documentHash;
+
+    @Column(name = "VALIDATION_STATUS")
+    private String validationStatus;
+
+    @Column(name = "VALIDATED_DATE")
+    private LocalDateTime validatedDate;
+
+    @Column(name = "VALIDATED_BY")
+    private Long validatedBy;
+
+    @Column(name = "VALIDATION_NOTES")
+    private String validationNotes;
+
+    @Column(name = "CREATED_DATE")
+    private LocalDateTime createdDate;
+}
@@ -0,0 +1,34 @@
+package com.datum.infrastructure.adapter.out.replica;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.Immutable;
+
+/**
+ * Read-only mapping of TB_USER for the "replica" persistence unit
+ * Entity name UserEntity, so the listing JPQL runs unchanged on either unit (see ReadRouter).
+ * Only read through projections: no accessors.
+ */
+@Entity(name = "UserEntity")
+@Immutable
+@Table(name = "TB_USER", schema = "C##DATUM")
+public class UserReplicaEntity {
+
+    @Id
+    @Column(name = "ID_USER")
+    private Long id;
+
+    @Column(name = "F_NAME")
+    private String firstName;
+
+    @Column(name = "L_NAME")
+    private String lastName;
+
+    @Column(name = "NICKNAME")
+    private String nickname;
+
+    @Column(name = "EMAIL")
+    private String email;
+
+    @Column(name = "ID_AUTH")
+    private String keycloakId;
+}
@@ -0,0 +1,230 @@
+package com.datum.infrastructure.adapter.out.storage;
+
+import com.datum.infrastructure.adapter.out.persistence.StoredDocumentChanged;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Local disk store for derived renditions (thumbnails) of stored documents
+ * Renditions are small and expensive to produce, so they are kept across restarts:
+ * one directory per document path, one file per variant (e.g. "256-1718000000.jpg").
+ * Document store adapters evict the directory whenever the document is uploaded or deleted.
+ *
+ * The total size is capped; past the cap the least recently used renditions are deleted.
+ * The index is rebuilt from the directory on startup (oldest modification first), and
+ * temp files of renders interrupted by a shutdown are removed.
+ */
+@ApplicationScoped
+public class DocumentRenditionCache {
+
+    @ConfigProperty(name = "datum.rendition.directory", defaultValue = "datum-renditions")
+    String directory;
+
+    @ConfigProperty(name = "datum.rendition.max-size-bytes", defaultValue = "268435456")
+    long maxSizeBytes;
+
+    // Access-ordered map of rendition file -> size: iteration starts at the least recently used
+    private final LinkedHashMap<Path, Long> entries = new LinkedHashMap<>(256, 0.75f, true);
+    private long currentSizeBytes;
+
+    private Path cacheDir;
+
+    @PostConstruct
+    void init() {
+        Path configured = Paths.get(directory);
+        cacheDir = configured.isAbsolute()
+            ? configured
+            : Paths.get(System.getProperty("java.io.tmpdir")).resolve(configured);
+        try {
+            Files.createDirectories(cacheDir);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot create rendition directory " + cacheDir, e);
+        }
+
+        // Renditions survive restarts, half-written renders don't
+        List<Path> renditions = new ArrayList<>();
+        try (Stream<Path> files = Files.walk(cacheDir)) {
+            files.filter(Files::isRegularFile).forEach(file -> {
+                if (file.getParent().equals(cacheDir) && file.getFileName().toString().startsWith("render-")) {
+                    deleteQuietly(file);
+                } else {
+                    renditions.add(file);
+                }
+            });
+        } catch (IOException e) {
+            System.err.println("Warning: Could not index rendition directory " + cacheDir + ": " + e.getMessage());
+        }
+
+        renditions.sort(Comparator.comparing(this::lastModified));
+        synchronized (this) {
+            for (Path file : renditions) {
+                long size = size(file);
+                entries.put(file, size);
+                currentSizeBytes += size;
+            }
+            evictOverflow();
+        }
+    }
+
+    /**
+     * Look up a rendition
+     *
+     * @param docPath Document path in the document store
+     * @param variant Variant file name (size, version and extension)
+     * @return The rendition file, or null if it has not been generated yet
+     */
+    public Path get(String docPath, String variant) {
+        Path file = documentDir(docPath).resolve(variant);
+        synchronized (this) {
+            // Lookup marks the entry as recently used
+            return entries.get(file) != null ? file : null;
+        }
+    }
+
+    /**
+     * Create a temporary file to render into (publish it with {@link #put})
+     */
+    public Path createTempFile() throws IOException {
+        return Files.createTempFile(cacheDir, "render-", ".tmp");
+    }
+
+    /**
+     * Publish a rendered file under its variant name
+     * The move is atomic, so readers never see a partially written rendition.
+     */
+    public Path put(String docPath, String variant, Path rendered) throws IOException {
+        Path dir = Files.createDirectories(documentDir(docPath));
+        Path target = dir.resolve(variant);
+        long size = Files.size(rendered);
+        try {
+            Files.move(rendered, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (NoSuchFileException e) {
+            // Directory emptied by size eviction in the meantime
+            Files.createDirectories(dir);
+            Files.move(rendered, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+
+        synchronized (this) {
+            Long previous = entries.put(target, size);
+            currentSizeBytes += size - (previous != null ? previous : 0);
+            evictOverflow();
+        }
+        return target;
+    }
+
+    /**
+     * Another instance deleted the document: drop the local renditions
+     */
+    void onStoredDocumentChanged(@Observes StoredDocumentChanged change) {
+        evict(change.path());
+    }
+
+    /**
+     * Remove every rendition of a document
+     */
+    public void evict(String docPath) {
+        Path dir = documentDir(docPath);
+        if (!Files.isDirectory(dir)) {
+            return;
+        }
+        try (Stream<Path> files = Files.walk(dir)) {
+            files.sorted(Comparator.reverseOrder()).forEach(file -> {
+                synchronized (this) {
+                    Long size = entries.remove(file);
+                    if (size != null) {
+                        currentSizeBytes -= size;
+                    }
+                }
+                try {
+                    Files.deleteIfExists(file);
+                } catch (IOException e) {
+                    System.err.println("Warning: Could not delete rendition " + file + ": " + e.getMessage());
+                }
+            });
+        } catch (IOException e) {
+            System.err.println("Warning: Could not evict renditions of " + docPath + ": " + e.getMessage());
+        }
+    }
+
+    public synchronized long currentSizeBytes() {
+        return currentSizeBytes;
+    }
+
+    /**
+     * Delete least recently used renditions until the total size fits the cap
+     * Caller holds the lock; the rendition just published is the most recent, so it is removed last.
+     */
+    private void evictOverflow() {
+        Iterator<Map.Entry<Path, Long>> it = entries.entrySet().iterator();
+        while (currentSizeBytes > maxSizeBytes && it.hasNext()) {
+            Map.Entry<Path, Long> eldest = it.next();
+            currentSizeBytes -= eldest.getValue();
+            it.remove();
+            deleteQuietly(eldest.getKey());
+            Path dir = eldest.getKey().getParent();
+            if (!dir.equals(cacheDir)) {
+                try {
+                    // Only succeeds once the document has no renditions left
+                    Files.deleteIfExists(dir);
+                } catch (IOException e) {
+                    // Other variants still there
+                }
+            }
+        }
+    }
+
+    private FileTime lastModified(Path file) {
+        try {
+            return Files.getLastModifiedTime(file);
+        } catch (IOException e) {
+            return FileTime.fromMillis(0);
+        }
+    }
+
+    private long size(Path file) {
+        try {
+            return Files.size(file);
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    private void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            System.err.println("Warning: Could not delete rendition " + file + ": " + e.getMessage());
+        }
+    }
+
+    private Path documentDir(String docPath) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return cacheDir.resolve(HexFormat.of().formatHex(digest.digest(docPath.getBytes(StandardCharsets.UTF_8))));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,226 @@
+package com.datum.infrastructure.adapter.out.storage;
+
+import com.datum.domain.model.StoredObject;
+import com.datum.domain.ports.out.DocumentStorePort;
+import io.quarkus.arc.properties.IfBuildProperty;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Document store on the local filesystem, for single-node deployments and load tests
+ * Enabled with the build property datum.document-store=local (OpenKM is the default).
+ *
+ * Logical paths keep the OpenKM layout (/{year}/{month}/{id}/{fileName}) so IMG_URL looks
+ * the same for both backends. Files are stored under the SHA-256 of the logical path in
+ * two levels of shard directories (ab/cd/abcd...), which keeps directories small and
+ * avoids any file name sanitizing. Writes go to a temp file first and are renamed into
+ * place atomically, so readers never see partial content.
+ *
+ * The logical paths can't be recovered from the hashes, so every upload also appends its
+ * path to an index of its month (.index/{year}-{month}); listDocuments reads it back and
+ * keeps the paths whose file still exists. Files stored before the index existed are not
+ * listed (reconciliation reports them as missing).
+ */
+@ApplicationScoped
+@IfBuildProperty(name = "datum.document-store", stringValue = "local")
+public class LocalDocumentStore implements DocumentStorePort {
+
+    @Inject
+    DocumentRenditionCache renditionCache;
+
+    @ConfigProperty(name = "datum.document-store.local.root", defaultValue = "datum-documents")
+    String root;
+
+    private Path rootDir;
+    private Path tempDir;
+    private Path indexDir;
+
+    @PostConstruct
+    void init() {
+        Path configured = Paths.get(root);
+        rootDir = configured.isAbsolute()
+            ? configured
+            : Paths.get(System.getProperty("java.io.tmpdir")).resolve(configured);
+        // Temp files live on the same filesystem so the final rename is atomic
+        tempDir = rootDir.resolve(".tmp");
+        indexDir = rootDir.resolve(".index");
+        try {
+            Files.createDirectories(tempDir);
+            Files.createDirectories(indexDir);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot create document store directory " + rootDir, e);
+        }
+        System.out.println("Local document store at " + rootDir);
+    }
+
+    @Override
+    public String documentPath(Long purchaseId, LocalDateTime purchaseDate, String fileName) {
+        return monthFolder(YearMonth.from(purchaseDate)) + "/" + purchaseId + "/" + fileName;
+    }
+
+    /**
+     * Logical folder only: files are sharded by hash, the month index lists them (see listDocuments)
+     */
+    @Override
+    public String monthFolder(YearMonth month) {
+        return "/" + month.getYear() + "/" + String.format("%02d", month.getMonthValue());
+    }
+
+    @Override
+    public String uploadDocument(Long purchaseId, LocalDateTime purchaseDate, String fileName, Path content) {
+        String docPath = documentPath(purchaseId, purchaseDate, fileName);
+        Path target = physicalPath(docPath);
+        Path temp = null;
+        try {
+            temp = Files.createTempFile(tempDir, "upload-", ".tmp");
+            try (FileChannel source = FileChannel.open(content, StandardOpenOption.READ);
+                 FileChannel sink = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                long size = source.size();
+                long position = 0;
+                while (position < size) {
+                    position += source.transferTo(position, size - position, sink);
+                }
+                sink.force(true);
+            }
+
+            // Indexed before the file appears: a listed path without a file is skipped,
+            // while a file missing from the index would never be listed
+            index(YearMonth.from(purchaseDate), docPath);
+
+            Files.createDirectories(target.getParent());
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            temp = null;
+
+            renditionCache.evict(docPath);
+            return docPath;
+        } catch (IOException e) {
+            throw new RuntimeException("Error storing document " + docPath + ": " + e.getMessage(), e);
+        } finally {
+            if (temp != null) {
+                try {
+                    Files.deleteIfExists(temp);
+                } catch (IOException e) {
+                    System.err.println("Warning: Could not delete temp file " + temp + ": " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    @Override
+    public InputStream downloadDocument(String docPath) {
+        return open(docPath, 0);
+    }
+
+    @Override
+    public InputStream downloadDocumentRange(String docPath, long offset, long size) {
+        return open(docPath, offset);
+    }
+
+    private InputStream open(String docPath, long offset) {
+        try {
+            FileChannel channel = FileChannel.open(physicalPath(docPath), StandardOpenOption.READ);
+            channel.position(offset);
+            return Channels.newInputStream(channel);
+        } catch (NoSuchFileException e) {
+            throw new RuntimeException("Document not found: " + docPath, e);
+        } catch (IOException e) {
+            throw new RuntimeException("Error reading document " + docPath + ": " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public void deleteDocument(String docPath) {
+        renditionCache.evict(docPath);
+        try {
+            Files.deleteIfExists(physicalPath(docPath));
+        } catch (IOException e) {
+            throw new RuntimeException("Error deleting document " + docPath + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Documents of a month from its index, without those deleted since
+     * Creation dates are the files' modification times (files are never modified in place).
+     */
+    @Override
+    public List<StoredObject> listDocuments(YearMonth month) {
+        Path index = indexFile(month);
+        Set<String> paths = new LinkedHashSet<>();
+        synchronized (this) {
+            try {
+                paths.addAll(Files.readAllLines(index, StandardCharsets.UTF_8));
+            } catch (NoSuchFileException e) {
+                return List.of();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot read document index " + index, e);
+            }
+        }
+
+        List<StoredObject> documents = new ArrayList<>();
+        for (String docPath : paths) {
+            try {
+                FileTime modified = Files.getLastModifiedTime(physicalPath(docPath));
+                documents.add(new StoredObject(docPath, LocalDateTime.ofInstant(modified.toInstant(), ZoneId.systemDefault())));
+            } catch (NoSuchFileException e) {
+                // Deleted: the index is append-only
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot read document " + docPath, e);
+            }
+        }
+        return documents;
+    }
+
+    @Override
+    public Optional<Path> localFile(String docPath) {
+        Path file = physicalPath(docPath);
+        return Files.isRegularFile(file) ? Optional.of(file) : Optional.empty();
+    }
+
+    // One line per upload; a path stored twice is listed once
+    private synchronized void index(YearMonth month, String docPath) throws IOException {
+        Files.writeString(indexFile(month), docPath + "\n", StandardCharsets.UTF_8,
+            StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    private Path indexFile(YearMonth month) {
+        return indexDir.resolve(month.getYear() + "-" + String.format("%02d", month.getMonthValue()));
+    }
+
+    // root/ab/cd/abcd... from the SHA-256 of the logical path
+    private Path physicalPath(String docPath) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            String hash = HexFormat.of().formatHex(digest.digest(docPath.getBytes(StandardCharsets.UTF_8)));
+            return rootDir.resolve(hash.substring(0, 2)).resolve(hash.substring(2, 4)).resolve(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
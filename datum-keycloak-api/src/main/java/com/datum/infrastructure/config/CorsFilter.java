@@ -13,6 +13,17 @@ import java.io.IOException;
 @PreMatching
 public class CorsFilter implements ContainerRequestFilter, ContainerResponseFilter {
 
+    // Request headers the browser may send (same list for preflight and responses).
+    // range, if-none-match, if-range: partial and conditional document downloads;
+    // upload-offset: resumable upload chunks (PATCH /api/uploads/resumable/{id})
+    private static final String ALLOWED_HEADERS =
+        "origin, content-type, accept, authorization, x-requested-with, range, if-none-match, if-range, upload-offset";
+
+    // Response headers scripts may read; browsers hide all but a few simple ones otherwise.
+    // X-Next-Cursor and Link carry the next page of keyset-paginated listings
+    private static final String EXPOSED_HEADERS =
+        "X-Next-Cursor, Link, ETag, Content-Range, Accept-Ranges, Upload-Offset, Upload-Length";
+
     /**
      * Handle incoming requests - intercept OPTIONS before authentication
      */
@@ -25,8 +36,7 @@ public class CorsFilter implements ContainerRequestFilter, ContainerResponseFilt
                 Response.ok()
                     .header("Access-Control-Allow-Origin", "http://localhost:5173")
                     .header("Access-Control-Allow-Credentials", "true")
-                    .header("Access-Control-Allow-Headers", 
-                        "origin, content-type, accept, authorization, x-requested-with")
+                    .header("Access-Control-Allow-Headers", ALLOWED_HEADERS)
                     .header("Access-Control-Allow-Methods", 
                         "GET, POST, PUT, DELETE, OPTIONS, PATCH")
                     .header("Access-Control-Max-Age", "3600")
@@ -44,8 +54,8 @@ public class CorsFilter implements ContainerRequestFilter, ContainerResponseFilt
         
         responseContext.getHeaders().add("Access-Control-Allow-Origin", "http://localhost:5173");
         responseContext.getHeaders().add("Access-Control-Allow-Credentials", "true");
-        responseContext.getHeaders().add("Access-Control-Allow-Headers", 
-            "origin, content-type, accept, authorization, x-requested-with");
+        responseContext.getHeaders().add("Access-Control-Allow-Headers", ALLOWED_HEADERS);
+        responseContext.getHeaders().add("Access-Control-Expose-Headers", EXPOSED_HEADERS);
         responseContext.getHeaders().add("Access-Control-Allow-Methods", 
             "GET, POST, PUT, DELETE, OPTIONS, PATCH");
         responseContext.getHeaders().add("Access-Control-Max-Age", "3600");
@@ -0,0 +1,75 @@
+package com.datum.infrastructure.config;
+
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.ext.ExceptionMapper;
+import jakarta.ws.rs.ext.Provider;
+import org.eclipse.microprofile.config.ConfigProvider;
+import org.eclipse.microprofile.faulttolerance.exceptions.BulkheadException;
+import org.eclipse.microprofile.faulttolerance.exceptions.CircuitBreakerOpenException;
+import org.eclipse.microprofile.faulttolerance.exceptions.FaultToleranceException;
+
+/**
+ * Turns fault tolerance rejections on OpenKM and Keycloak calls into 503 + Retry-After
+ * An open circuit, a full bulkhead or a missed deadline means the downstream is slow or
+ * down, not that the request was wrong, so the client is told to come back later.
+ *
+ * Resources that catch every exception to build their own 500 call {@link #fromCause}
+ * first, since services usually wrap the rejection in a RuntimeException.
+ */
+@Provider
+public class DownstreamUnavailableMapper implements ExceptionMapper<FaultToleranceException> {
+
+    @Override
+    public Response toResponse(FaultToleranceException exception) {
+        return unavailable(exception);
+    }
+
+    /**
+     * 503 response if a fault tolerance rejection or timeout is in the cause chain
+     * Other timeouts (e.g. a JDBC query) are not the downstream's doing and stay 500.
+     *
+     * @return The response, or null if the failure has another cause
+     */
+    public static Response fromCause(Throwable throwable) {
+        for (Throwable cause = throwable; cause != null; cause = cause.getCause()) {
+            if (cause instanceof FaultToleranceException) {
+                return unavailable(cause);
+            }
+        }
+        return null;
+    }
+
+    private static Response unavailable(Throwable cause) {
+        String message;
+        if (cause instanceof CircuitBreakerOpenException) {
+            message = "Document or identity service is unavailable, try again later";
+        } else if (cause instanceof BulkheadException) {
+            message = "Too many concurrent requests to the document or identity service, try again later";
+        } else {
+            message = "Document or identity service did not answer in time, try again later";
+        }
+        System.err.println("Downstream unavailable: " + cause.getClass().getSimpleName() + ": " + cause.getMessage());
+
+        return Response.status(Response.Status.SERVICE_UNAVAILABLE)
+                .header("Retry-After", retryAfterSeconds())
+                .type(MediaType.APPLICATION_JSON)
+                .entity(new ErrorResponse(message))
+                .build();
+    }
+
+    // Matches the circuit breaker delay, after which a trial call is let through
+    private static long retryAfterSeconds() {
+        return ConfigProvider.getConfig()
+                .getOptionalValue("datum.resilience.retry-after-seconds", Long.class)
+                .orElse(10L);
+    }
+
+    public static class ErrorResponse {
+        public String error;
+
+        public ErrorResponse(String error) {
+            this.error = error;
+        }
+    }
+}
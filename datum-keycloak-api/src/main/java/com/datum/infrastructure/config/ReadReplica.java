@@ -0,0 +1,29 @@
+package com.datum.infrastructure.config;
+
+import jakarta.enterprise.util.Nonbinding;
+import jakarta.interceptor.InterceptorBinding;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a read-only operation whose listing queries may be served by the read replica
+ * The replica is used while it lags behind the primary by no more than the allowed
+ * staleness, otherwise the queries go to the primary as usual.
+ *
+ * Staleness is configured per endpoint: datum.read-replica.max-lag.{value},
+ * falling back to datum.read-replica.max-lag.
+ */
+@InterceptorBinding
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE, ElementType.METHOD})
+public @interface ReadReplica {
+
+    /**
+     * Name of the endpoint in the staleness configuration
+     */
+    @Nonbinding
+    String value() default "";
+}
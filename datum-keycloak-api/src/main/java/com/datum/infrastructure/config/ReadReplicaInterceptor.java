@@ -0,0 +1,57 @@
+package com.datum.infrastructure.config;
+
+import jakarta.annotation.Priority;
+import jakarta.interceptor.AroundInvoke;
+import jakarta.interceptor.Interceptor;
+import jakarta.interceptor.InvocationContext;
+import org.eclipse.microprofile.config.ConfigProvider;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Publishes the staleness a {@link ReadReplica} operation accepts to the persistence adapters
+ * Kept per thread for the duration of the call; work handed to other threads reads from the primary.
+ */
+@ReadReplica
+@Interceptor
+@Priority(Interceptor.Priority.APPLICATION)
+public class ReadReplicaInterceptor {
+
+    private static final ThreadLocal<Duration> ALLOWED_LAG = new ThreadLocal<>();
+
+    @ConfigProperty(name = "datum.read-replica.max-lag", defaultValue = "5s")
+    Duration defaultMaxLag;
+
+    /**
+     * How far behind the primary the current operation may read, empty outside of {@link ReadReplica} operations
+     */
+    public static Optional<Duration> allowedLag() {
+        return Optional.ofNullable(ALLOWED_LAG.get());
+    }
+
+    @AroundInvoke
+    Object route(InvocationContext context) throws Exception {
+        Duration previous = ALLOWED_LAG.get();
+        ALLOWED_LAG.set(maxLag(context.getInterceptorBinding(ReadReplica.class)));
+        try {
+            return context.proceed();
+        } finally {
+            if (previous != null) {
+                ALLOWED_LAG.set(previous);
+            } else {
+                ALLOWED_LAG.remove();
+            }
+        }
+    }
+
+    private Duration maxLag(ReadReplica binding) {
+        if (binding == null || binding.value().isEmpty()) {
+            return defaultMaxLag;
+        }
+        return ConfigProvider.getConfig()
+            .getOptionalValue("datum.read-replica.max-lag." + binding.value(), Duration.class)
+            .orElse(defaultMaxLag);
+    }
+}
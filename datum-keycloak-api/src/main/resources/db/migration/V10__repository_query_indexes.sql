@@ -0,0 +1,44 @@
+-- Remaining indexes so that every query of PurchaseRepositoryAdapter, FolderPanacheRepository and
+-- UserRepositoryAdapter is an index access (QueryPlanTest checks the plans). Already covered:
+--   purchase listings and WHERE ID_FOLDER = ? ORDER BY P_DATE DESC   IX_PURCHASE_*_PAGE (V6)
+--   folder listings, WHERE ID_USER = ? AND VALIDATION_STATUS = ?     IX_FOLDER_*_PAGE (V6)
+--   per-status counts and bulk status update of a folder             IX_PURCHASE_FOLDER_STATUS (V7)
+--   IMG_URL equality, IN and prefix lookups                         IX_PURCHASE_IMG_URL (V4)
+--   WHERE ID_AUTH = ? (natural id lookup)                           UX_USER_ID_AUTH (V9)
+-- Schemas created by hand may already have some of these under another name: those are skipped.
+
+DECLARE
+    PROCEDURE create_index(p_ddl VARCHAR2) IS
+    BEGIN
+        EXECUTE IMMEDIATE p_ddl;
+    EXCEPTION
+        WHEN OTHERS THEN
+            -- ORA-00955 name already used, ORA-01408 column list already indexed
+            IF SQLCODE NOT IN (-955, -1408) THEN
+                RAISE;
+            END IF;
+    END;
+BEGIN
+    -- findByUsername, existsByUsername; findByEmail
+    create_index('CREATE INDEX C##DATUM.IX_USER_NICKNAME ON C##DATUM.TB_USER (NICKNAME)');
+    create_index('CREATE INDEX C##DATUM.IX_USER_EMAIL ON C##DATUM.TB_USER (EMAIL)');
+
+    -- Dedup lookups: WHERE DOC_HASH = ? [AND IMG_URL IS NOT NULL] ORDER BY ID_PURCHASE, answered from the index
+    create_index('CREATE INDEX C##DATUM.IX_PURCHASE_HASH_DOC ON C##DATUM.TB_PURCHASE (DOC_HASH, ID_PURCHASE, IMG_URL)');
+
+    -- Folder delete and export: SELECT DISTINCT IMG_URL WHERE ID_FOLDER = ?, answered from the index
+    create_index('CREATE INDEX C##DATUM.IX_PURCHASE_FOLDER_IMG_URL ON C##DATUM.TB_PURCHASE (ID_FOLDER, IMG_URL)');
+END;
+/
+
+-- Prefix of IX_PURCHASE_HASH_DOC; hand-made schemas may not have it
+BEGIN
+    EXECUTE IMMEDIATE 'DROP INDEX C##DATUM.IX_PURCHASE_DOC_HASH';
+EXCEPTION
+    WHEN OTHERS THEN
+        -- ORA-01418 specified index does not exist
+        IF SQLCODE != -1418 THEN
+            RAISE;
+        END IF;
+END;
+/
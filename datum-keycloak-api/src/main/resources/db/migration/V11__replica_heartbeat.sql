@@ -0,0 +1,9 @@
+-- Replication lag probe for the read replica (ReadRouter)
+-- Every instance writes the current time here on the primary and reads it back from the replica
+
+CREATE TABLE C##DATUM.TB_REPLICA_HEARTBEAT (
+    ID_HEARTBEAT  NUMBER PRIMARY KEY,
+    BEAT_AT       TIMESTAMP NOT NULL
+);
+
+INSERT INTO C##DATUM.TB_REPLICA_HEARTBEAT (ID_HEARTBEAT, BEAT_AT) VALUES (1, SYSTIMESTAMP);
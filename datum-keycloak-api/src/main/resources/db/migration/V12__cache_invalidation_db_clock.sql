@@ -0,0 +1,4 @@
+-- Cache invalidation entries are dated by the database, not by the JVM writing them:
+-- pollers compare against the same clock, so skew between API hosts can't hide entries
+
+ALTER TABLE C##DATUM.TB_CACHE_INVALIDATION MODIFY CREATED_DATE DEFAULT SYSTIMESTAMP;
@@ -0,0 +1,5 @@
+-- Documents cached per instance (OpenKMDocumentCache, DocumentRenditionCache) are invalidated
+-- through the same log: their entries carry the document path instead of a numeric id
+
+ALTER TABLE C##DATUM.TB_CACHE_INVALIDATION ADD ENTITY_KEY VARCHAR2(1000);
+ALTER TABLE C##DATUM.TB_CACHE_INVALIDATION MODIFY ENTITY_ID NULL;
@@ -0,0 +1,51 @@
+-- Users, folders and purchases as they existed before migrations were managed
+-- Existing databases are baselined at this version and skip it (quarkus.flyway.baseline-on-migrate);
+-- on an empty schema it recreates the hand-made tables.
+-- Purchase type, payment method and cost center ids reference catalogs owned outside this service.
+
+CREATE TABLE C##DATUM.TB_USER (
+    ID_USER   NUMBER GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    F_NAME    VARCHAR2(50),
+    L_NAME    VARCHAR2(50),
+    NICKNAME  VARCHAR2(50) UNIQUE,
+    EMAIL     VARCHAR2(100) NOT NULL,
+    ID_AUTH   VARCHAR2(128)
+);
+
+CREATE TABLE C##DATUM.TB_FOLDER (
+    ID_FOLDER          NUMBER GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    ID_USER            NUMBER NOT NULL,
+    FOLDER_NAME        VARCHAR2(100) NOT NULL,
+    F_DESCRIPTION      VARCHAR2(100),
+    START_DATE         DATE,
+    END_DATE           DATE,
+    VALIDATION_STATUS  VARCHAR2(20),
+    VALIDATED_DATE     TIMESTAMP,
+    VALIDATED_BY       NUMBER,
+    VALIDATION_NOTES   VARCHAR2(200),
+    CONSTRAINT FK_FOLDER_USER FOREIGN KEY (ID_USER)
+        REFERENCES C##DATUM.TB_USER (ID_USER)
+);
+
+CREATE TABLE C##DATUM.TB_PURCHASE (
+    ID_PURCHASE        NUMBER GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    ID_USER            NUMBER NOT NULL,
+    ID_FOLDER          NUMBER NOT NULL,
+    ID_P_TYPE          NUMBER NOT NULL,
+    ID_PAYMENT_METHOD  NUMBER NOT NULL,
+    ID_COST_CENTER     NUMBER,
+    TOTAL_AMOUNT       NUMBER(12, 2),
+    P_DESCRIPTION      VARCHAR2(75),
+    GUEST_NAME         VARCHAR2(100),
+    P_DATE             TIMESTAMP,
+    IMG_URL            VARCHAR2(255),
+    VALIDATION_STATUS  VARCHAR2(20),
+    VALIDATED_DATE     TIMESTAMP,
+    VALIDATED_BY       NUMBER,
+    VALIDATION_NOTES   VARCHAR2(200),
+    CREATED_DATE       TIMESTAMP,
+    CONSTRAINT FK_PURCHASE_USER FOREIGN KEY (ID_USER)
+        REFERENCES C##DATUM.TB_USER (ID_USER),
+    CONSTRAINT FK_PURCHASE_FOLDER FOREIGN KEY (ID_FOLDER)
+        REFERENCES C##DATUM.TB_FOLDER (ID_FOLDER)
+);
@@ -0,0 +1,24 @@
+-- Outbox for asynchronous purchase document uploads (POST /api/purchases/document?async=true)
+-- Rows are written in the same transaction as the purchase and drained to OpenKM by DocumentUploadOutboxWorker
+
+CREATE TABLE C##DATUM.TB_DOCUMENT_UPLOAD (
+    ID_UPLOAD        NUMBER GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    ID_PURCHASE      NUMBER NOT NULL,
+    FILE_NAME        VARCHAR2(255) NOT NULL,
+    MIME_TYPE        VARCHAR2(100),
+    FILE_SIZE        NUMBER,
+    STAGED_FILE      VARCHAR2(500) NOT NULL,
+    UPLOAD_STATUS    VARCHAR2(20) NOT NULL,
+    ATTEMPTS         NUMBER(5) DEFAULT 0 NOT NULL,
+    NEXT_ATTEMPT_AT  TIMESTAMP NOT NULL,
+    LOCKED_AT        TIMESTAMP,
+    LAST_ERROR       VARCHAR2(500),
+    DOCUMENT_PATH    VARCHAR2(255),
+    CREATED_DATE     TIMESTAMP NOT NULL,
+    COMPLETED_DATE   TIMESTAMP,
+    CONSTRAINT FK_DOC_UPLOAD_PURCHASE FOREIGN KEY (ID_PURCHASE)
+        REFERENCES C##DATUM.TB_PURCHASE (ID_PURCHASE) ON DELETE CASCADE
+);
+
+-- Worker poll: WHERE UPLOAD_STATUS = 'PENDING' AND NEXT_ATTEMPT_AT <= ? ORDER BY NEXT_ATTEMPT_AT
+CREATE INDEX C##DATUM.IX_DOC_UPLOAD_DUE ON C##DATUM.TB_DOCUMENT_UPLOAD (UPLOAD_STATUS, NEXT_ATTEMPT_AT);
@@ -0,0 +1,8 @@
+-- Document metadata stored alongside IMG_URL
+-- Used for Content-Length, Content-Type, ETag and Last-Modified on GET /api/purchases/{id}/document
+
+ALTER TABLE C##DATUM.TB_PURCHASE ADD (
+    DOC_SIZE          NUMBER,
+    DOC_MIME_TYPE     VARCHAR2(100),
+    DOC_UPDATED_DATE  TIMESTAMP
+);
@@ -0,0 +1,9 @@
+-- SHA-256 of the document content (hex)
+-- Identical uploads reuse the stored OpenKM object; the index serves the dedup lookup
+
+ALTER TABLE C##DATUM.TB_PURCHASE ADD (
+    DOC_HASH  VARCHAR2(64)
+);
+
+CREATE INDEX C##DATUM.IX_PURCHASE_DOC_HASH ON C##DATUM.TB_PURCHASE (DOC_HASH);
+CREATE INDEX C##DATUM.IX_PURCHASE_IMG_URL ON C##DATUM.TB_PURCHASE (IMG_URL);
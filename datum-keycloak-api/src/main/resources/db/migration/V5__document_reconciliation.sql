@@ -0,0 +1,15 @@
+-- Checkpoint for the orphan document reconciliation job (DocumentReconciliationJob)
+-- One row per job; LAST_MONTH is the last {year}/{month} folder reconciled, the next run takes the month after
+
+CREATE TABLE C##DATUM.TB_RECONCILIATION_CHECKPOINT (
+    JOB_NAME          VARCHAR2(50) PRIMARY KEY,
+    LAST_MONTH        VARCHAR2(7) NOT NULL,
+    LAST_RUN_AT       TIMESTAMP NOT NULL,
+    STORED_COUNT      NUMBER DEFAULT 0 NOT NULL,
+    REFERENCED_COUNT  NUMBER DEFAULT 0 NOT NULL,
+    ORPHAN_COUNT      NUMBER DEFAULT 0 NOT NULL,
+    ORPHANS_DELETED   NUMBER DEFAULT 0 NOT NULL,
+    MISSING_COUNT     NUMBER DEFAULT 0 NOT NULL
+);
+
+-- IMG_URL prefix lookups use IX_PURCHASE_IMG_URL (V4)
@@ -0,0 +1,12 @@
+-- Indexes backing the keyset-paginated listings
+-- Purchases page on (P_DATE DESC, ID_PURCHASE DESC), folders on ID_FOLDER DESC, users on ID_USER;
+-- with the filter column leading, each page is an index range scan stopped after limit + 1 rows
+
+CREATE INDEX C##DATUM.IX_PURCHASE_FOLDER_PAGE ON C##DATUM.TB_PURCHASE (ID_FOLDER, P_DATE DESC, ID_PURCHASE DESC);
+CREATE INDEX C##DATUM.IX_PURCHASE_USER_PAGE ON C##DATUM.TB_PURCHASE (ID_USER, P_DATE DESC, ID_PURCHASE DESC);
+CREATE INDEX C##DATUM.IX_PURCHASE_STATUS_PAGE ON C##DATUM.TB_PURCHASE (VALIDATION_STATUS, P_DATE DESC, ID_PURCHASE DESC);
+CREATE INDEX C##DATUM.IX_PURCHASE_DATE_PAGE ON C##DATUM.TB_PURCHASE (P_DATE DESC, ID_PURCHASE DESC);
+
+CREATE INDEX C##DATUM.IX_FOLDER_USER_PAGE ON C##DATUM.TB_FOLDER (ID_USER, ID_FOLDER);
+CREATE INDEX C##DATUM.IX_FOLDER_STATUS_PAGE ON C##DATUM.TB_FOLDER (VALIDATION_STATUS, ID_FOLDER);
+CREATE INDEX C##DATUM.IX_FOLDER_USER_STATUS_PAGE ON C##DATUM.TB_FOLDER (ID_USER, VALIDATION_STATUS, ID_FOLDER);
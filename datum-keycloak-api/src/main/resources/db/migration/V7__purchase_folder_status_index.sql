@@ -0,0 +1,5 @@
+-- Folder status recomputation after each approve/reject counts purchases per status:
+--   SELECT VALIDATION_STATUS, COUNT(*) FROM TB_PURCHASE WHERE ID_FOLDER = ? GROUP BY VALIDATION_STATUS
+-- With both columns in the index it is answered from the index alone
+
+CREATE INDEX C##DATUM.IX_PURCHASE_FOLDER_STATUS ON C##DATUM.TB_PURCHASE (ID_FOLDER, VALIDATION_STATUS);
@@ -0,0 +1,29 @@
+-- Purchases, folders and users get their ids from sequences instead of identity columns
+-- Hibernate reserves 50 ids per NEXTVAL (pooled-lo), so a batch of inserts needs no round trip
+-- per row and can be sent as one JDBC batch. INCREMENT BY must match allocationSize in the entities.
+-- Existing ids are kept: each sequence starts above the current maximum, and the identity
+-- generator is dropped so nothing else hands out ids from a second counter.
+-- Rows inserted by hand must take their id from Hibernate's range, not from NEXTVAL directly.
+
+DECLARE
+    PROCEDURE create_id_sequence(p_table VARCHAR2, p_column VARCHAR2, p_sequence VARCHAR2) IS
+        v_identity NUMBER;
+        v_start    NUMBER;
+    BEGIN
+        SELECT COUNT(*) INTO v_identity
+          FROM ALL_TAB_IDENTITY_COLUMNS
+         WHERE OWNER = 'C##DATUM' AND TABLE_NAME = p_table AND COLUMN_NAME = p_column;
+        IF v_identity > 0 THEN
+            EXECUTE IMMEDIATE 'ALTER TABLE C##DATUM.' || p_table || ' MODIFY ' || p_column || ' DROP IDENTITY';
+        END IF;
+
+        EXECUTE IMMEDIATE 'SELECT NVL(MAX(' || p_column || '), 0) + 1 FROM C##DATUM.' || p_table INTO v_start;
+        EXECUTE IMMEDIATE 'CREATE SEQUENCE C##DATUM.' || p_sequence
+            || ' START WITH ' || v_start || ' INCREMENT BY 50 NOCYCLE';
+    END;
+BEGIN
+    create_id_sequence('TB_PURCHASE', 'ID_PURCHASE', 'SEQ_PURCHASE');
+    create_id_sequence('TB_FOLDER', 'ID_FOLDER', 'SEQ_FOLDER');
+    create_id_sequence('TB_USER', 'ID_USER', 'SEQ_USER');
+END;
+/
@@ -0,0 +1,18 @@
+-- Second-level cache of TB_USER and TB_FOLDER rows is kept per API instance
+-- Every update or delete of a cached row writes an entry here in the same transaction;
+-- each instance polls the recent entries of the others and evicts them (EntityCacheInvalidator)
+
+CREATE TABLE C##DATUM.TB_CACHE_INVALIDATION (
+    ID_INVALIDATION  NUMBER GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    ENTITY_NAME      VARCHAR2(100) NOT NULL,
+    ENTITY_ID        NUMBER NOT NULL,
+    ORIGIN           VARCHAR2(36) NOT NULL,
+    CREATED_DATE     TIMESTAMP NOT NULL
+);
+
+-- Poll: WHERE CREATED_DATE > ? (last couple of minutes), purge: WHERE CREATED_DATE < ?
+CREATE INDEX C##DATUM.IX_CACHE_INVALIDATION_DATE ON C##DATUM.TB_CACHE_INVALIDATION (CREATED_DATE);
+
+-- ID_AUTH (Keycloak user id) is the natural id of a user: one row per Keycloak account.
+-- Fails if duplicates exist; those have to be merged first. Users without ID_AUTH are not indexed.
+CREATE UNIQUE INDEX C##DATUM.UX_USER_ID_AUTH ON C##DATUM.TB_USER (ID_AUTH);
@@ -0,0 +1,154 @@
+package com.datum.application.service;
+
+import com.datum.application.service.DocumentInspector.Inspection;
+import com.datum.application.service.DocumentInspector.TooLargeException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Magic byte detection, size cap and hashing of DocumentInspector (no Quarkus needed)
+ */
+class DocumentInspectorTest {
+
+    private static final byte[] PDF = "%PDF-1.7\n1 0 obj\n".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] PNG = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n', 0, 0, 0, 13, 'I', 'H', 'D', 'R'};
+    private static final byte[] JPEG = {(byte) 0xFF, (byte) 0xD8, (byte) 0xFF, (byte) 0xE0, 0, 16, 'J', 'F', 'I', 'F', 0, 1};
+
+    private final DocumentInspector inspector = new DocumentInspector();
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void detectsSupportedTypesFromMagicBytes() {
+        assertEquals("application/pdf", DocumentInspector.detectMimeType(PDF, PDF.length));
+        assertEquals("image/png", DocumentInspector.detectMimeType(PNG, PNG.length));
+        assertEquals("image/jpeg", DocumentInspector.detectMimeType(JPEG, JPEG.length));
+    }
+
+    @Test
+    void detectsHeicBrands() {
+        assertEquals("image/heic", DocumentInspector.detectMimeType(ftyp("heic"), DocumentInspector.HEADER_LENGTH));
+        assertEquals("image/heic", DocumentInspector.detectMimeType(ftyp("mif1"), DocumentInspector.HEADER_LENGTH));
+        // MP4 video shares the ftyp box but not the brand
+        assertNull(DocumentInspector.detectMimeType(ftyp("isom"), DocumentInspector.HEADER_LENGTH));
+    }
+
+    @Test
+    void rejectsUnknownContent() {
+        byte[] html = "<html><body>".getBytes(StandardCharsets.US_ASCII);
+        assertNull(DocumentInspector.detectMimeType(html, html.length));
+        // Too short to hold the PNG signature
+        assertNull(DocumentInspector.detectMimeType(PNG, 4));
+    }
+
+    @Test
+    void receiveDetectsTypeAndHashesContent() throws IOException {
+        Path target = tempDir.resolve("received");
+
+        Inspection inspection = inspector.receive(new ByteArrayInputStream(PDF), target, 1024);
+
+        assertEquals("application/pdf", inspection.mimeType());
+        assertEquals(PDF.length, inspection.size());
+        assertEquals(PurchaseDocumentService.sha256(target), inspection.hash());
+        assertTrue(Arrays.equals(PDF, Files.readAllBytes(target)));
+    }
+
+    @Test
+    void acceptsContentShorterThanTheHeader() {
+        byte[] pdf = Arrays.copyOf(PDF, 5);
+
+        Inspection inspection = inspector.receive(new ByteArrayInputStream(pdf), tempDir.resolve("short"), 1024);
+
+        assertEquals("application/pdf", inspection.mimeType());
+        assertEquals(5, inspection.size());
+    }
+
+    @Test
+    void acceptsContentOfExactlyTheCap() {
+        byte[] content = Arrays.copyOf(JPEG, 100);
+
+        Inspection inspection = inspector.receive(new ByteArrayInputStream(content), tempDir.resolve("exact"), 100);
+
+        assertEquals(100, inspection.size());
+    }
+
+    @Test
+    void stopsReadingOnceTheCapIsPassed() {
+        Path target = tempDir.resolve("too-large");
+        EndlessJpeg body = new EndlessJpeg();
+
+        assertThrows(TooLargeException.class, () -> inspector.receive(body, target, 256 * 1024));
+
+        // One buffer past the cap at most, not the whole (endless) body
+        assertTrue(body.served <= 256 * 1024 + 64 * 1024, "read " + body.served + " bytes");
+        assertFalse(Files.exists(target));
+    }
+
+    @Test
+    void rejectsUnsupportedTypeAndDeletesPartialFile() {
+        Path target = tempDir.resolve("unsupported");
+        byte[] zip = {'P', 'K', 3, 4, 20, 0, 0, 0, 8, 0, 0, 0, 1, 2, 3};
+
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> inspector.receive(new ByteArrayInputStream(zip), target, 1024));
+
+        assertFalse(e instanceof TooLargeException);
+        assertFalse(Files.exists(target));
+    }
+
+    @Test
+    void inspectChecksSizeBeforeReading() throws IOException {
+        Path file = tempDir.resolve("on-disk");
+        Files.write(file, Arrays.copyOf(PNG, 2048));
+
+        assertThrows(TooLargeException.class, () -> inspector.inspect(file, 1024));
+        assertEquals("image/png", inspector.inspect(file, 4096).mimeType());
+    }
+
+    private static byte[] ftyp(String brand) {
+        byte[] header = new byte[DocumentInspector.HEADER_LENGTH];
+        header[3] = 24;
+        System.arraycopy("ftyp".getBytes(StandardCharsets.US_ASCII), 0, header, 4, 4);
+        System.arraycopy(brand.getBytes(StandardCharsets.US_ASCII), 0, header, 8, 4);
+        return header;
+    }
+
+    /**
+     * JPEG header followed by zeros forever; counts what was handed out
+     */
+    private static class EndlessJpeg extends InputStream {
+        long served;
+
+        @Override
+        public int read() {
+            byte[] one = new byte[1];
+            read(one, 0, 1);
+            return one[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) {
+            for (int i = 0; i < length; i++) {
+                long position = served + i;
+                buffer[offset + i] = position < JPEG.length ? JPEG[(int) position] : 0;
+            }
+            served += length;
+            return length;
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.datum.application.service;
+
+import com.datum.application.service.DocumentUrlSigner.Grant;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Base64;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Signing, tamper detection and expiry of signed document URLs (no Quarkus needed)
+ */
+class DocumentUrlSignerTest {
+
+    private static final String KEY = "0123456789abcdef0123456789abcdef";
+
+    private DocumentUrlSigner signer;
+
+    @BeforeEach
+    void setUp() {
+        signer = signer(KEY);
+    }
+
+    @Test
+    void verifyReturnsWhatWasSigned() {
+        Grant grant = grant("/okm:root/Purchases/2025/03/42/receipt.pdf", inOneMinute());
+
+        assertEquals(grant, signer.verify(signer.sign(grant)));
+    }
+
+    @Test
+    void verifyKeepsUnknownFieldsEmpty() {
+        Grant grant = new Grant("/okm:root/Purchases/2025/03/42/receipt.pdf", null, null, null, inOneMinute());
+
+        assertEquals(grant, signer.verify(signer.sign(grant)));
+    }
+
+    @Test
+    void rejectsTamperedPayload() {
+        String token = signer.sign(grant("/okm:root/Purchases/2025/03/42/receipt.pdf", inOneMinute()));
+        String signature = token.substring(token.indexOf('.') + 1);
+
+        // Same signature, another document
+        String payload = "1\n" + inOneMinute().getEpochSecond() + "\n1024\napplication/pdf\n\n/okm:root/Purchases/2025/03/43/other.pdf";
+        String forged = encode(payload.getBytes(StandardCharsets.UTF_8)) + "." + signature;
+
+        assertThrows(IllegalArgumentException.class, () -> signer.verify(forged));
+    }
+
+    @Test
+    void rejectsTamperedSignature() {
+        String token = signer.sign(grant("/okm:root/Purchases/2025/03/42/receipt.pdf", inOneMinute()));
+        String forged = token.substring(0, token.indexOf('.') + 1) + encode(new byte[32]);
+
+        assertThrows(IllegalArgumentException.class, () -> signer.verify(forged));
+    }
+
+    @Test
+    void rejectsTokenSignedWithAnotherKey() {
+        String token = signer("fedcba9876543210fedcba9876543210").sign(grant("/okm:root/a.pdf", inOneMinute()));
+
+        assertThrows(IllegalArgumentException.class, () -> signer.verify(token));
+    }
+
+    @Test
+    void rejectsMalformedTokens() {
+        assertThrows(IllegalArgumentException.class, () -> signer.verify("no-separator"));
+        assertThrows(IllegalArgumentException.class, () -> signer.verify(".signature-only"));
+        assertThrows(IllegalArgumentException.class, () -> signer.verify("not base64!.not base64!"));
+    }
+
+    @Test
+    void rejectsExpiredUrl() {
+        Grant grant = grant("/okm:root/Purchases/2025/03/42/receipt.pdf", Instant.now().minusSeconds(1));
+        String token = signer.sign(grant);
+
+        IllegalStateException e = assertThrows(IllegalStateException.class, () -> signer.verify(token));
+        assertEquals("Document URL has expired", e.getMessage());
+    }
+
+    @Test
+    void rejectsShortSigningKey() {
+        assertThrows(IllegalStateException.class, () -> signer("too-short"));
+    }
+
+    private static DocumentUrlSigner signer(String key) {
+        DocumentUrlSigner signer = new DocumentUrlSigner();
+        signer.signingKey = Optional.of(key);
+        signer.ttl = Duration.ofMinutes(10);
+        signer.init();
+        return signer;
+    }
+
+    private static Grant grant(String path, Instant expiresAt) {
+        return new Grant(path, "application/pdf", 1024L, "ab".repeat(32), expiresAt);
+    }
+
+    private static Instant inOneMinute() {
+        return Instant.now().plusSeconds(60).truncatedTo(ChronoUnit.SECONDS);
+    }
+
+    private static String encode(byte[] bytes) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+}
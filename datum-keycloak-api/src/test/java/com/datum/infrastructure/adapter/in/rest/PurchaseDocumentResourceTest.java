@@ -0,0 +1,61 @@
+package com.datum.infrastructure.adapter.in.rest;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Range header parsing of document downloads (no Quarkus needed)
+ * {first, last} is served as 206, an empty array as 416, null ignores the header (200).
+ */
+class PurchaseDocumentResourceTest {
+
+    private static final long SIZE = 1000;
+
+    @Test
+    void parsesClosedRange() {
+        assertArrayEquals(new long[] { 0, 499 }, PurchaseDocumentResource.parseRange("bytes=0-499", SIZE));
+        assertArrayEquals(new long[] { 999, 999 }, PurchaseDocumentResource.parseRange("bytes=999-999", SIZE));
+    }
+
+    @Test
+    void clampsLastToSize() {
+        assertArrayEquals(new long[] { 500, 999 }, PurchaseDocumentResource.parseRange("bytes=500-5000", SIZE));
+    }
+
+    @Test
+    void parsesOpenRange() {
+        assertArrayEquals(new long[] { 200, 999 }, PurchaseDocumentResource.parseRange("bytes=200-", SIZE));
+    }
+
+    @Test
+    void parsesSuffixRange() {
+        assertArrayEquals(new long[] { 900, 999 }, PurchaseDocumentResource.parseRange("bytes=-100", SIZE));
+        // Longer than the document: all of it
+        assertArrayEquals(new long[] { 0, 999 }, PurchaseDocumentResource.parseRange("bytes=-5000", SIZE));
+    }
+
+    @Test
+    void unsatisfiableRanges() {
+        assertArrayEquals(new long[0], PurchaseDocumentResource.parseRange("bytes=1000-", SIZE));
+        assertArrayEquals(new long[0], PurchaseDocumentResource.parseRange("bytes=1000-1999", SIZE));
+        assertArrayEquals(new long[0], PurchaseDocumentResource.parseRange("bytes=-0", SIZE));
+        assertArrayEquals(new long[0], PurchaseDocumentResource.parseRange("bytes=-10", 0));
+    }
+
+    @Test
+    void ignoresMalformedHeaders() {
+        assertNull(PurchaseDocumentResource.parseRange("bytes=abc-", SIZE));
+        assertNull(PurchaseDocumentResource.parseRange("bytes=10", SIZE));
+        assertNull(PurchaseDocumentResource.parseRange("bytes=-", SIZE));
+        assertNull(PurchaseDocumentResource.parseRange("bytes=500-100", SIZE));
+        assertNull(PurchaseDocumentResource.parseRange("bytes=--5", SIZE));
+    }
+
+    @Test
+    void ignoresOtherUnitsAndMultipleRanges() {
+        assertNull(PurchaseDocumentResource.parseRange("items=0-10", SIZE));
+        assertNull(PurchaseDocumentResource.parseRange("bytes=0-10,20-30", SIZE));
+    }
+}
@@ -0,0 +1,80 @@
+package com.datum.infrastructure.adapter.out.persistence;
+
+import com.datum.domain.model.Page;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Encoding, decoding and paging of keyset cursors (no Quarkus needed)
+ * Malformed cursors must fail with IllegalArgumentException, which the resources answer with 400.
+ */
+class KeysetCursorTest {
+
+    @Test
+    void decodeReturnsWhatWasEncoded() {
+        LocalDateTime date = LocalDateTime.of(2025, 3, 14, 9, 26, 53);
+        String cursor = KeysetCursor.encode(date, 42L);
+
+        assertArrayEquals(new String[] { date.toString(), "42" }, KeysetCursor.decode(cursor, 2));
+    }
+
+    @Test
+    void nullKeysDecodeAsEmpty() {
+        assertArrayEquals(new String[] { "", "7" }, KeysetCursor.decode(KeysetCursor.encode(null, 7L), 2));
+    }
+
+    @Test
+    void decodeIdReturnsTheId() {
+        assertEquals(1000L, KeysetCursor.decodeId(KeysetCursor.encode(1000L)));
+    }
+
+    @Test
+    void rejectsCursorThatIsNotBase64() {
+        assertThrows(IllegalArgumentException.class, () -> KeysetCursor.decode("not a cursor!", 1));
+        assertThrows(IllegalArgumentException.class, () -> KeysetCursor.decodeId("%%%"));
+    }
+
+    @Test
+    void rejectsCursorOfAnotherListing() {
+        // Two keys where one is expected, and the other way around
+        String purchaseCursor = KeysetCursor.encode(LocalDateTime.of(2025, 1, 1, 0, 0), 1L);
+
+        assertThrows(IllegalArgumentException.class, () -> KeysetCursor.decodeId(purchaseCursor));
+        assertThrows(IllegalArgumentException.class, () -> KeysetCursor.decode(KeysetCursor.encode(1L), 2));
+    }
+
+    @Test
+    void rejectsNonNumericId() {
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+            () -> KeysetCursor.decodeId(KeysetCursor.encode("abc")));
+        assertEquals("Invalid cursor", e.getMessage());
+    }
+
+    @Test
+    void pageWithExtraRowHasNextCursorOfItsLastRow() {
+        Page<Long> page = KeysetCursor.page(List.of(1L, 2L, 3L), 2, Function.identity(), KeysetCursor::encode);
+
+        assertEquals(List.of(1L, 2L), page.items());
+        assertTrue(page.hasNext());
+        assertEquals(2L, KeysetCursor.decodeId(page.nextCursor()));
+    }
+
+    @Test
+    void lastPageHasNoCursor() {
+        Page<Long> page = KeysetCursor.page(List.of(1L, 2L), 2, Function.identity(), KeysetCursor::encode);
+
+        assertEquals(List.of(1L, 2L), page.items());
+        assertFalse(page.hasNext());
+        assertNull(page.nextCursor());
+    }
+}
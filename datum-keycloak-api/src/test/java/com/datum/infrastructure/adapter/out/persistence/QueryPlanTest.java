@@ -0,0 +1,223 @@
+package com.datum.infrastructure.adapter.out.persistence;
+
+import com.datum.domain.model.FolderStatus;
+import com.datum.domain.model.PageRequest;
+import io.agroal.api.AgroalDataSource;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import jakarta.transaction.UserTransaction;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs EXPLAIN PLAN for the SQL of every repository query and fails on full table scans
+ * Each repository method is called for real (in a transaction that is rolled back) and the
+ * statements Hibernate generates are captured with RecordingStatementInspector, so the plans
+ * follow the code. The indexes they need come from the Flyway migrations.
+ *
+ * Needs a live Oracle schema: tagged "oracle", excluded from the default build (mvn test -Poracle).
+ */
+@QuarkusTest
+@Tag("oracle")
+class QueryPlanTest {
+
+    private static final Long ID = -1L;
+    private static final PageRequest FIRST = PageRequest.first(PageRequest.DEFAULT_LIMIT);
+    private static final PageRequest AFTER_PURCHASE = new PageRequest(PageRequest.DEFAULT_LIMIT,
+        KeysetCursor.encode(LocalDateTime.of(2025, 1, 1, 0, 0), 1000L));
+    private static final PageRequest AFTER_ID = new PageRequest(PageRequest.DEFAULT_LIMIT, KeysetCursor.encode(1000L));
+    private static final List<String> PATHS = List.of("/okm:root/a.pdf", "/okm:root/b.pdf", "/okm:root/c.pdf");
+    private static final String HASH = "ab".repeat(32);
+
+    @Inject
+    AgroalDataSource dataSource;
+
+    @Inject
+    UserTransaction transaction;
+
+    @Inject
+    PurchaseRepositoryAdapter purchaseRepository;
+
+    @Inject
+    FolderRepositoryAdapter folderRepository;
+
+    @Inject
+    UserRepositoryAdapter userRepository;
+
+    static Stream<String> repositoryCalls() {
+        return Stream.of(
+            // PurchaseRepositoryAdapter
+            "purchase findById",
+            "purchase findByIds",
+            "purchase findByFolderId",
+            "purchase findDocumentsByFolderId",
+            "purchase page",
+            "purchase page by user",
+            "purchase page by user, next",
+            "purchase page by folder",
+            "purchase page by folder, next",
+            "purchase page by status",
+            "purchase deleteById",
+            "purchase existsById",
+            "purchase findDocumentPathByHash",
+            "purchase findIdsByDocumentHash",
+            "purchase lockDocumentReferences",
+            "purchase countByDocumentPath",
+            "purchase findDocumentPathsByFolderId",
+            "purchase deleteByFolderId",
+            "purchase findReferencedDocumentPaths",
+            "purchase updateStatusByFolderId",
+            "purchase countByFolderId",
+            "purchase countByStatusInFolder",
+            "purchase findDocumentPathsUnder",
+            "purchase findEarliestPurchaseDate",
+
+            // FolderRepositoryAdapter
+            "folder findById",
+            "folder page",
+            "folder page, next",
+            "folder page by user",
+            "folder page by status",
+            "folder page by user and status",
+            "folder updateStatus",
+
+            // UserRepositoryAdapter
+            "user findById",
+            "user findByUsername",
+            "user existsByUsername",
+            "user findByKeycloakId",
+            "user findByEmail",
+            "user page, next"
+        );
+    }
+
+    // The call behind each name (arguments of @QuarkusTest parameterized tests are cloned, so no lambdas)
+    private void run(String name) {
+        switch (name) {
+            case "purchase findById" -> purchaseRepository.findById(ID);
+            case "purchase findByIds" -> purchaseRepository.findByIds(List.of(ID, -2L, -3L));
+            case "purchase findByFolderId" -> purchaseRepository.findByFolderId(ID);
+            case "purchase findDocumentsByFolderId" -> purchaseRepository.findDocumentsByFolderId(ID);
+            case "purchase page" -> purchaseRepository.findAll(FIRST);
+            case "purchase page by user" -> purchaseRepository.findByUserId(ID, FIRST);
+            case "purchase page by user, next" -> purchaseRepository.findByUserId(ID, AFTER_PURCHASE);
+            case "purchase page by folder" -> purchaseRepository.findByFolderId(ID, FIRST);
+            case "purchase page by folder, next" -> purchaseRepository.findByFolderId(ID, AFTER_PURCHASE);
+            case "purchase page by status" -> purchaseRepository.findByStatus("DRAFT", FIRST);
+            case "purchase deleteById" -> purchaseRepository.deleteById(ID);
+            case "purchase existsById" -> purchaseRepository.existsById(ID);
+            case "purchase findDocumentPathByHash" -> purchaseRepository.findDocumentPathByHash(ID, HASH);
+            case "purchase findIdsByDocumentHash" -> purchaseRepository.findIdsByDocumentHash(ID, HASH);
+            case "purchase lockDocumentReferences" -> purchaseRepository.lockDocumentReferences(ID);
+            case "purchase countByDocumentPath" -> purchaseRepository.countByDocumentPath(PATHS.get(0));
+            case "purchase findDocumentPathsByFolderId" -> purchaseRepository.findDocumentPathsByFolderId(ID);
+            case "purchase deleteByFolderId" -> purchaseRepository.deleteByFolderId(ID);
+            case "purchase findReferencedDocumentPaths" -> purchaseRepository.findReferencedDocumentPaths(PATHS);
+            case "purchase updateStatusByFolderId" -> purchaseRepository.updateStatusByFolderId(ID, "DRAFT", "UNDER_REVIEW");
+            case "purchase countByFolderId" -> purchaseRepository.countByFolderId(ID);
+            case "purchase countByStatusInFolder" -> purchaseRepository.countByStatusInFolder(ID);
+            case "purchase findDocumentPathsUnder" -> purchaseRepository.findDocumentPathsUnder("/okm:root/Purchases/2025/01");
+            case "purchase findEarliestPurchaseDate" -> purchaseRepository.findEarliestPurchaseDate();
+            case "folder findById" -> folderRepository.findById(ID);
+            case "folder page" -> folderRepository.findAll(FIRST);
+            case "folder page, next" -> folderRepository.findAll(AFTER_ID);
+            case "folder page by user" -> folderRepository.findByUserId(ID, FIRST);
+            case "folder page by status" -> folderRepository.findByStatus(FolderStatus.UNDER_REVIEW, FIRST);
+            case "folder page by user and status" -> folderRepository.findByUserIdAndStatus(ID, FolderStatus.UNDER_REVIEW, AFTER_ID);
+            case "folder updateStatus" -> folderRepository.updateStatus(ID, FolderStatus.DRAFT, FolderStatus.UNDER_REVIEW);
+            case "user findById" -> userRepository.findById(ID);
+            case "user findByUsername" -> userRepository.findByUsername("nobody");
+            case "user existsByUsername" -> userRepository.existsByUsername("nobody");
+            case "user findByKeycloakId" -> userRepository.findByKeycloakId("00000000-0000-0000-0000-000000000000");
+            case "user findByEmail" -> userRepository.findByEmail("nobody@example.com");
+            case "user page, next" -> userRepository.findAll(AFTER_ID);
+            default -> throw new IllegalStateException("Unknown repository call: " + name);
+        }
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("repositoryCalls")
+    void noFullTableScan(String name) throws Exception {
+        // 1. The SQL Hibernate sends for the call, nothing of it committed
+        List<String> statements;
+        transaction.begin();
+        try {
+            statements = RecordingStatementInspector.record(() -> {
+                try {
+                    run(name);
+                } catch (IllegalArgumentException e) {
+                    // Row not found: the statements have run already
+                }
+            });
+        } finally {
+            transaction.rollback();
+        }
+        assertFalse(statements.isEmpty(), name + ": no SQL captured");
+
+        // 2. Plan each of them
+        for (int i = 0; i < statements.size(); i++) {
+            String sql = statements.get(i);
+            List<String> fullScans = explainFullScans("datum-" + Integer.toHexString(name.hashCode()) + "-" + i, sql);
+            assertTrue(fullScans.isEmpty(), name + ": full scan of " + fullScans + " for " + sql);
+        }
+    }
+
+    private List<String> explainFullScans(String statementId, String sql) throws SQLException {
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            // A test schema is small enough for full scans to be cheapest: with index access costed
+            // at 1% the plan shows whether an index can serve the query at all
+            statement.execute("ALTER SESSION SET OPTIMIZER_INDEX_COST_ADJ = 1");
+            try {
+                statement.execute("EXPLAIN PLAN SET STATEMENT_ID = '" + statementId + "' FOR " + namedBinds(sql));
+
+                List<String> fullScans = new ArrayList<>();
+                try (PreparedStatement plan = connection.prepareStatement(
+                        "SELECT OBJECT_NAME FROM PLAN_TABLE WHERE STATEMENT_ID = ? AND OPERATION = 'TABLE ACCESS' AND OPTIONS = 'FULL'")) {
+                    plan.setString(1, statementId);
+                    try (ResultSet rows = plan.executeQuery()) {
+                        while (rows.next()) {
+                            fullScans.add(rows.getString(1));
+                        }
+                    }
+                }
+                statement.execute("DELETE FROM PLAN_TABLE WHERE STATEMENT_ID = '" + statementId + "'");
+                return fullScans;
+            } finally {
+                // Back to the default before the connection returns to the pool
+                statement.execute("ALTER SESSION SET OPTIMIZER_INDEX_COST_ADJ = 100");
+            }
+        }
+    }
+
+    // EXPLAIN PLAN takes SQL text: JDBC placeholders become Oracle bind variables (outside literals)
+    private static String namedBinds(String sql) {
+        StringBuilder named = new StringBuilder(sql.length() + 16);
+        boolean inLiteral = false;
+        int bind = 0;
+        for (char c : sql.toCharArray()) {
+            if (c == '\'') {
+                inLiteral = !inLiteral;
+            }
+            if (c == '?' && !inLiteral) {
+                named.append(":b").append(++bind);
+            } else {
+                named.append(c);
+            }
+        }
+        return named.toString();
+    }
+}
@@ -0,0 +1,40 @@
+package com.datum.infrastructure.adapter.out.persistence;
+
+import io.quarkus.hibernate.orm.PersistenceUnitExtension;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Collects the SQL Hibernate prepares on the current thread while recording (see QueryPlanTest)
+ * Statements pass through unchanged; outside of {@link #record} nothing is kept.
+ */
+@PersistenceUnitExtension
+public class RecordingStatementInspector implements StatementInspector {
+
+    private static final ThreadLocal<List<String>> RECORDED = new ThreadLocal<>();
+
+    @Override
+    public String inspect(String sql) {
+        List<String> recorded = RECORDED.get();
+        if (recorded != null) {
+            recorded.add(sql);
+        }
+        return sql;
+    }
+
+    /**
+     * Run some work and return the statements it sent, in order
+     */
+    static List<String> record(Runnable work) {
+        List<String> recorded = new ArrayList<>();
+        RECORDED.set(recorded);
+        try {
+            work.run();
+        } finally {
+            RECORDED.remove();
+        }
+        return recorded;
+    }
+}